@@ -1,5 +1,6 @@
 package ai.elimu.dao;
 
+import java.util.Collection;
 import java.util.List;
 import ai.elimu.model.admin.Application;
 
@@ -10,6 +11,8 @@ import org.springframework.dao.DataAccessException;
 public interface ApplicationDao extends GenericDao<Application> {
     
     Application readByPackageName(String packageName) throws DataAccessException;
+    
+    List<Application> readAllByPackageNames(Collection<String> packageNames) throws DataAccessException;
 
     List<Application> readAll() throws DataAccessException;
     
@@ -0,0 +1,21 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.BaseEntity;
+import ai.elimu.model.content.DeletedContent;
+import java.util.Calendar;
+import java.util.List;
+import org.springframework.dao.DataAccessException;
+
+public interface DeletedContentDao extends GenericDao<DeletedContent> {
+    
+    /**
+     * Store a tombstone for the entity, which is about to be deleted.
+     */
+    void createTombstone(BaseEntity deletedEntity) throws DataAccessException;
+    
+    /**
+     * @return The IDs of the entities of the given type deleted since {@code timeDeleted} (rounded down to whole 
+     * seconds).
+     */
+    List<Long> readAllContentIds(Class<? extends BaseEntity> contentType, Calendar timeDeleted) throws DataAccessException;
+}
@@ -1,6 +1,9 @@
 package ai.elimu.dao;
 
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.dao.DataAccessException;
 
 /**
@@ -16,9 +19,59 @@ public interface GenericDao<T> {
     
     List<T> readAll() throws DataAccessException;
     
+    /**
+     * Read the entities with the given IDs in one query. IDs that do not exist are ignored.
+     */
+    List<T> readAll(Collection<Long> ids) throws DataAccessException;
+    
     Long readCount() throws DataAccessException;
     
     void update(T t) throws DataAccessException;
 
     void delete(T t) throws DataAccessException;
+    
+    /**
+     * Update the {@code usageCount} of many entities in one transaction, using JDBC batching instead of one 
+     * {@code merge} per entity. The {@code timeLastUpdate} of the entities whose usage count changed is set to the 
+     * current time, so that they are included in the next delta synchronization. Only applicable to entities having 
+     * a {@code usageCount} and a {@code timeLastUpdate} property.
+     * 
+     * @param usageCountsById Entity ID --> usage count
+     * @return The number of entities whose usage count was changed.
+     */
+    int updateUsageCounts(Map<Long, Integer> usageCountsById) throws DataAccessException;
+    
+    /**
+     * Add to the {@code usageCount} of many entities in one transaction, using JDBC batching. Usage counts do not 
+     * become negative. See {@link #updateUsageCounts(Map)}.
+     * 
+     * @param usageCountDeltasById Entity ID --> the number to add (or subtract, if negative)
+     * @return The number of entities updated.
+     */
+    int addToUsageCounts(Map<Long, Integer> usageCountDeltasById) throws DataAccessException;
+    
+    /**
+     * Read a version of all the entities in one aggregate query, without loading them. The version changes when an 
+     * entity is created, updated or deleted. Only applicable to entities extending {@code Content}.
+     * 
+     * @return E.g. "1200-3500-98000-1623318000000" (count-revisions-usage counts-time of last update)
+     */
+    String readContentVersion() throws DataAccessException;
+    
+    /**
+     * Read the entities that have been created or updated since the given time, for delta synchronization. Only 
+     * applicable to entities extending {@code Content}.
+     * <p />
+     * Note: the database might store the time with a precision of seconds only, so entities updated during the same 
+     * second as {@code timeLastUpdate} are included as well.
+     */
+    List<T> readAllChangedSince(Calendar timeLastUpdate) throws DataAccessException;
+    
+    /**
+     * Read one page of entities ordered by ID, for keyset pagination. The page is located using the primary key index, 
+     * so the cost does not grow with the number of preceding pages (like it would with OFFSET).
+     * 
+     * @param idAfter The ID of the last entity of the previous page, or {@code null} for the first page.
+     */
+    List<T> readAllOrderedById(Long idAfter, int maxResults) throws DataAccessException;
 }
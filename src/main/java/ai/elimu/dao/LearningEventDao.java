@@ -0,0 +1,47 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LearningEventRollup;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * DAO with functionality shared by all types of {@link LearningEvent}s, for storing the events uploaded by devices in 
+ * bulk.
+ * 
+ * @param <T> The class type
+ */
+public interface LearningEventDao<T extends LearningEvent> extends GenericDao<T> {
+    
+    /**
+     * Read the keys (see {@link ai.elimu.util.AnalyticsHelper#getLearningEventKey}) of all events stored for the 
+     * devices within the time range, in one query. Used for detecting events that have already been uploaded.
+     */
+    Set<String> readAllKeys(Collection<String> androidIds, Calendar timeFrom, Calendar timeTo) throws DataAccessException;
+    
+    /**
+     * Store many events in one transaction, using JDBC batching instead of one {@code persist} per event.
+     * <p />
+     * Note: the IDs of the stored events are not set.
+     */
+    void createAll(List<T> learningEvents) throws DataAccessException;
+    
+    /**
+     * @return The highest event ID, or 0 if there are no events.
+     */
+    Long readMaxId() throws DataAccessException;
+    
+    /**
+     * Count the events with an ID higher than {@code lastEventId}, using the primary key index.
+     */
+    Long readCount(Long lastEventId) throws DataAccessException;
+    
+    /**
+     * Count the events with an ID in the range ({@code lastEventId}, {@code maxEventId}] per day, device and 
+     * content, in one aggregate query.
+     */
+    List<LearningEventRollup> readRollups(Long lastEventId, Long maxEventId) throws DataAccessException;
+}
@@ -0,0 +1,25 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LearningEventRollup;
+import java.util.List;
+import org.springframework.dao.DataAccessException;
+
+public interface LearningEventRollupDao extends GenericDao<LearningEventRollup> {
+    
+    /**
+     * @return The highest ID of the events of the given type that have been counted, or 0 if none have been counted.
+     */
+    Long readLastEventId(Class<? extends LearningEvent> eventType) throws DataAccessException;
+    
+    /**
+     * @return The number of events of the given type that have been counted.
+     */
+    Long readEventCount(Class<? extends LearningEvent> eventType) throws DataAccessException;
+    
+    /**
+     * Add the counts (see {@link LearningEventDao#readRollups}) to the stored counts of the same day, device and 
+     * content, in one transaction.
+     */
+    void addAll(List<LearningEventRollup> learningEventRollups) throws DataAccessException;
+}
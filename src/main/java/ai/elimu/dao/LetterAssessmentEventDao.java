@@ -0,0 +1,7 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.analytics.LetterAssessmentEvent;
+
+public interface LetterAssessmentEventDao extends LearningEventDao<LetterAssessmentEvent> {
+
+}
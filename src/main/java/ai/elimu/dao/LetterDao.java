@@ -1,6 +1,7 @@
 package ai.elimu.dao;
 
 import java.util.List;
+import java.util.Map;
 import ai.elimu.model.content.Letter;
 
 import org.springframework.dao.DataAccessException;
@@ -12,4 +13,11 @@ public interface LetterDao extends GenericDao<Letter> {
     List<Letter> readAllOrdered() throws DataAccessException;
     
     List<Letter> readAllOrderedByUsage() throws DataAccessException;
+    
+    /**
+     * Fetch the ID of every Letter in one query, without loading the entities.
+     * 
+     * @return Letter text --> Letter ID
+     */
+    Map<String, Long> readAllIdsByText() throws DataAccessException;
 }
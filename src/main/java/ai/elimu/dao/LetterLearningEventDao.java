@@ -6,7 +6,7 @@ import ai.elimu.model.content.Letter;
 import java.util.Calendar;
 import org.springframework.dao.DataAccessException;
 
-public interface LetterLearningEventDao extends GenericDao<LetterLearningEvent> {
+public interface LetterLearningEventDao extends LearningEventDao<LetterLearningEvent> {
     
     LetterLearningEvent read(Calendar time, String androidId, Application application, Letter letter) throws DataAccessException;
 }
@@ -1,5 +1,7 @@
 package ai.elimu.dao;
 
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.List;
 import ai.elimu.model.content.StoryBook;
 
@@ -16,4 +18,11 @@ public interface StoryBookDao extends GenericDao<StoryBook> {
     List<StoryBook> readAllOrdered(ReadingLevel readingLevel) throws DataAccessException;
     
     List<StoryBook> readAllUnleveled() throws DataAccessException;
+    
+    /**
+     * Sets the {@code timeLastUpdate} of the storybooks in one query, without loading (and overwriting) them. Used 
+     * when content embedded in a storybook's JSON (e.g. the Words of its paragraphs) has changed, so that delta 
+     * synchronizations include the storybook.
+     */
+    void updateTimeLastUpdate(Collection<Long> ids, Calendar timeLastUpdate) throws DataAccessException;
 }
@@ -6,7 +6,7 @@ import ai.elimu.model.content.StoryBook;
 import java.util.Calendar;
 import org.springframework.dao.DataAccessException;
 
-public interface StoryBookLearningEventDao extends GenericDao<StoryBookLearningEvent> {
+public interface StoryBookLearningEventDao extends LearningEventDao<StoryBookLearningEvent> {
     
     StoryBookLearningEvent read(Calendar time, String androidId, Application application, StoryBook storyBook) throws DataAccessException;
 }
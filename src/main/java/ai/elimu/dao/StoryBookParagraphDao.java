@@ -1,6 +1,7 @@
 package ai.elimu.dao;
 
 import java.util.List;
+import java.util.Map;
 import ai.elimu.model.content.StoryBookChapter;
 import ai.elimu.model.content.StoryBookParagraph;
 
@@ -11,4 +12,16 @@ public interface StoryBookParagraphDao extends GenericDao<StoryBookParagraph> {
     List<StoryBookParagraph> readAll(StoryBookChapter storyBookChapter) throws DataAccessException;
     
     List<StoryBookParagraph> readAllContainingWord(String wordText) throws DataAccessException;
+    
+    /**
+     * Fetch the original text of every paragraph in one query, without loading the paragraphs' Words.
+     */
+    List<String> readAllOriginalTexts() throws DataAccessException;
+    
+    /**
+     * Fetch the original text of every paragraph in one query, without loading the paragraphs' Words.
+     * 
+     * @return StoryBookParagraph ID --> original text
+     */
+    Map<Long, String> readAllOriginalTextsById() throws DataAccessException;
 }
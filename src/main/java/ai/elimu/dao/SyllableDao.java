@@ -1,6 +1,7 @@
 package ai.elimu.dao;
 
 import java.util.List;
+import java.util.Map;
 import ai.elimu.model.content.Syllable;
 
 import org.springframework.dao.DataAccessException;
@@ -12,4 +13,11 @@ public interface SyllableDao extends GenericDao<Syllable> {
     List<Syllable> readAllOrdered() throws DataAccessException;
     
     List<Syllable> readAllOrderedByUsage() throws DataAccessException;
+    
+    /**
+     * Fetch the ID of every Syllable in one query, without loading the entities.
+     * 
+     * @return Syllable text --> Syllable ID
+     */
+    Map<String, Long> readAllIdsByText() throws DataAccessException;
 }
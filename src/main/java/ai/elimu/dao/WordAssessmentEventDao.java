@@ -0,0 +1,7 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.analytics.WordAssessmentEvent;
+
+public interface WordAssessmentEventDao extends LearningEventDao<WordAssessmentEvent> {
+
+}
@@ -1,7 +1,9 @@
 package ai.elimu.dao;
 
 import java.util.List;
+import java.util.Map;
 
+import ai.elimu.model.content.LetterToAllophoneMapping;
 import ai.elimu.model.content.Word;
 
 import org.springframework.dao.DataAccessException;
@@ -17,4 +19,17 @@ public interface WordDao extends GenericDao<Word> {
     List<Word> readLatest() throws DataAccessException;
     
     List<Word> readInflections(Word word) throws DataAccessException;
+    
+    /**
+     * Count the number of times a LetterToAllophoneMapping occurs in Words, including repeated occurrences within 
+     * the same Word.
+     */
+    Long readCount(LetterToAllophoneMapping letterToAllophoneMapping) throws DataAccessException;
+    
+    /**
+     * Fetch the ID of every Word in one query, without loading the entities.
+     * 
+     * @return Word text --> Word ID
+     */
+    Map<String, Long> readAllIdsByText() throws DataAccessException;
 }
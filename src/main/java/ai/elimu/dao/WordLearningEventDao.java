@@ -6,7 +6,7 @@ import ai.elimu.model.content.Word;
 import java.util.Calendar;
 import org.springframework.dao.DataAccessException;
 
-public interface WordLearningEventDao extends GenericDao<WordLearningEvent> {
+public interface WordLearningEventDao extends LearningEventDao<WordLearningEvent> {
     
     WordLearningEvent read(Calendar time, String androidId, Application application, Word word) throws DataAccessException;
 }
@@ -1,10 +1,14 @@
 package ai.elimu.dao.jpa;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import javax.persistence.NoResultException;
 import ai.elimu.dao.ApplicationDao;
 import ai.elimu.model.admin.Application;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 
 import ai.elimu.model.enums.admin.ApplicationStatus;
@@ -12,6 +16,7 @@ import ai.elimu.model.enums.admin.ApplicationStatus;
 public class ApplicationDaoJpa extends GenericDaoJpa<Application> implements ApplicationDao {
     
     @Override
+    @Cacheable(value = "applications", unless = "#result == null")
     public Application readByPackageName(String packageName) throws DataAccessException {
         try {
             return (Application) em.createQuery(
@@ -27,6 +32,20 @@ public class ApplicationDaoJpa extends GenericDaoJpa<Application> implements App
     }
 
     @Override
+    public List<Application> readAllByPackageNames(Collection<String> packageNames) throws DataAccessException {
+        if (packageNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createQuery(
+            "SELECT a " +
+            "FROM Application a " +
+            "WHERE a.packageName IN (:packageNames)")
+            .setParameter("packageNames", packageNames)
+            .getResultList();
+    }
+
+    @Override
+    @Cacheable("applications")
     public List<Application> readAll() throws DataAccessException {
         return em.createQuery(
             "SELECT a " +
@@ -45,4 +64,22 @@ public class ApplicationDaoJpa extends GenericDaoJpa<Application> implements App
             .setParameter("applicationStatus", applicationStatus)
             .getResultList();
     }
+    
+    @Override
+    @CacheEvict(value = "applications", allEntries = true)
+    public void create(Application application) throws DataAccessException {
+        super.create(application);
+    }
+    
+    @Override
+    @CacheEvict(value = "applications", allEntries = true)
+    public void update(Application application) throws DataAccessException {
+        super.update(application);
+    }
+    
+    @Override
+    @CacheEvict(value = "applications", allEntries = true)
+    public void delete(Application application) throws DataAccessException {
+        super.delete(application);
+    }
 }
@@ -0,0 +1,38 @@
+package ai.elimu.dao.jpa;
+
+import ai.elimu.dao.DeletedContentDao;
+import ai.elimu.model.BaseEntity;
+import ai.elimu.model.content.DeletedContent;
+import java.util.Calendar;
+import java.util.List;
+import javax.persistence.TemporalType;
+import org.springframework.dao.DataAccessException;
+
+public class DeletedContentDaoJpa extends GenericDaoJpa<DeletedContent> implements DeletedContentDao {
+    
+    @Override
+    public void createTombstone(BaseEntity deletedEntity) throws DataAccessException {
+        DeletedContent deletedContent = new DeletedContent();
+        deletedContent.setContentType(deletedEntity.getClass().getSimpleName());
+        deletedContent.setContentId(deletedEntity.getId());
+        deletedContent.setTimeDeleted(Calendar.getInstance());
+        create(deletedContent);
+    }
+    
+    @Override
+    public List<Long> readAllContentIds(Class<? extends BaseEntity> contentType, Calendar timeDeleted) throws DataAccessException {
+        // Round down to whole seconds
+        Calendar timeDeletedSeconds = (Calendar) timeDeleted.clone();
+        timeDeletedSeconds.set(Calendar.MILLISECOND, 0);
+        
+        return em.createQuery(
+            "SELECT dc.contentId " +
+            "FROM DeletedContent dc " +
+            "WHERE dc.contentType = :contentType " +
+            "AND dc.timeDeleted >= :timeDeleted " +
+            "ORDER BY dc.contentId")
+            .setParameter("contentType", contentType.getSimpleName())
+            .setParameter("timeDeleted", timeDeletedSeconds, TemporalType.TIMESTAMP)
+            .getResultList();
+    }
+}
@@ -2,10 +2,18 @@ package ai.elimu.dao.jpa;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TemporalType;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
@@ -14,10 +22,16 @@ import org.springframework.transaction.annotation.Transactional;
 import ai.elimu.dao.GenericDao;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
 
 @Repository
 @Transactional
 public class GenericDaoJpa<T> implements GenericDao<T> {
+    
+    /**
+     * The maximum number of statements sent to the database in one JDBC batch.
+     */
+    protected static final int BATCH_SIZE = 1000;
 	
     @PersistenceContext
     protected EntityManager em;
@@ -41,6 +55,19 @@ public class GenericDaoJpa<T> implements GenericDao<T> {
                 .getResultList();
     }
     
+    @Override
+    public List<T> readAll(Collection<Long> ids) throws DataAccessException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createQuery(
+            "SELECT e " +
+            "FROM " + getEntityClass().getSimpleName() + " e " +
+            "WHERE e.id IN (:ids)")
+            .setParameter("ids", ids)
+            .getResultList();
+    }
+    
     @Override
     public Long readCount() throws DataAccessException {
         Class<?> entityClass = getEntityClass();
@@ -57,8 +84,141 @@ public class GenericDaoJpa<T> implements GenericDao<T> {
     public void delete(T t) throws DataAccessException {
         em.remove(em.merge(t));
     }
+    
+    @Override
+    public int updateUsageCounts(Map<Long, Integer> usageCountsById) throws DataAccessException {
+        // Only touch the rows where the usage count actually changed
+        Timestamp timeLastUpdate = new Timestamp(System.currentTimeMillis());
+        return updateUsageCounts(
+            "UPDATE " + getEntityClass().getSimpleName() + " " +
+            "SET usageCount = ?, timeLastUpdate = ? " +
+            "WHERE id = ? " +
+            "AND (usageCount IS NULL OR usageCount <> ?)",
+            usageCountsById,
+            (preparedStatement, usageCountById) -> {
+                preparedStatement.setInt(1, usageCountById.getValue());
+                preparedStatement.setTimestamp(2, timeLastUpdate);
+                preparedStatement.setLong(3, usageCountById.getKey());
+                preparedStatement.setInt(4, usageCountById.getValue());
+            });
+    }
+    
+    @Override
+    public int addToUsageCounts(Map<Long, Integer> usageCountDeltasById) throws DataAccessException {
+        // Add to the value stored in the database, so that the current value does not have to be read first
+        Timestamp timeLastUpdate = new Timestamp(System.currentTimeMillis());
+        return updateUsageCounts(
+            "UPDATE " + getEntityClass().getSimpleName() + " " +
+            "SET usageCount = GREATEST(0, COALESCE(usageCount, 0) + ?), timeLastUpdate = ? " +
+            "WHERE id = ?",
+            usageCountDeltasById,
+            (preparedStatement, usageCountDeltaById) -> {
+                preparedStatement.setInt(1, usageCountDeltaById.getValue());
+                preparedStatement.setTimestamp(2, timeLastUpdate);
+                preparedStatement.setLong(3, usageCountDeltaById.getKey());
+            });
+    }
+    
+    /**
+     * @return The number of rows updated.
+     */
+    private int updateUsageCounts(String sql, Map<Long, Integer> valuesById, StatementSetter<Map.Entry<Long, Integer>> statementSetter) {
+        // Make sure that pending changes are written before the rows are updated directly
+        em.flush();
+        
+        int[] updateCount = new int[1];
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                int batchCount = 0;
+                for (Map.Entry<Long, Integer> valueById : valuesById.entrySet()) {
+                    statementSetter.setValues(preparedStatement, valueById);
+                    preparedStatement.addBatch();
+                    batchCount++;
+                    if ((batchCount % BATCH_SIZE == 0) || (batchCount == valuesById.size())) {
+                        for (int rowCount : preparedStatement.executeBatch()) {
+                            if (rowCount > 0) {
+                                updateCount[0] += rowCount;
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        
+        // The persistence context does not know about the rows updated above
+        em.clear();
+        
+        return updateCount[0];
+    }
+
+    @Override
+    public String readContentVersion() throws DataAccessException {
+        Object[] row = (Object[]) em.createQuery(
+            "SELECT COUNT(e), SUM(e.revisionNumber), SUM(e.usageCount), MAX(e.timeLastUpdate) " +
+            "FROM " + getEntityClass().getSimpleName() + " e")
+            .getSingleResult();
+        Calendar timeLastUpdate = (Calendar) row[3];
+        return row[0] + "-" + row[1] + "-" + row[2] + "-" + ((timeLastUpdate == null) ? "" : timeLastUpdate.getTimeInMillis());
+    }
+    
+    @Override
+    public List<T> readAllChangedSince(Calendar timeLastUpdate) throws DataAccessException {
+        // Round down to whole seconds
+        Calendar timeLastUpdateSeconds = (Calendar) timeLastUpdate.clone();
+        timeLastUpdateSeconds.set(Calendar.MILLISECOND, 0);
+        
+        return em.createQuery(
+            "SELECT e " +
+            "FROM " + getEntityClass().getSimpleName() + " e " +
+            "WHERE e.timeLastUpdate >= :timeLastUpdate " +
+            "ORDER BY e.id")
+            .setParameter("timeLastUpdate", timeLastUpdateSeconds, TemporalType.TIMESTAMP)
+            .getResultList();
+    }
+    
+    @Override
+    public List<T> readAllOrderedById(Long idAfter, int maxResults) throws DataAccessException {
+        return em.createQuery(
+            "SELECT e " +
+            "FROM " + getEntityClass().getSimpleName() + " e " +
+            "WHERE e.id > :idAfter " +
+            "ORDER BY e.id")
+            .setParameter("idAfter", (idAfter == null) ? 0L : idAfter)
+            .setMaxResults(maxResults)
+            .getResultList();
+    }
+
+    /**
+     * Insert many rows using JDBC batching. Hibernate cannot batch the inserts of entities having IDENTITY IDs, as it 
+     * has to read the generated ID after each insert.
+     * <p />
+     * Note: the IDs of the inserted rows are not set on the items.
+     * 
+     * @param sql E.g. "INSERT INTO Foo (bar, baz) VALUES (?, ?)"
+     * @param statementSetter Sets the parameters of the statement for each item.
+     */
+    protected <E> void insertAll(String sql, List<E> items, StatementSetter<E> statementSetter) throws DataAccessException {
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                int batchCount = 0;
+                for (E item : items) {
+                    statementSetter.setValues(preparedStatement, item);
+                    preparedStatement.addBatch();
+                    batchCount++;
+                    if ((batchCount % BATCH_SIZE == 0) || (batchCount == items.size())) {
+                        preparedStatement.executeBatch();
+                    }
+                }
+            }
+        });
+    }
+    
+    protected interface StatementSetter<E> {
+        
+        void setValues(PreparedStatement preparedStatement, E item) throws SQLException;
+    }
 
-    private Class<?> getEntityClass() {
+    protected Class<?> getEntityClass() {
         ParameterizedType parameterizedType = (ParameterizedType) getClass().getGenericSuperclass();
         Type type = parameterizedType.getActualTypeArguments()[0];
         if (type instanceof Class<?>) {
@@ -0,0 +1,107 @@
+package ai.elimu.dao.jpa;
+
+import ai.elimu.dao.LearningEventDao;
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LearningEventRollup;
+import ai.elimu.util.AnalyticsHelper;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.TemporalType;
+import org.springframework.dao.DataAccessException;
+
+public abstract class LearningEventDaoJpa<T extends LearningEvent> extends GenericDaoJpa<T> implements LearningEventDao<T> {
+    
+    /**
+     * @return The property referencing the content that the event is about, e.g. "word".
+     */
+    protected abstract String getContentPropertyName();
+    
+    @Override
+    public Set<String> readAllKeys(Collection<String> androidIds, Calendar timeFrom, Calendar timeTo) throws DataAccessException {
+        Set<String> keys = new HashSet<>();
+        if (androidIds.isEmpty()) {
+            return keys;
+        }
+        
+        // Only read the columns that identify each event, instead of loading the events (and their content)
+        List<Object[]> rows = em.createQuery(
+            "SELECT e.time, e.androidId, e.application.id, e." + getContentPropertyName() + ".id " +
+            "FROM " + getEntityClass().getSimpleName() + " e " +
+            "WHERE e.androidId IN (:androidIds) " +
+            "AND e.time BETWEEN :timeFrom AND :timeTo")
+            .setParameter("androidIds", androidIds)
+            .setParameter("timeFrom", timeFrom, TemporalType.TIMESTAMP)
+            .setParameter("timeTo", timeTo, TemporalType.TIMESTAMP)
+            .getResultList();
+        for (Object[] row : rows) {
+            keys.add(AnalyticsHelper.getLearningEventKey((Calendar) row[0], (String) row[1], (Long) row[2], (Long) row[3]));
+        }
+        return keys;
+    }
+    
+    @Override
+    public Long readMaxId() throws DataAccessException {
+        Long maxId = (Long) em.createQuery(
+            "SELECT MAX(e.id) " +
+            "FROM " + getEntityClass().getSimpleName() + " e")
+            .getSingleResult();
+        return (maxId == null) ? 0L : maxId;
+    }
+    
+    @Override
+    public Long readCount(Long lastEventId) throws DataAccessException {
+        return (Long) em.createQuery(
+            "SELECT COUNT(e) " +
+            "FROM " + getEntityClass().getSimpleName() + " e " +
+            "WHERE e.id > :lastEventId")
+            .setParameter("lastEventId", lastEventId)
+            .getSingleResult();
+    }
+    
+    @Override
+    public List<LearningEventRollup> readRollups(Long lastEventId, Long maxEventId) throws DataAccessException {
+        // Referencing the content's ID does not join the content table
+        String contentIdPath = "e." + getContentPropertyName() + ".id";
+        List<Object[]> rows = em.createQuery(
+            "SELECT CAST(e.time AS date), e.androidId, " + contentIdPath + ", COUNT(e), MAX(e.id) " +
+            "FROM " + getEntityClass().getSimpleName() + " e " +
+            "WHERE e.id > :lastEventId " +
+            "AND e.id <= :maxEventId " +
+            "GROUP BY CAST(e.time AS date), e.androidId, " + contentIdPath)
+            .setParameter("lastEventId", lastEventId)
+            .setParameter("maxEventId", maxEventId)
+            .getResultList();
+        
+        List<LearningEventRollup> learningEventRollups = new ArrayList<>();
+        for (Object[] row : rows) {
+            LearningEventRollup learningEventRollup = new LearningEventRollup();
+            learningEventRollup.setEventType(getEntityClass().getSimpleName());
+            Calendar eventDate = Calendar.getInstance();
+            eventDate.setTime((Date) row[0]);
+            learningEventRollup.setEventDate(eventDate);
+            learningEventRollup.setAndroidId((String) row[1]);
+            learningEventRollup.setContentId((Long) row[2]);
+            learningEventRollup.setEventCount((Long) row[3]);
+            learningEventRollup.setLastEventId((Long) row[4]);
+            learningEventRollups.add(learningEventRollup);
+        }
+        return learningEventRollups;
+    }
+    
+    /**
+     * Sets the parameters 1-3 of an INSERT statement to the time, Android ID and Application ID of the event.
+     */
+    protected void setLearningEventValues(PreparedStatement preparedStatement, T learningEvent) throws SQLException {
+        preparedStatement.setTimestamp(1, new Timestamp(learningEvent.getTime().getTimeInMillis()));
+        preparedStatement.setString(2, learningEvent.getAndroidId());
+        preparedStatement.setLong(3, learningEvent.getApplication().getId());
+    }
+}
@@ -0,0 +1,99 @@
+package ai.elimu.dao.jpa;
+
+import ai.elimu.dao.LearningEventRollupDao;
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LearningEventRollup;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.TemporalType;
+import org.springframework.dao.DataAccessException;
+
+public class LearningEventRollupDaoJpa extends GenericDaoJpa<LearningEventRollup> implements LearningEventRollupDao {
+    
+    @Override
+    public Long readLastEventId(Class<? extends LearningEvent> eventType) throws DataAccessException {
+        Long lastEventId = (Long) em.createQuery(
+            "SELECT MAX(ler.lastEventId) " +
+            "FROM LearningEventRollup ler " +
+            "WHERE ler.eventType = :eventType")
+            .setParameter("eventType", eventType.getSimpleName())
+            .getSingleResult();
+        return (lastEventId == null) ? 0L : lastEventId;
+    }
+    
+    @Override
+    public Long readEventCount(Class<? extends LearningEvent> eventType) throws DataAccessException {
+        Long eventCount = (Long) em.createQuery(
+            "SELECT SUM(ler.eventCount) " +
+            "FROM LearningEventRollup ler " +
+            "WHERE ler.eventType = :eventType")
+            .setParameter("eventType", eventType.getSimpleName())
+            .getSingleResult();
+        return (eventCount == null) ? 0L : eventCount;
+    }
+    
+    @Override
+    public void addAll(List<LearningEventRollup> learningEventRollups) throws DataAccessException {
+        if (learningEventRollups.isEmpty()) {
+            return;
+        }
+        
+        Set<String> eventTypes = new HashSet<>();
+        Set<String> androidIds = new HashSet<>();
+        Calendar eventDateFrom = null;
+        Calendar eventDateTo = null;
+        for (LearningEventRollup learningEventRollup : learningEventRollups) {
+            eventTypes.add(learningEventRollup.getEventType());
+            androidIds.add(learningEventRollup.getAndroidId());
+            if ((eventDateFrom == null) || learningEventRollup.getEventDate().before(eventDateFrom)) {
+                eventDateFrom = learningEventRollup.getEventDate();
+            }
+            if ((eventDateTo == null) || learningEventRollup.getEventDate().after(eventDateTo)) {
+                eventDateTo = learningEventRollup.getEventDate();
+            }
+        }
+        
+        // Read the stored counts that might have to be updated in one query
+        List<LearningEventRollup> existingLearningEventRollups = em.createQuery(
+            "SELECT ler " +
+            "FROM LearningEventRollup ler " +
+            "WHERE ler.eventType IN (:eventTypes) " +
+            "AND ler.androidId IN (:androidIds) " +
+            "AND ler.eventDate BETWEEN :eventDateFrom AND :eventDateTo")
+            .setParameter("eventTypes", eventTypes)
+            .setParameter("androidIds", androidIds)
+            .setParameter("eventDateFrom", eventDateFrom, TemporalType.DATE)
+            .setParameter("eventDateTo", eventDateTo, TemporalType.DATE)
+            .getResultList();
+        Map<String, LearningEventRollup> existingLearningEventRollupsByKey = new HashMap<>();
+        for (LearningEventRollup existingLearningEventRollup : existingLearningEventRollups) {
+            existingLearningEventRollupsByKey.put(getKey(existingLearningEventRollup), existingLearningEventRollup);
+        }
+        
+        for (LearningEventRollup learningEventRollup : learningEventRollups) {
+            LearningEventRollup existingLearningEventRollup = existingLearningEventRollupsByKey.get(getKey(learningEventRollup));
+            if (existingLearningEventRollup == null) {
+                em.persist(learningEventRollup);
+            } else {
+                // Updated when the transaction is committed
+                existingLearningEventRollup.setEventCount(existingLearningEventRollup.getEventCount() + learningEventRollup.getEventCount());
+                existingLearningEventRollup.setLastEventId(Math.max(existingLearningEventRollup.getLastEventId(), learningEventRollup.getLastEventId()));
+            }
+        }
+    }
+    
+    /**
+     * E.g. "WordLearningEvent_2021-08-01_7161a85a0e4751cd_123"
+     */
+    private static String getKey(LearningEventRollup learningEventRollup) {
+        Calendar eventDate = learningEventRollup.getEventDate();
+        return learningEventRollup.getEventType() + "_" + 
+                String.format("%04d-%02d-%02d", eventDate.get(Calendar.YEAR), eventDate.get(Calendar.MONTH) + 1, eventDate.get(Calendar.DAY_OF_MONTH)) + "_" + 
+                learningEventRollup.getAndroidId() + "_" + 
+                learningEventRollup.getContentId();
+    }
+}
@@ -0,0 +1,28 @@
+package ai.elimu.dao.jpa;
+
+import ai.elimu.dao.LetterAssessmentEventDao;
+import ai.elimu.model.analytics.LetterAssessmentEvent;
+import java.util.List;
+import org.springframework.dao.DataAccessException;
+
+public class LetterAssessmentEventDaoJpa extends LearningEventDaoJpa<LetterAssessmentEvent> implements LetterAssessmentEventDao {
+    
+    @Override
+    protected String getContentPropertyName() {
+        return "letter";
+    }
+    
+    @Override
+    public void createAll(List<LetterAssessmentEvent> letterAssessmentEvents) throws DataAccessException {
+        insertAll(
+            "INSERT INTO LetterAssessmentEvent (time, androidId, application_id, letter_id, masteryScore, timeSpentMs) " +
+            "VALUES (?, ?, ?, ?, ?, ?)",
+            letterAssessmentEvents,
+            (preparedStatement, letterAssessmentEvent) -> {
+                setLearningEventValues(preparedStatement, letterAssessmentEvent);
+                preparedStatement.setLong(4, letterAssessmentEvent.getLetter().getId());
+                preparedStatement.setFloat(5, letterAssessmentEvent.getMasteryScore());
+                preparedStatement.setLong(6, letterAssessmentEvent.getTimeSpentMs());
+            });
+    }
+}
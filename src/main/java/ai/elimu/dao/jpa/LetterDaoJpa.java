@@ -1,6 +1,8 @@
 package ai.elimu.dao.jpa;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.persistence.NoResultException;
 import ai.elimu.dao.LetterDao;
 
@@ -42,4 +44,17 @@ public class LetterDaoJpa extends GenericDaoJpa<Letter> implements LetterDao {
             "ORDER BY l.usageCount DESC, l.text")
             .getResultList();
     }
+    
+    @Override
+    public Map<String, Long> readAllIdsByText() throws DataAccessException {
+        List<Object[]> rows = em.createQuery(
+            "SELECT l.text, l.id " +
+            "FROM Letter l")
+            .getResultList();
+        Map<String, Long> idsByText = new HashMap<>();
+        for (Object[] row : rows) {
+            idsByText.put((String) row[0], (Long) row[1]);
+        }
+        return idsByText;
+    }
 }
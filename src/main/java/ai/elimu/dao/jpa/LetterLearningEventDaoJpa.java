@@ -5,10 +5,11 @@ import ai.elimu.model.admin.Application;
 import ai.elimu.model.analytics.LetterLearningEvent;
 import ai.elimu.model.content.Letter;
 import java.util.Calendar;
+import java.util.List;
 import javax.persistence.NoResultException;
 import org.springframework.dao.DataAccessException;
 
-public class LetterLearningEventDaoJpa extends GenericDaoJpa<LetterLearningEvent> implements LetterLearningEventDao {
+public class LetterLearningEventDaoJpa extends LearningEventDaoJpa<LetterLearningEvent> implements LetterLearningEventDao {
 
     @Override
     public LetterLearningEvent read(Calendar time, String androidId, Application application, Letter letter) throws DataAccessException {
@@ -30,4 +31,23 @@ public class LetterLearningEventDaoJpa extends GenericDaoJpa<LetterLearningEvent
             return null;
         }
     }
+    
+    @Override
+    protected String getContentPropertyName() {
+        return "letter";
+    }
+    
+    @Override
+    public void createAll(List<LetterLearningEvent> letterLearningEvents) throws DataAccessException {
+        insertAll(
+            "INSERT INTO LetterLearningEvent (time, androidId, application_id, letter_id, letterText, learningEventType) " +
+            "VALUES (?, ?, ?, ?, ?, ?)",
+            letterLearningEvents,
+            (preparedStatement, letterLearningEvent) -> {
+                setLearningEventValues(preparedStatement, letterLearningEvent);
+                preparedStatement.setLong(4, letterLearningEvent.getLetter().getId());
+                preparedStatement.setString(5, letterLearningEvent.getLetterText());
+                preparedStatement.setString(6, letterLearningEvent.getLearningEventType().toString());
+            });
+    }
 }
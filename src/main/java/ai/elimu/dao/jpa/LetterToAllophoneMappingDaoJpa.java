@@ -4,6 +4,7 @@ import ai.elimu.dao.LetterToAllophoneMappingDao;
 import ai.elimu.model.content.Allophone;
 import ai.elimu.model.content.Letter;
 import ai.elimu.model.content.LetterToAllophoneMapping;
+import java.util.Calendar;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.dao.DataAccessException;
@@ -47,4 +48,18 @@ public class LetterToAllophoneMappingDaoJpa extends GenericDaoJpa<LetterToAlloph
             "ORDER BY ltam.letters.size DESC, ltam.usageCount DESC")
             .getResultList();
     }
+    
+    /**
+     * LetterToAllophoneMappings do not have a revision number. Any change of the Letters or Allophones a mapping 
+     * consists of updates its time of last update.
+     */
+    @Override
+    public String readContentVersion() throws DataAccessException {
+        Object[] row = (Object[]) em.createQuery(
+            "SELECT COUNT(ltam), SUM(ltam.usageCount), MAX(ltam.timeLastUpdate) " +
+            "FROM LetterToAllophoneMapping ltam")
+            .getSingleResult();
+        Calendar timeLastUpdate = (Calendar) row[2];
+        return row[0] + "-" + row[1] + "-" + ((timeLastUpdate == null) ? "" : timeLastUpdate.getTimeInMillis());
+    }
 }
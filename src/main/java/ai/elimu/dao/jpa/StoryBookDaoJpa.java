@@ -1,7 +1,10 @@
 package ai.elimu.dao.jpa;
 
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.List;
 import javax.persistence.NoResultException;
+import javax.persistence.TemporalType;
 import ai.elimu.dao.StoryBookDao;
 
 import org.springframework.dao.DataAccessException;
@@ -55,4 +58,19 @@ public class StoryBookDaoJpa extends GenericDaoJpa<StoryBook> implements StoryBo
             "ORDER BY book.title")
             .getResultList();
     }
+    
+    @Override
+    public void updateTimeLastUpdate(Collection<Long> ids, Calendar timeLastUpdate) throws DataAccessException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        em.createQuery(
+            "UPDATE StoryBook book " +
+            "SET book.timeLastUpdate = :timeLastUpdate " +
+            "WHERE book.id IN (:ids)")
+            .setParameter("timeLastUpdate", timeLastUpdate, TemporalType.TIMESTAMP)
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
 }
@@ -5,10 +5,11 @@ import ai.elimu.model.admin.Application;
 import ai.elimu.model.analytics.StoryBookLearningEvent;
 import ai.elimu.model.content.StoryBook;
 import java.util.Calendar;
+import java.util.List;
 import javax.persistence.NoResultException;
 import org.springframework.dao.DataAccessException;
 
-public class StoryBookLearningEventDaoJpa extends GenericDaoJpa<StoryBookLearningEvent> implements StoryBookLearningEventDao {
+public class StoryBookLearningEventDaoJpa extends LearningEventDaoJpa<StoryBookLearningEvent> implements StoryBookLearningEventDao {
 
     @Override
     public StoryBookLearningEvent read(Calendar time, String androidId, Application application, StoryBook storyBook) throws DataAccessException {
@@ -30,4 +31,22 @@ public class StoryBookLearningEventDaoJpa extends GenericDaoJpa<StoryBookLearnin
             return null;
         }
     }
+    
+    @Override
+    protected String getContentPropertyName() {
+        return "storyBook";
+    }
+    
+    @Override
+    public void createAll(List<StoryBookLearningEvent> storyBookLearningEvents) throws DataAccessException {
+        insertAll(
+            "INSERT INTO StoryBookLearningEvent (time, androidId, application_id, storyBook_id, learningEventType) " +
+            "VALUES (?, ?, ?, ?, ?)",
+            storyBookLearningEvents,
+            (preparedStatement, storyBookLearningEvent) -> {
+                setLearningEventValues(preparedStatement, storyBookLearningEvent);
+                preparedStatement.setLong(4, storyBookLearningEvent.getStoryBook().getId());
+                preparedStatement.setString(5, storyBookLearningEvent.getLearningEventType().toString());
+            });
+    }
 }
@@ -1,7 +1,9 @@
 package ai.elimu.dao.jpa;
 
 import ai.elimu.dao.StoryBookParagraphDao;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
 
@@ -30,4 +32,27 @@ public class StoryBookParagraphDaoJpa extends GenericDaoJpa<StoryBookParagraph>
             "ORDER BY paragraph.storyBookChapter.id, paragraph.sortOrder")
             .getResultList();
     }
+
+    @Override
+    public List<String> readAllOriginalTexts() throws DataAccessException {
+        return em.createQuery(
+            "SELECT paragraph.originalText " +
+            "FROM StoryBookParagraph paragraph " +
+            "ORDER BY paragraph.id")
+            .getResultList();
+    }
+
+    @Override
+    public Map<Long, String> readAllOriginalTextsById() throws DataAccessException {
+        List<Object[]> rows = em.createQuery(
+            "SELECT paragraph.id, paragraph.originalText " +
+            "FROM StoryBookParagraph paragraph " +
+            "ORDER BY paragraph.id")
+            .getResultList();
+        Map<Long, String> originalTextsById = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            originalTextsById.put((Long) row[0], (String) row[1]);
+        }
+        return originalTextsById;
+    }
 }
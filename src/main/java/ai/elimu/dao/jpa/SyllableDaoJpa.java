@@ -1,6 +1,8 @@
 package ai.elimu.dao.jpa;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.persistence.NoResultException;
 import ai.elimu.dao.SyllableDao;
 
@@ -42,4 +44,17 @@ public class SyllableDaoJpa extends GenericDaoJpa<Syllable> implements SyllableD
             "ORDER BY s.usageCount DESC, s.text")
             .getResultList();
     }
+    
+    @Override
+    public Map<String, Long> readAllIdsByText() throws DataAccessException {
+        List<Object[]> rows = em.createQuery(
+            "SELECT s.text, s.id " +
+            "FROM Syllable s")
+            .getResultList();
+        Map<String, Long> idsByText = new HashMap<>();
+        for (Object[] row : rows) {
+            idsByText.put((String) row[0], (Long) row[1]);
+        }
+        return idsByText;
+    }
 }
@@ -0,0 +1,28 @@
+package ai.elimu.dao.jpa;
+
+import ai.elimu.dao.WordAssessmentEventDao;
+import ai.elimu.model.analytics.WordAssessmentEvent;
+import java.util.List;
+import org.springframework.dao.DataAccessException;
+
+public class WordAssessmentEventDaoJpa extends LearningEventDaoJpa<WordAssessmentEvent> implements WordAssessmentEventDao {
+    
+    @Override
+    protected String getContentPropertyName() {
+        return "word";
+    }
+    
+    @Override
+    public void createAll(List<WordAssessmentEvent> wordAssessmentEvents) throws DataAccessException {
+        insertAll(
+            "INSERT INTO WordAssessmentEvent (time, androidId, application_id, word_id, masteryScore, timeSpentMs) " +
+            "VALUES (?, ?, ?, ?, ?, ?)",
+            wordAssessmentEvents,
+            (preparedStatement, wordAssessmentEvent) -> {
+                setLearningEventValues(preparedStatement, wordAssessmentEvent);
+                preparedStatement.setLong(4, wordAssessmentEvent.getWord().getId());
+                preparedStatement.setFloat(5, wordAssessmentEvent.getMasteryScore());
+                preparedStatement.setLong(6, wordAssessmentEvent.getTimeSpentMs());
+            });
+    }
+}
@@ -1,11 +1,16 @@
 package ai.elimu.dao.jpa;
 
+import java.util.Calendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.persistence.NoResultException;
+import javax.persistence.TemporalType;
 
 import org.springframework.dao.DataAccessException;
 
 import ai.elimu.dao.WordDao;
+import ai.elimu.model.content.LetterToAllophoneMapping;
 import ai.elimu.model.content.Word;
 
 public class WordDaoJpa extends GenericDaoJpa<Word> implements WordDao {
@@ -34,6 +39,31 @@ public class WordDaoJpa extends GenericDaoJpa<Word> implements WordDao {
             .getResultList();
     }
     
+    /**
+     * Words embed their LetterToAllophoneMappings, including the mappings' Letters and Allophones. So a Word is also 
+     * included if any of those have been created or updated since the given time.
+     */
+    @Override
+    public List<Word> readAllChangedSince(Calendar timeLastUpdate) throws DataAccessException {
+        // Round down to whole seconds
+        Calendar timeLastUpdateSeconds = (Calendar) timeLastUpdate.clone();
+        timeLastUpdateSeconds.set(Calendar.MILLISECOND, 0);
+        
+        return em.createQuery(
+            "SELECT DISTINCT w " +
+            "FROM Word w " +
+            "LEFT JOIN w.letterToAllophoneMappings ltam " +
+            "LEFT JOIN ltam.letters letter " +
+            "LEFT JOIN ltam.allophones allophone " +
+            "WHERE w.timeLastUpdate >= :timeLastUpdate " +
+            "OR ltam.timeLastUpdate >= :timeLastUpdate " +
+            "OR letter.timeLastUpdate >= :timeLastUpdate " +
+            "OR allophone.timeLastUpdate >= :timeLastUpdate " +
+            "ORDER BY w.id")
+            .setParameter("timeLastUpdate", timeLastUpdateSeconds, TemporalType.TIMESTAMP)
+            .getResultList();
+    }
+    
     @Override
     public List<Word> readAllOrderedByUsage() throws DataAccessException {
         return em.createQuery(
@@ -63,4 +93,28 @@ public class WordDaoJpa extends GenericDaoJpa<Word> implements WordDao {
             .setParameter("word", word)
             .getResultList();
     }
+
+    @Override
+    public Long readCount(LetterToAllophoneMapping letterToAllophoneMapping) throws DataAccessException {
+        return (Long) em.createQuery(
+            "SELECT COUNT(w) " +
+            "FROM Word w " +
+            "JOIN w.letterToAllophoneMappings ltam " +
+            "WHERE ltam = :letterToAllophoneMapping")
+            .setParameter("letterToAllophoneMapping", letterToAllophoneMapping)
+            .getSingleResult();
+    }
+    
+    @Override
+    public Map<String, Long> readAllIdsByText() throws DataAccessException {
+        List<Object[]> rows = em.createQuery(
+            "SELECT w.text, w.id " +
+            "FROM Word w")
+            .getResultList();
+        Map<String, Long> idsByText = new HashMap<>();
+        for (Object[] row : rows) {
+            idsByText.put((String) row[0], (Long) row[1]);
+        }
+        return idsByText;
+    }
 }
@@ -5,10 +5,11 @@ import ai.elimu.model.admin.Application;
 import ai.elimu.model.analytics.WordLearningEvent;
 import ai.elimu.model.content.Word;
 import java.util.Calendar;
+import java.util.List;
 import javax.persistence.NoResultException;
 import org.springframework.dao.DataAccessException;
 
-public class WordLearningEventDaoJpa extends GenericDaoJpa<WordLearningEvent> implements WordLearningEventDao {
+public class WordLearningEventDaoJpa extends LearningEventDaoJpa<WordLearningEvent> implements WordLearningEventDao {
 
     @Override
     public WordLearningEvent read(Calendar time, String androidId, Application application, Word word) throws DataAccessException {
@@ -30,4 +31,23 @@ public class WordLearningEventDaoJpa extends GenericDaoJpa<WordLearningEvent> im
             return null;
         }
     }
+    
+    @Override
+    protected String getContentPropertyName() {
+        return "word";
+    }
+    
+    @Override
+    public void createAll(List<WordLearningEvent> wordLearningEvents) throws DataAccessException {
+        insertAll(
+            "INSERT INTO WordLearningEvent (time, androidId, application_id, word_id, wordText, learningEventType) " +
+            "VALUES (?, ?, ?, ?, ?, ?)",
+            wordLearningEvents,
+            (preparedStatement, wordLearningEvent) -> {
+                setLearningEventValues(preparedStatement, wordLearningEvent);
+                preparedStatement.setLong(4, wordLearningEvent.getWord().getId());
+                preparedStatement.setString(5, wordLearningEvent.getWordText());
+                preparedStatement.setString(6, wordLearningEvent.getLearningEventType().toString());
+            });
+    }
 }
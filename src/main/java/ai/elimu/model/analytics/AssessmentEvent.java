@@ -0,0 +1,42 @@
+package ai.elimu.model.analytics;
+
+import javax.persistence.MappedSuperclass;
+import javax.validation.constraints.NotNull;
+
+/**
+ * The result of an assessment of a student's knowledge of a piece of content (e.g. a {@link ai.elimu.model.content.Letter}).
+ * <p />
+ * Devices upload many of these events, so each row only stores the IDs of the content and the results, and not 
+ * the content's text.
+ */
+@MappedSuperclass
+public abstract class AssessmentEvent extends LearningEvent {
+    
+    /**
+     * A value between 0.0 and 1.0.
+     */
+    @NotNull
+    private Float masteryScore;
+    
+    /**
+     * The number of milliseconds spent on the assessment.
+     */
+    @NotNull
+    private Long timeSpentMs;
+    
+    public Float getMasteryScore() {
+        return masteryScore;
+    }
+    
+    public void setMasteryScore(Float masteryScore) {
+        this.masteryScore = masteryScore;
+    }
+    
+    public Long getTimeSpentMs() {
+        return timeSpentMs;
+    }
+    
+    public void setTimeSpentMs(Long timeSpentMs) {
+        this.timeSpentMs = timeSpentMs;
+    }
+}
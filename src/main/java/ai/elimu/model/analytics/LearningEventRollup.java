@@ -0,0 +1,103 @@
+package ai.elimu.model.analytics;
+
+import ai.elimu.model.BaseEntity;
+import java.util.Calendar;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+
+/**
+ * The number of {@link LearningEvent}s of one type per day, device and content, so that statistics can be read 
+ * without scanning the (ever-growing) event tables. Maintained by 
+ * {@link ai.elimu.tasks.LearningEventRollupScheduler}.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = { "eventType", "eventDate", "androidId", "contentId" }),
+        indexes = @Index(columnList = "eventType, lastEventId")
+)
+public class LearningEventRollup extends BaseEntity {
+    
+    /**
+     * The simple name of the event's class, e.g. "WordLearningEvent".
+     */
+    @NotNull
+    private String eventType;
+    
+    /**
+     * The day of the events' time.
+     */
+    @NotNull
+    @Temporal(TemporalType.DATE)
+    private Calendar eventDate;
+    
+    @NotNull
+    private String androidId;
+    
+    /**
+     * The ID of the content that the events are about (e.g. a Word ID), or {@code null} if the events did not 
+     * reference any content.
+     */
+    private Long contentId;
+    
+    @NotNull
+    private Long eventCount;
+    
+    /**
+     * The highest ID of the events counted so far. Events with a higher ID have not been counted yet.
+     */
+    @NotNull
+    private Long lastEventId;
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Calendar getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(Calendar eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public String getAndroidId() {
+        return androidId;
+    }
+
+    public void setAndroidId(String androidId) {
+        this.androidId = androidId;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public Long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+}
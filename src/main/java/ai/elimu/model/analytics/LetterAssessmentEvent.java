@@ -0,0 +1,33 @@
+package ai.elimu.model.analytics;
+
+import ai.elimu.model.content.Letter;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+
+/**
+ * The unique key (which starts with the device and the time) identifies an event, so that an event cannot be stored 
+ * twice, and is also used for looking up the events of a device within a time range.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = { "androidId", "time", "application_id", "letter_id" }),
+        indexes = @Index(columnList = "time")
+)
+public class LetterAssessmentEvent extends AssessmentEvent {
+    
+    @NotNull
+    @ManyToOne
+    private Letter letter;
+    
+    public Letter getLetter() {
+        return letter;
+    }
+    
+    public void setLetter(Letter letter) {
+        this.letter = letter;
+    }
+}
@@ -0,0 +1,33 @@
+package ai.elimu.model.analytics;
+
+import ai.elimu.model.content.Word;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+
+/**
+ * The unique key (which starts with the device and the time) identifies an event, so that an event cannot be stored 
+ * twice, and is also used for looking up the events of a device within a time range.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = { "androidId", "time", "application_id", "word_id" }),
+        indexes = @Index(columnList = "time")
+)
+public class WordAssessmentEvent extends AssessmentEvent {
+    
+    @NotNull
+    @ManyToOne
+    private Word word;
+    
+    public Word getWord() {
+        return word;
+    }
+    
+    public void setWord(Word word) {
+        this.word = word;
+    }
+}
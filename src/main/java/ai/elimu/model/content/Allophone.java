@@ -4,7 +4,9 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.OneToOne;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.Length;
 import ai.elimu.model.content.multimedia.Audio;
@@ -21,6 +23,7 @@ import ai.elimu.model.enums.content.allophone.VowelLength;
  * Speech sound
  */
 @Entity
+@Table(indexes = @Index(columnList = "timeLastUpdate"))
 public class Allophone extends Content {
     
     /**
@@ -0,0 +1,59 @@
+package ai.elimu.model.content;
+
+import ai.elimu.model.BaseEntity;
+import java.util.Calendar;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A record of content that has been deleted from the database (a "tombstone"), so that devices using delta 
+ * synchronization can delete their local copy as well.
+ */
+@Entity
+@Table(indexes = @Index(columnList = "contentType, timeDeleted"))
+public class DeletedContent extends BaseEntity {
+    
+    /**
+     * The simple name of the deleted entity's class, e.g. "Image".
+     */
+    @NotNull
+    private String contentType;
+    
+    /**
+     * The ID of the deleted entity.
+     */
+    @NotNull
+    private Long contentId;
+    
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    private Calendar timeDeleted;
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public Calendar getTimeDeleted() {
+        return timeDeleted;
+    }
+
+    public void setTimeDeleted(Calendar timeDeleted) {
+        this.timeDeleted = timeDeleted;
+    }
+}
@@ -1,11 +1,14 @@
 package ai.elimu.model.content;
 
 import ai.elimu.model.BaseEntity;
+import java.util.Calendar;
 import java.util.List;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToMany;
 import javax.persistence.OrderColumn;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 import org.hibernate.validator.constraints.NotEmpty;
 
 /**
@@ -26,6 +29,9 @@ public class LetterToAllophoneMapping extends BaseEntity {
     
     private int usageCount;
     
+    @Temporal(TemporalType.TIMESTAMP)
+    private Calendar timeLastUpdate;
+    
     public List<Letter> getLetters() {
         return letters;
     }
@@ -49,4 +55,12 @@ public class LetterToAllophoneMapping extends BaseEntity {
     public void setUsageCount(int usageCount) {
         this.usageCount = usageCount;
     }
+
+    public Calendar getTimeLastUpdate() {
+        return timeLastUpdate;
+    }
+
+    public void setTimeLastUpdate(Calendar timeLastUpdate) {
+        this.timeLastUpdate = timeLastUpdate;
+    }
 }
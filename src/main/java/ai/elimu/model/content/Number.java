@@ -3,12 +3,15 @@ package ai.elimu.model.content;
 import java.util.List;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
 import javax.persistence.OrderColumn;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.NotEmpty;
 
 @Entity
+@Table(indexes = @Index(columnList = "timeLastUpdate"))
 public class Number extends Content {
     
     @NotNull
@@ -4,7 +4,9 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.Length;
 import ai.elimu.model.content.multimedia.Image;
@@ -13,6 +15,7 @@ import ai.elimu.model.enums.PeerReviewStatus;
 import ai.elimu.model.enums.ReadingLevel;
 
 @Entity
+@Table(indexes = @Index(columnList = "timeLastUpdate"))
 public class StoryBook extends Content {
 
     @NotNull
@@ -12,9 +12,12 @@ import javax.validation.constraints.NotNull;
 import ai.elimu.model.enums.content.SpellingConsistency;
 import ai.elimu.model.enums.content.WordType;
 import javax.persistence.ManyToOne;
+import javax.persistence.Index;
+import javax.persistence.Table;
 import org.hibernate.validator.constraints.NotEmpty;
 
 @Entity
+@Table(indexes = @Index(columnList = "timeLastUpdate"))
 public class Word extends Content {
 
     @Deprecated // TODO: replace with list of LetterToAllophoneMappings
@@ -7,12 +7,15 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.validation.constraints.NotNull;
 import ai.elimu.model.enums.content.AudioFormat;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(columnList = "timeLastUpdate"))
 public class Audio extends Multimedia {
     
     /**
@@ -4,11 +4,14 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.Lob;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import ai.elimu.model.enums.content.ImageFormat;
 
 @Entity
+@Table(indexes = @Index(columnList = "timeLastUpdate"))
 public class Image extends Multimedia {
 
     @NotNull
@@ -0,0 +1,177 @@
+package ai.elimu.rest.v2;
+
+import ai.elimu.model.v2.gson.content.AllophoneGson;
+import ai.elimu.model.v2.gson.content.AudioGson;
+import ai.elimu.model.v2.gson.content.EmojiGson;
+import ai.elimu.model.v2.gson.content.ImageGson;
+import ai.elimu.model.v2.gson.content.LetterGson;
+import ai.elimu.model.v2.gson.content.LetterToAllophoneMappingGson;
+import ai.elimu.model.v2.gson.content.NumberGson;
+import ai.elimu.model.v2.gson.content.VideoGson;
+import ai.elimu.model.v2.gson.content.WordGson;
+import ai.elimu.util.CborEncoder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.MediaType;
+
+/**
+ * Writes content in CBOR, a compact binary encoding of JSON (see {@link CborEncoder}), for devices that request it with 
+ * "Accept: application/cbor".
+ * <p />
+ * The content is converted with the same {@link JpaToGsonConverter} methods as for JSON. But content which has its 
+ * own endpoint (e.g. the Letters and Allophones of a LetterToAllophoneMapping) is written as its ID only, instead of 
+ * being embedded in every element that refers to it. Devices download that content from its own endpoint anyway.
+ * <p />
+ * Example: a Word's "letterToAllophoneMappings" are written as [12, 7, 31] instead of [{"id": 12, "letters": [...], 
+ * "allophones": [...], ...}, ...].
+ */
+public class CborResponseHelper {
+    
+    private static final Logger logger = LogManager.getLogger();
+    
+    /**
+     * Content types that are written as references (IDs) when nested in another element.
+     */
+    private static final Map<Class<?>, Function<Object, Long>> ID_GETTERS = new HashMap<>();
+    static {
+        addIdGetter(LetterGson.class, LetterGson::getId);
+        addIdGetter(AllophoneGson.class, AllophoneGson::getId);
+        addIdGetter(LetterToAllophoneMappingGson.class, LetterToAllophoneMappingGson::getId);
+        addIdGetter(WordGson.class, WordGson::getId);
+        addIdGetter(NumberGson.class, NumberGson::getId);
+        addIdGetter(EmojiGson.class, EmojiGson::getId);
+        addIdGetter(ImageGson.class, ImageGson::getId);
+        addIdGetter(AudioGson.class, AudioGson::getId);
+        addIdGetter(VideoGson.class, VideoGson::getId);
+    }
+    
+    private static final TypeAdapterFactory REFERENCE_TYPE_ADAPTER_FACTORY = new TypeAdapterFactory() {
+        
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            Function<Object, Long> idGetter = ID_GETTERS.get(typeToken.getRawType());
+            if (idGetter == null) {
+                return null;
+            }
+            return new TypeAdapter<T>() {
+                
+                @Override
+                public void write(JsonWriter jsonWriter, T value) throws IOException {
+                    if (value == null) {
+                        jsonWriter.nullValue();
+                    } else {
+                        jsonWriter.value(idGetter.apply(value));
+                    }
+                }
+                
+                @Override
+                public T read(JsonReader jsonReader) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    };
+    
+    /**
+     * Gson instances are thread-safe, and can be shared.
+     */
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(REFERENCE_TYPE_ADAPTER_FACTORY)
+            .create();
+    
+    /**
+     * Like {@link JsonResponseHelper#writeJsonArray(Iterable, Function, java.io.Writer)}, but in CBOR, and with nested 
+     * content written as references.
+     */
+    public static <T> void writeCborArray(Iterable<T> entities, Function<T, ?> converter, OutputStream outputStream) throws IOException {
+        int elementCount = writeCborArray(entities, converter, new CborEncoder(outputStream));
+        outputStream.flush();
+        logger.info("elementCount: " + elementCount);
+    }
+    
+    /**
+     * Like {@link JsonResponseHelper#writeDelta(long, Iterable, Function, List, HttpServletResponse)}, but in CBOR, 
+     * with the same keys.
+     */
+    public static <T> void writeDelta(long timestamp, Iterable<T> entities, Function<T, ?> converter, List<Long> deletedIds, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+        
+        OutputStream outputStream = response.getOutputStream();
+        CborEncoder cborEncoder = new CborEncoder(outputStream);
+        cborEncoder.writeStartOfMap();
+        cborEncoder.writeKey("timestamp");
+        cborEncoder.write(new JsonPrimitive(timestamp));
+        cborEncoder.writeKey("items");
+        int elementCount = writeCborArray(entities, converter, cborEncoder);
+        cborEncoder.writeKey("deletedIds");
+        cborEncoder.writeStartOfArray();
+        for (Long deletedId : deletedIds) {
+            cborEncoder.write(new JsonPrimitive(deletedId));
+        }
+        cborEncoder.writeEndOfArray();
+        cborEncoder.writeEndOfMap();
+        outputStream.flush();
+        logger.info("elementCount: " + elementCount + ", deletedIds.size(): " + deletedIds.size());
+    }
+    
+    /**
+     * Like {@link JsonResponseHelper#writePage(Iterable, Function, String, HttpServletResponse)}, but in CBOR, with the 
+     * same keys.
+     */
+    public static <T> void writePage(Iterable<T> entities, Function<T, ?> converter, String nextCursor, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+        
+        OutputStream outputStream = response.getOutputStream();
+        CborEncoder cborEncoder = new CborEncoder(outputStream);
+        cborEncoder.writeStartOfMap();
+        cborEncoder.writeKey("items");
+        int elementCount = writeCborArray(entities, converter, cborEncoder);
+        cborEncoder.writeKey("nextCursor");
+        cborEncoder.write((nextCursor == null) ? JsonNull.INSTANCE : new JsonPrimitive(nextCursor));
+        cborEncoder.writeEndOfMap();
+        outputStream.flush();
+        logger.info("elementCount: " + elementCount + ", nextCursor: " + nextCursor);
+    }
+    
+    private static <T> int writeCborArray(Iterable<T> entities, Function<T, ?> converter, CborEncoder cborEncoder) throws IOException {
+        int elementCount = 0;
+        cborEncoder.writeStartOfArray();
+        for (T entity : entities) {
+            Object gsonObject = converter.apply(entity);
+            cborEncoder.write(toJsonTree(gsonObject));
+            elementCount++;
+        }
+        cborEncoder.writeEndOfArray();
+        return elementCount;
+    }
+    
+    /**
+     * Converts the element itself in full, but the content nested in it to references.
+     */
+    static JsonElement toJsonTree(Object gsonObject) {
+        // Skip the reference type adapter for the element itself
+        TypeAdapter<Object> typeAdapter = (TypeAdapter<Object>) gson.getDelegateAdapter(REFERENCE_TYPE_ADAPTER_FACTORY, TypeToken.get(gsonObject.getClass()));
+        return typeAdapter.toJsonTree(gsonObject);
+    }
+    
+    private static <T> void addIdGetter(Class<T> gsonClass, Function<T, Long> idGetter) {
+        ID_GETTERS.put(gsonClass, gsonObject -> idGetter.apply(gsonClass.cast(gsonObject)));
+    }
+}
@@ -0,0 +1,40 @@
+package ai.elimu.rest.v2;
+
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * The formats in which the content endpoints can be downloaded. Selected with the request's Accept header.
+ */
+public enum ContentFormat {
+    
+    JSON(MediaType.APPLICATION_JSON_UTF8_VALUE),
+    
+    /**
+     * See {@link CborResponseHelper}.
+     */
+    CBOR(MediaType.APPLICATION_CBOR_VALUE);
+    
+    private final String mediaType;
+    
+    private ContentFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    /**
+     * @return {@link #CBOR} if requested with "Accept: application/cbor", otherwise {@link #JSON}.
+     */
+    public static ContentFormat getContentFormat(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if ((accept != null) && accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return CBOR;
+        } else {
+            return JSON;
+        }
+    }
+}
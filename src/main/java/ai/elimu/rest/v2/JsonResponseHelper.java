@@ -0,0 +1,214 @@
+package ai.elimu.rest.v2;
+
+import ai.elimu.rest.v2.service.ContentSnapshot;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Writes JSON directly to the response's OutputStream, instead of first building the whole response as a String.
+ */
+public class JsonResponseHelper {
+    
+    private static final Logger logger = LogManager.getLogger();
+    
+    /**
+     * Gson instances are thread-safe, and can be shared.
+     */
+    private static final Gson gson = new Gson();
+    
+    /**
+     * Converts each entity to its Gson representation, and writes it to the response as an element of a JSON array. 
+     * Each element is serialized once, and only one element is kept in memory at a time.
+     * 
+     * @param converter E.g. {@code JpaToGsonConverter::getWordGson}
+     */
+    public static <T> void writeJsonArray(Iterable<T> entities, Function<T, ?> converter, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        
+        writeJsonArray(entities, converter, getWriter(response));
+    }
+    
+    /**
+     * Like {@link #writeJsonArray(Iterable, Function, HttpServletResponse)}, but writes to any Writer (e.g. when 
+     * generating a {@link ContentSnapshot}).
+     */
+    public static <T> void writeJsonArray(Iterable<T> entities, Function<T, ?> converter, Writer writer) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        int elementCount = writeJsonArray(entities, converter, jsonWriter);
+        jsonWriter.flush();
+        logger.info("elementCount: " + elementCount);
+    }
+    
+    /**
+     * Writes a normalized response (see {@link NormalizedGsonConverter}) as a JSON object:
+     * <pre>
+     * {
+     *   "items": [...],
+     *   "letterToAllophoneMappings": [...], // Content referenced by the items, one list per key of sideTables
+     *   "letters": [...],
+     *   ...
+     * }
+     * </pre>
+     * The side tables are written after the items, as they are filled while the items are converted.
+     */
+    public static <T> void writeNormalizedJson(Iterable<T> entities, Function<T, ?> converter, Map<String, Supplier<List<?>>> sideTables, Writer writer) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.beginObject();
+        jsonWriter.name("items");
+        int elementCount = writeJsonArray(entities, converter, jsonWriter);
+        for (Map.Entry<String, Supplier<List<?>>> sideTable : sideTables.entrySet()) {
+            List<Object> gsonObjects = new ArrayList<>(sideTable.getValue().get());
+            jsonWriter.name(sideTable.getKey());
+            writeJsonArray(gsonObjects, gsonObject -> gsonObject, jsonWriter);
+            logger.info(sideTable.getKey() + ".size(): " + gsonObjects.size());
+        }
+        jsonWriter.endObject();
+        jsonWriter.flush();
+        logger.info("elementCount: " + elementCount);
+    }
+    
+    /**
+     * Writes the entities that changed since the time requested by a device, as a JSON object:
+     * <pre>
+     * {
+     *   "timestamp": 1623318000000, // To be used as the "since" parameter of the next request
+     *   "items": [...],             // Created or updated entities
+     *   "deletedIds": [...]         // IDs of deleted entities
+     * }
+     * </pre>
+     */
+    public static <T> void writeDelta(long timestamp, Iterable<T> entities, Function<T, ?> converter, List<Long> deletedIds, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        
+        JsonWriter jsonWriter = new JsonWriter(getWriter(response));
+        jsonWriter.beginObject();
+        jsonWriter.name("timestamp").value(timestamp);
+        jsonWriter.name("items");
+        int elementCount = writeJsonArray(entities, converter, jsonWriter);
+        jsonWriter.name("deletedIds");
+        jsonWriter.beginArray();
+        for (Long deletedId : deletedIds) {
+            jsonWriter.value(deletedId);
+        }
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+        jsonWriter.flush();
+        logger.info("elementCount: " + elementCount + ", deletedIds.size(): " + deletedIds.size());
+    }
+    
+    /**
+     * Writes one page of entities as a JSON object:
+     * <pre>
+     * {
+     *   "items": [...],
+     *   "nextCursor": "1234" // To be used as the "cursor" parameter of the next request, or null if this was the last page
+     * }
+     * </pre>
+     */
+    public static <T> void writePage(Iterable<T> entities, Function<T, ?> converter, String nextCursor, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        
+        JsonWriter jsonWriter = new JsonWriter(getWriter(response));
+        jsonWriter.beginObject();
+        jsonWriter.name("items");
+        int elementCount = writeJsonArray(entities, converter, jsonWriter);
+        jsonWriter.name("nextCursor").value(nextCursor);
+        jsonWriter.endObject();
+        jsonWriter.flush();
+        logger.info("elementCount: " + elementCount + ", nextCursor: " + nextCursor);
+    }
+    
+    private static <T> int writeJsonArray(Iterable<T> entities, Function<T, ?> converter, JsonWriter jsonWriter) throws IOException {
+        int elementCount = 0;
+        jsonWriter.beginArray();
+        for (T entity : entities) {
+            Object gsonObject = converter.apply(entity);
+            gson.toJson(gsonObject, gsonObject.getClass(), jsonWriter);
+            elementCount++;
+        }
+        jsonWriter.endArray();
+        return elementCount;
+    }
+    
+    /**
+     * Writes an already generated JSON array (e.g. from a cache) to the response, without converting it to a String 
+     * first.
+     */
+    public static void writeJsonArray(JSONArray jsonArray, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        
+        Writer writer = getWriter(response);
+        jsonArray.write(writer);
+        writer.flush();
+        logger.info("jsonArray.length(): " + jsonArray.length());
+    }
+    
+    /**
+     * Writes a pre-generated response to the response as is. The gzipped version is used if the client accepts it, so 
+     * that the response does not have to be compressed for each request.
+     */
+    public static void writeSnapshot(ContentSnapshot snapshot, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(snapshot.getContentFormat().getMediaType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean isGzip = (acceptEncoding != null) && acceptEncoding.contains("gzip");
+        
+        // Each format, plain or gzipped, is a different representation, so they need different (strong) ETags
+        String version = snapshot.getVersion() + "-" + snapshot.getContentFormat() + (isGzip ? "-gzip" : "");
+        if (checkNotModified(version, snapshot.getTimeCreated(), request, response)) {
+            return;
+        }
+        
+        byte[] bytes = snapshot.getBody();
+        if (isGzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = snapshot.getBodyGzip();
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        logger.info("bytes.length: " + bytes.length);
+    }
+    
+    /**
+     * Handles conditional GET requests (If-None-Match/If-Modified-Since), so that clients which already have the 
+     * current version of the content do not have to download it again. The ETag is a hash of the content version.
+     * 
+     * @return {@code true} if the response status has been set to 304 (Not Modified), in which case no content should 
+     * be written.
+     */
+    public static boolean checkNotModified(String version, long lastModified, HttpServletRequest request, HttpServletResponse response) {
+        // Allow clients to store the response, but make them check if it is still valid before using it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        
+        String etag = DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8));
+        boolean isNotModified = new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+        if (isNotModified) {
+            logger.info("Not modified: " + etag);
+        }
+        return isNotModified;
+    }
+    
+    private static Writer getWriter(HttpServletResponse response) throws IOException {
+        return new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+    }
+}
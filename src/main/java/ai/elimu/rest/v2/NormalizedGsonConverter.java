@@ -0,0 +1,133 @@
+package ai.elimu.rest.v2;
+
+import ai.elimu.model.content.Allophone;
+import ai.elimu.model.content.Letter;
+import ai.elimu.model.content.LetterToAllophoneMapping;
+import ai.elimu.model.content.Word;
+import ai.elimu.model.v2.gson.content.AllophoneGson;
+import ai.elimu.model.v2.gson.content.LetterGson;
+import ai.elimu.model.v2.gson.content.LetterToAllophoneMappingGson;
+import ai.elimu.model.v2.gson.content.WordGson;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Like {@link JpaToGsonConverter}, but for normalized responses: shared content (e.g. the LetterToAllophoneMappings 
+ * of Words, and their Letters and Allophones) is not embedded, but referenced by ID (e.g. {"id": 12}), and included 
+ * once in a separate list of the response.
+ * <p />
+ * Each entity is only converted once, the first time it is referenced. Entities are compared by identity, as an 
+ * EntityManager returns the same instance for each database row.
+ * <p />
+ * Note: not thread-safe. Use one instance per response.
+ */
+public class NormalizedGsonConverter {
+    
+    private final Map<LetterToAllophoneMapping, LetterToAllophoneMappingGson> letterToAllophoneMappingGsons = new IdentityHashMap<>();
+    
+    private final Map<Letter, LetterGson> letterGsons = new IdentityHashMap<>();
+    
+    private final Map<Allophone, AllophoneGson> allophoneGsons = new IdentityHashMap<>();
+    
+    private final List<LetterToAllophoneMappingGson> letterToAllophoneMappingGsonList = new ArrayList<>();
+    
+    private final List<LetterGson> letterGsonList = new ArrayList<>();
+    
+    private final List<AllophoneGson> allophoneGsonList = new ArrayList<>();
+    
+    public WordGson getWordGson(Word word) {
+        WordGson wordGson = new WordGson();
+        
+        // BaseEntity
+        wordGson.setId(word.getId());
+        
+        // Content
+        wordGson.setRevisionNumber(word.getRevisionNumber());
+        wordGson.setUsageCount(word.getUsageCount());
+        
+        // Word
+        wordGson.setText(word.getText());
+        List<LetterToAllophoneMappingGson> letterToAllophoneMappingReferences = new ArrayList<>();
+        for (LetterToAllophoneMapping letterToAllophoneMapping : word.getLetterToAllophoneMappings()) {
+            getLetterToAllophoneMappingGson(letterToAllophoneMapping);
+            
+            LetterToAllophoneMappingGson letterToAllophoneMappingReference = new LetterToAllophoneMappingGson();
+            letterToAllophoneMappingReference.setId(letterToAllophoneMapping.getId());
+            letterToAllophoneMappingReferences.add(letterToAllophoneMappingReference);
+        }
+        wordGson.setLetterToAllophoneMappings(letterToAllophoneMappingReferences);
+        wordGson.setWordType(word.getWordType());
+        
+        return wordGson;
+    }
+    
+    public LetterToAllophoneMappingGson getLetterToAllophoneMappingGson(LetterToAllophoneMapping letterToAllophoneMapping) {
+        LetterToAllophoneMappingGson letterToAllophoneMappingGson = letterToAllophoneMappingGsons.get(letterToAllophoneMapping);
+        if (letterToAllophoneMappingGson == null) {
+            letterToAllophoneMappingGson = new LetterToAllophoneMappingGson();
+            letterToAllophoneMappingGson.setId(letterToAllophoneMapping.getId());
+            
+            List<LetterGson> letterReferences = new ArrayList<>();
+            for (Letter letter : letterToAllophoneMapping.getLetters()) {
+                getLetterGson(letter);
+                
+                LetterGson letterReference = new LetterGson();
+                letterReference.setId(letter.getId());
+                letterReferences.add(letterReference);
+            }
+            letterToAllophoneMappingGson.setLetters(letterReferences);
+            
+            List<AllophoneGson> allophoneReferences = new ArrayList<>();
+            for (Allophone allophone : letterToAllophoneMapping.getAllophones()) {
+                getAllophoneGson(allophone);
+                
+                AllophoneGson allophoneReference = new AllophoneGson();
+                allophoneReference.setId(allophone.getId());
+                allophoneReferences.add(allophoneReference);
+            }
+            letterToAllophoneMappingGson.setAllophones(allophoneReferences);
+            letterToAllophoneMappingGson.setUsageCount(letterToAllophoneMapping.getUsageCount());
+            
+            letterToAllophoneMappingGsons.put(letterToAllophoneMapping, letterToAllophoneMappingGson);
+            letterToAllophoneMappingGsonList.add(letterToAllophoneMappingGson);
+        }
+        return letterToAllophoneMappingGson;
+    }
+    
+    public LetterGson getLetterGson(Letter letter) {
+        LetterGson letterGson = letterGsons.get(letter);
+        if (letterGson == null) {
+            letterGson = JpaToGsonConverter.getLetterGson(letter);
+            letterGsons.put(letter, letterGson);
+            letterGsonList.add(letterGson);
+        }
+        return letterGson;
+    }
+    
+    public AllophoneGson getAllophoneGson(Allophone allophone) {
+        AllophoneGson allophoneGson = allophoneGsons.get(allophone);
+        if (allophoneGson == null) {
+            allophoneGson = JpaToGsonConverter.getAllophoneGson(allophone);
+            allophoneGsons.put(allophone, allophoneGson);
+            allophoneGsonList.add(allophoneGson);
+        }
+        return allophoneGson;
+    }
+    
+    /**
+     * @return The converted LetterToAllophoneMappings, in the order they were first referenced.
+     */
+    public List<LetterToAllophoneMappingGson> getLetterToAllophoneMappingGsons() {
+        return letterToAllophoneMappingGsonList;
+    }
+    
+    public List<LetterGson> getLetterGsons() {
+        return letterGsonList;
+    }
+    
+    public List<AllophoneGson> getAllophoneGsons() {
+        return allophoneGsonList;
+    }
+}
@@ -0,0 +1,78 @@
+package ai.elimu.rest.v2.analytics;
+
+import ai.elimu.rest.v2.service.AnalyticsJob;
+import ai.elimu.rest.v2.service.AnalyticsJobService;
+import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Lets devices check if an uploaded CSV file has been stored in the database. See {@link AnalyticsJobService}.
+ */
+@RestController
+@RequestMapping(value = "/rest/v2/analytics/jobs", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public class AnalyticsJobsRestController {
+    
+    private Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private AnalyticsJobService analyticsJobService;
+    
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.GET)
+    public String handleGetRequest(
+            @PathVariable String jobId,
+            HttpServletResponse response
+    ) {
+        logger.info("handleGetRequest");
+        
+        logger.info("jobId: " + jobId);
+        
+        JSONObject jsonObject = new JSONObject();
+        
+        try {
+            // The job ID is used as a filename, so only accept valid IDs
+            UUID.fromString(jobId);
+        } catch (IllegalArgumentException ex) {
+            jsonObject.put("result", "error");
+            jsonObject.put("errorMessage", "Invalid jobId: " + jobId);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return jsonObject.toString();
+        }
+        
+        try {
+            AnalyticsJob analyticsJob = analyticsJobService.getJob(jobId);
+            if (analyticsJob == null) {
+                jsonObject.put("result", "error");
+                jsonObject.put("errorMessage", "Job not found: " + jobId);
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+            } else {
+                jsonObject.put("result", "success");
+                jsonObject.put("jobId", analyticsJob.getId());
+                jsonObject.put("status", analyticsJob.getStatus());
+                jsonObject.put("attemptCount", analyticsJob.getAttemptCount());
+                if (analyticsJob.getResult() != null) {
+                    jsonObject.put("jobResult", new JSONObject(analyticsJob.getResult()));
+                }
+            }
+        } catch (Exception ex) {
+            logger.error(ex);
+            
+            jsonObject.put("result", "error");
+            jsonObject.put("errorMessage", ex.getMessage());
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        
+        String jsonResponse = jsonObject.toString();
+        logger.info("jsonResponse: " + jsonResponse);
+        return jsonResponse;
+    }
+}
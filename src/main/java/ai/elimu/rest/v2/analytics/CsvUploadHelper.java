@@ -0,0 +1,84 @@
+package ai.elimu.rest.v2.analytics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import javax.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Reads CSV files uploaded by devices directly from the request's InputStream, and writes them to the filesystem as 
+ * they are received, instead of first buffering them in memory. The stored file is parsed later, one chunk at a time 
+ * (see {@link ai.elimu.rest.v2.service.LearningEventImportService}), so neither the upload nor the import holds the 
+ * whole file in memory.
+ * <p />
+ * This requires the multipartResolver to resolve requests lazily (see applicationContext.xml), as the InputStream can 
+ * only be read once.
+ */
+public class CsvUploadHelper {
+    
+    /**
+     * The name of the form field containing the CSV file.
+     */
+    private static final String FIELD_NAME = "file";
+    
+    /**
+     * The same limit as the multipartResolver's maxUploadSize.
+     */
+    private static final long MAX_UPLOAD_SIZE = 1073741824; // 1024MB
+    
+    /**
+     * @return The uploaded CSV file, which has not been read yet.
+     */
+    public static FileItemStream getFileItemStream(HttpServletRequest request) throws IOException, FileUploadException {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("Expected a multipart request");
+        }
+        
+        ServletFileUpload servletFileUpload = new ServletFileUpload();
+        servletFileUpload.setSizeMax(MAX_UPLOAD_SIZE);
+        FileItemIterator fileItemIterator = servletFileUpload.getItemIterator(request);
+        while (fileItemIterator.hasNext()) {
+            FileItemStream fileItemStream = fileItemIterator.next();
+            if (!fileItemStream.isFormField() && FIELD_NAME.equals(fileItemStream.getFieldName())) {
+                return fileItemStream;
+            }
+        }
+        throw new IllegalArgumentException("Missing file: \"" + FIELD_NAME + "\"");
+    }
+    
+    /**
+     * @return The filename on the device, without any path (which some clients include).
+     */
+    public static String getOriginalFilename(FileItemStream fileItemStream) {
+        return FilenameUtils.getName(fileItemStream.getName());
+    }
+    
+    /**
+     * Stores the uploaded file as it is being received. The file is written to a uniquely named temporary file first, 
+     * so that an interrupted upload does not replace a previously uploaded file, and so that concurrent uploads of the 
+     * same file do not write to the same temporary file.
+     * 
+     * @return The number of bytes stored.
+     */
+    public static long store(FileItemStream fileItemStream, File csvFile) throws IOException {
+        Path tmpPath = Files.createTempFile(csvFile.getParentFile().toPath(), csvFile.getName() + ".", ".tmp");
+        try {
+            long byteCount;
+            try (InputStream inputStream = fileItemStream.openStream()) {
+                byteCount = Files.copy(inputStream, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tmpPath, csvFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return byteCount;
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+}
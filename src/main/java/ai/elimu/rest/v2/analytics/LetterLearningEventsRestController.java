@@ -1,25 +1,14 @@
 package ai.elimu.rest.v2.analytics;
 
-import ai.elimu.dao.ApplicationDao;
-import ai.elimu.dao.LetterDao;
-import ai.elimu.dao.LetterLearningEventDao;
-import ai.elimu.model.admin.Application;
-import ai.elimu.model.analytics.LetterLearningEvent;
-import ai.elimu.model.content.Letter;
 import ai.elimu.model.enums.Language;
-import ai.elimu.model.enums.analytics.LearningEventType;
+import ai.elimu.rest.v2.service.AnalyticsJobService;
+import ai.elimu.rest.v2.service.AnalyticsJobType;
 import ai.elimu.util.AnalyticsHelper;
 import ai.elimu.util.ConfigHelper;
 import java.io.File;
-import java.io.Reader;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Calendar;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
@@ -28,9 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping(value = "/rest/v2/analytics/letter-learning-events", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
@@ -39,39 +26,32 @@ public class LetterLearningEventsRestController {
     private Logger logger = LogManager.getLogger();
     
     @Autowired
-    private LetterLearningEventDao letterLearningEventDao;
-    
-    @Autowired
-    private ApplicationDao applicationDao;
-    
-    @Autowired
-    private LetterDao letterDao;
+    private AnalyticsJobService analyticsJobService;
     
     @RequestMapping(value = "/csv", method = RequestMethod.POST)
     public String handleUploadCsvRequest(
-            @RequestParam("file") MultipartFile multipartFile,
+            HttpServletRequest request,
             HttpServletResponse response
     ) {
         logger.info("handleUploadCsvRequest");
         
-        String name = multipartFile.getName();
-        logger.info("name: " + name);
-        
-        // Expected format: "7161a85a0e4751cd_letter-learning-events_2020-04-23.csv"
-        String originalFilename = multipartFile.getOriginalFilename();
-        logger.info("originalFilename: " + originalFilename);
-        
-        String androidIdExtractedFromFilename = AnalyticsHelper.extractAndroidIdFromCsvFilename(originalFilename);
-        logger.info("androidIdExtractedFromFilename: \"" + androidIdExtractedFromFilename + "\"");
-        
-        String contentType = multipartFile.getContentType();
-        logger.info("contentType: " + contentType);
-        
         JSONObject jsonObject = new JSONObject();
         
         try {
-            byte[] bytes = multipartFile.getBytes();
-            logger.info("bytes.length: " + bytes.length);
+            FileItemStream fileItemStream = CsvUploadHelper.getFileItemStream(request);
+            
+            String name = fileItemStream.getFieldName();
+            logger.info("name: " + name);
+            
+            // Expected format: "7161a85a0e4751cd_letter-learning-events_2020-04-23.csv"
+            String originalFilename = CsvUploadHelper.getOriginalFilename(fileItemStream);
+            logger.info("originalFilename: " + originalFilename);
+            
+            String androidIdExtractedFromFilename = AnalyticsHelper.extractAndroidIdFromCsvFilename(originalFilename);
+            logger.info("androidIdExtractedFromFilename: \"" + androidIdExtractedFromFilename + "\"");
+            
+            String contentType = fileItemStream.getContentType();
+            logger.info("contentType: " + contentType);
             
             // Store a backup of the original CSV file on the filesystem (in case it will be needed for debugging)
             File elimuAiDir = new File(System.getProperty("user.home"), ".elimu-ai");
@@ -82,94 +62,15 @@ public class LetterLearningEventsRestController {
             letterLearningEventsDir.mkdirs();
             File csvFile = new File(letterLearningEventsDir, originalFilename);
             logger.info("Storing CSV file at " + csvFile);
-            multipartFile.transferTo(csvFile);
+            long byteCount = CsvUploadHelper.store(fileItemStream, csvFile);
+            logger.info("byteCount: " + byteCount);
             
-            // Iterate each row in the CSV file
-            Path csvFilePath = Paths.get(csvFile.toURI());
-            logger.info("csvFilePath: " + csvFilePath);
-            Reader reader = Files.newBufferedReader(csvFilePath);
-            CSVFormat csvFormat = CSVFormat.DEFAULT
-                    .withHeader(
-                            "id", // The Room database ID
-                            "time",
-                            "android_id",
-                            "package_name",
-                            "letter_id",
-                            "letter_text",
-                            "learning_event_type"
-                    )
-                    .withSkipHeaderRecord();
-            CSVParser csvParser = new CSVParser(reader, csvFormat);
-            for (CSVRecord csvRecord : csvParser) {
-                logger.info("csvRecord: " + csvRecord);
-                
-                // Convert from CSV to Java
-                
-                LetterLearningEvent letterLearningEvent = new LetterLearningEvent();
-                
-                long timeInMillis = Long.valueOf(csvRecord.get("time"));
-                Calendar time = Calendar.getInstance();
-                time.setTimeInMillis(timeInMillis);
-                letterLearningEvent.setTime(time);
-                
-                String androidId = csvRecord.get("android_id");
-                letterLearningEvent.setAndroidId(androidId);
-                
-                String packageName = csvRecord.get("package_name");
-                Application application = applicationDao.readByPackageName(packageName);
-                logger.info("application: " + application);
-                if (application == null) {
-                    // Return error message saying that the reporting Application has not yet been added
-                    logger.warn("An Application with package name " + packageName + " was not found");
-                    
-                    jsonObject.put("result", "error");
-                    jsonObject.put("errorMessage", "An Application with package name " + packageName + " was not found");
-                    response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
-                    
-                    break;
-                }
-                letterLearningEvent.setApplication(application);
-                
-                Long letterId = Long.valueOf(csvRecord.get("letter_id"));
-                Letter letter = letterDao.read(letterId);
-                logger.info("letter: " + letter);
-                letterLearningEvent.setLetter(letter);
-                if (letter == null) {
-                    // Return error message saying that the Letter ID was not found
-                    logger.warn("A Letter with ID " + letterId + " was not found");
-                    
-                    jsonObject.put("result", "error");
-                    jsonObject.put("errorMessage", "A Letter with ID " + letterId + " was not found");
-                    response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
-                    
-                    break;
-                }
-                
-                String letterText = csvRecord.get("letter_text");
-                letterLearningEvent.setLetterText(letterText);
-                
-                LearningEventType learningEventType = LearningEventType.valueOf(csvRecord.get("learning_event_type"));
-                letterLearningEvent.setLearningEventType(learningEventType);
-                
-                // Check if the event has already been stored in the database
-                LetterLearningEvent existingLetterLearningEvent = letterLearningEventDao.read(time, androidId, application, letter);
-                logger.info("existingLetterLearningEvent: " + existingLetterLearningEvent);
-                if (existingLetterLearningEvent == null) {
-                    // Store the event in the database
-                    letterLearningEventDao.create(letterLearningEvent);
-                    logger.info("Stored LetterLearningEvent in database with ID " + letterLearningEvent.getId());
-
-                    jsonObject.put("result", "success");
-                    jsonObject.put("successMessage", "The LetterLearningEvent was stored in the database");
-                } else {
-                    // Return error message saying that the event has already been uploaded
-                    logger.warn("The event has already been stored in the database");
-                    
-                    jsonObject.put("result", "error");
-                    jsonObject.put("errorMessage", "The event has already been stored in the database");
-                    response.setStatus(HttpStatus.CONFLICT.value());
-                }
-            }
+            // Store the events in the database in the background, so that the device does not have to wait for it
+            String jobId = analyticsJobService.submit(AnalyticsJobType.LETTER_LEARNING_EVENTS, csvFile, androidIdExtractedFromFilename);
+            jsonObject.put("result", "success");
+            jsonObject.put("successMessage", "The CSV file was received, and will be processed");
+            jsonObject.put("jobId", jobId);
+            response.setStatus(HttpStatus.ACCEPTED.value());
         } catch (Exception ex) {
             logger.error(ex);
             
@@ -1,25 +1,14 @@
 package ai.elimu.rest.v2.analytics;
 
-import ai.elimu.dao.ApplicationDao;
-import ai.elimu.dao.WordDao;
-import ai.elimu.dao.WordLearningEventDao;
-import ai.elimu.model.admin.Application;
-import ai.elimu.model.analytics.WordLearningEvent;
-import ai.elimu.model.content.Word;
 import ai.elimu.model.enums.Language;
-import ai.elimu.model.enums.analytics.LearningEventType;
+import ai.elimu.rest.v2.service.AnalyticsJobService;
+import ai.elimu.rest.v2.service.AnalyticsJobType;
 import ai.elimu.util.AnalyticsHelper;
 import ai.elimu.util.ConfigHelper;
 import java.io.File;
-import java.io.Reader;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Calendar;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
@@ -28,9 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping(value = "/rest/v2/analytics/word-learning-events", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
@@ -39,39 +26,32 @@ public class WordLearningEventsRestController {
     private Logger logger = LogManager.getLogger();
     
     @Autowired
-    private WordLearningEventDao wordLearningEventDao;
-    
-    @Autowired
-    private ApplicationDao applicationDao;
-    
-    @Autowired
-    private WordDao wordDao;
+    private AnalyticsJobService analyticsJobService;
     
     @RequestMapping(value = "/csv", method = RequestMethod.POST)
     public String handleUploadCsvRequest(
-            @RequestParam("file") MultipartFile multipartFile,
+            HttpServletRequest request,
             HttpServletResponse response
     ) {
         logger.info("handleUploadCsvRequest");
         
-        String name = multipartFile.getName();
-        logger.info("name: " + name);
-        
-        // Expected format: "7161a85a0e4751cd_word-learning-events_2020-04-23.csv"
-        String originalFilename = multipartFile.getOriginalFilename();
-        logger.info("originalFilename: " + originalFilename);
-        
-        String androidIdExtractedFromFilename = AnalyticsHelper.extractAndroidIdFromCsvFilename(originalFilename);
-        logger.info("androidIdExtractedFromFilename: \"" + androidIdExtractedFromFilename + "\"");
-        
-        String contentType = multipartFile.getContentType();
-        logger.info("contentType: " + contentType);
-        
         JSONObject jsonObject = new JSONObject();
         
         try {
-            byte[] bytes = multipartFile.getBytes();
-            logger.info("bytes.length: " + bytes.length);
+            FileItemStream fileItemStream = CsvUploadHelper.getFileItemStream(request);
+            
+            String name = fileItemStream.getFieldName();
+            logger.info("name: " + name);
+            
+            // Expected format: "7161a85a0e4751cd_word-learning-events_2020-04-23.csv"
+            String originalFilename = CsvUploadHelper.getOriginalFilename(fileItemStream);
+            logger.info("originalFilename: " + originalFilename);
+            
+            String androidIdExtractedFromFilename = AnalyticsHelper.extractAndroidIdFromCsvFilename(originalFilename);
+            logger.info("androidIdExtractedFromFilename: \"" + androidIdExtractedFromFilename + "\"");
+            
+            String contentType = fileItemStream.getContentType();
+            logger.info("contentType: " + contentType);
             
             // Store a backup of the original CSV file on the filesystem (in case it will be needed for debugging)
             File elimuAiDir = new File(System.getProperty("user.home"), ".elimu-ai");
@@ -82,94 +62,15 @@ public class WordLearningEventsRestController {
             wordLearningEventsDir.mkdirs();
             File csvFile = new File(wordLearningEventsDir, originalFilename);
             logger.info("Storing CSV file at " + csvFile);
-            multipartFile.transferTo(csvFile);
+            long byteCount = CsvUploadHelper.store(fileItemStream, csvFile);
+            logger.info("byteCount: " + byteCount);
             
-            // Iterate each row in the CSV file
-            Path csvFilePath = Paths.get(csvFile.toURI());
-            logger.info("csvFilePath: " + csvFilePath);
-            Reader reader = Files.newBufferedReader(csvFilePath);
-            CSVFormat csvFormat = CSVFormat.DEFAULT
-                    .withHeader(
-                            "id", // The Room database ID
-                            "time",
-                            "android_id",
-                            "package_name",
-                            "word_id",
-                            "word_text",
-                            "learning_event_type"
-                    )
-                    .withSkipHeaderRecord();
-            CSVParser csvParser = new CSVParser(reader, csvFormat);
-            for (CSVRecord csvRecord : csvParser) {
-                logger.info("csvRecord: " + csvRecord);
-                
-                // Convert from CSV to Java
-                
-                WordLearningEvent wordLearningEvent = new WordLearningEvent();
-                
-                long timeInMillis = Long.valueOf(csvRecord.get("time"));
-                Calendar time = Calendar.getInstance();
-                time.setTimeInMillis(timeInMillis);
-                wordLearningEvent.setTime(time);
-                
-                String androidId = csvRecord.get("android_id");
-                wordLearningEvent.setAndroidId(androidId);
-                
-                String packageName = csvRecord.get("package_name");
-                Application application = applicationDao.readByPackageName(packageName);
-                logger.info("application: " + application);
-                if (application == null) {
-                    // Return error message saying that the reporting Application has not yet been added
-                    logger.warn("An Application with package name " + packageName + " was not found");
-                    
-                    jsonObject.put("result", "error");
-                    jsonObject.put("errorMessage", "An Application with package name " + packageName + " was not found");
-                    response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
-                    
-                    break;
-                }
-                wordLearningEvent.setApplication(application);
-                
-                Long wordId = Long.valueOf(csvRecord.get("word_id"));
-                Word word = wordDao.read(wordId);
-                logger.info("word: " + word);
-                wordLearningEvent.setWord(word);
-                if (word == null) {
-                    // Return error message saying that the Word ID was not found
-                    logger.warn("A Word with ID " + wordId + " was not found");
-                    
-                    jsonObject.put("result", "error");
-                    jsonObject.put("errorMessage", "A Word with ID " + wordId + " was not found");
-                    response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
-                    
-                    break;
-                }
-                
-                String wordText = csvRecord.get("word_text");
-                wordLearningEvent.setWordText(wordText);
-                
-                LearningEventType learningEventType = LearningEventType.valueOf(csvRecord.get("learning_event_type"));
-                wordLearningEvent.setLearningEventType(learningEventType);
-                
-                // Check if the event has already been stored in the database
-                WordLearningEvent existingWordLearningEvent = wordLearningEventDao.read(time, androidId, application, word);
-                logger.info("existingWordLearningEvent: " + existingWordLearningEvent);
-                if (existingWordLearningEvent == null) {
-                    // Store the event in the database
-                    wordLearningEventDao.create(wordLearningEvent);
-                    logger.info("Stored WordLearningEvent in database with ID " + wordLearningEvent.getId());
-
-                    jsonObject.put("result", "success");
-                    jsonObject.put("successMessage", "The WordLearningEvent was stored in the database");
-                } else {
-                    // Return error message saying that the event has already been uploaded
-                    logger.warn("The event has already been stored in the database");
-                    
-                    jsonObject.put("result", "error");
-                    jsonObject.put("errorMessage", "The event has already been stored in the database");
-                    response.setStatus(HttpStatus.CONFLICT.value());
-                }
-            }
+            // Store the events in the database in the background, so that the device does not have to wait for it
+            String jobId = analyticsJobService.submit(AnalyticsJobType.WORD_LEARNING_EVENTS, csvFile, androidIdExtractedFromFilename);
+            jsonObject.put("result", "success");
+            jsonObject.put("successMessage", "The CSV file was received, and will be processed");
+            jsonObject.put("jobId", jobId);
+            response.setStatus(HttpStatus.ACCEPTED.value());
         } catch (Exception ex) {
             logger.error(ex);
             
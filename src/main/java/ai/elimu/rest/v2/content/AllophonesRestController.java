@@ -2,21 +2,25 @@ package ai.elimu.rest.v2.content;
 
 import ai.elimu.dao.AllophoneDao;
 import ai.elimu.model.content.Allophone;
-import ai.elimu.model.v2.gson.content.AllophoneGson;
 import ai.elimu.rest.v2.JpaToGsonConverter;
-import com.google.gson.Gson;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentDeltaService;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/allophones", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/allophones", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class AllophonesRestController {
     
     private Logger logger = LogManager.getLogger();
@@ -24,19 +28,25 @@ public class AllophonesRestController {
     @Autowired
     private AllophoneDao allophoneDao;
     
+    @Autowired
+    private ContentSnapshotService contentSnapshotService;
+    
+    @Autowired
+    private ContentDeltaService contentDeltaService;
+    
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest() {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "since", required = false) Long since
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray allophonesJsonArray = new JSONArray();
-        for (Allophone allophone : allophoneDao.readAllOrdered()) {
-            AllophoneGson allophoneGson = JpaToGsonConverter.getAllophoneGson(allophone);
-            String json = new Gson().toJson(allophoneGson);
-            allophonesJsonArray.put(new JSONObject(json));
+        if (since != null) {
+            contentDeltaService.writeChangesSince(since, allophoneDao, Allophone.class, JpaToGsonConverter::getAllophoneGson, ContentFormat.getContentFormat(request), response);
+            return;
         }
         
-        String jsonResponse = allophonesJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        JsonResponseHelper.writeSnapshot(contentSnapshotService.getAllophonesSnapshot(ContentFormat.getContentFormat(request)), request, response);
     }
 }
@@ -1,42 +1,43 @@
 package ai.elimu.rest.v2.content;
 
-import ai.elimu.dao.LetterToAllophoneMappingDao;
-import ai.elimu.model.content.LetterToAllophoneMapping;
-import ai.elimu.model.v2.gson.content.LetterToAllophoneMappingGson;
-import ai.elimu.rest.v2.JpaToGsonConverter;
-import com.google.gson.Gson;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/letter-to-allophone-mappings", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/letter-to-allophone-mappings", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class LetterToAllophoneMappingsRestController {
     
     private Logger logger = LogManager.getLogger();
     
     @Autowired
-    private LetterToAllophoneMappingDao letterToAllophoneMappingDao;
+    private ContentSnapshotService contentSnapshotService;
     
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest() {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "normalized", defaultValue = "false") boolean normalized
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray letterToAllophoneMappingsJsonArray = new JSONArray();
-        for (LetterToAllophoneMapping letterToAllophoneMapping : letterToAllophoneMappingDao.readAllOrderedByUsage()) {
-            LetterToAllophoneMappingGson letterToAllophoneMappingGson = JpaToGsonConverter.getLetterToAllophoneMappingGson(letterToAllophoneMapping);
-            String json = new Gson().toJson(letterToAllophoneMappingGson);
-            letterToAllophoneMappingsJsonArray.put(new JSONObject(json));
+        ContentFormat contentFormat = ContentFormat.getContentFormat(request);
+        if (normalized && (contentFormat == ContentFormat.JSON)) {
+            JsonResponseHelper.writeSnapshot(contentSnapshotService.getLetterToAllophoneMappingsNormalizedSnapshot(), request, response);
+            return;
         }
         
-        String jsonResponse = letterToAllophoneMappingsJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        JsonResponseHelper.writeSnapshot(contentSnapshotService.getLetterToAllophoneMappingsSnapshot(contentFormat), request, response);
     }
 }
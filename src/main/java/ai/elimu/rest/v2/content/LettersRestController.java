@@ -2,21 +2,25 @@ package ai.elimu.rest.v2.content;
 
 import ai.elimu.dao.LetterDao;
 import ai.elimu.model.content.Letter;
-import ai.elimu.model.v2.gson.content.LetterGson;
 import ai.elimu.rest.v2.JpaToGsonConverter;
-import com.google.gson.Gson;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentDeltaService;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/letters", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/letters", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class LettersRestController {
     
     private Logger logger = LogManager.getLogger();
@@ -24,19 +28,25 @@ public class LettersRestController {
     @Autowired
     private LetterDao letterDao;
     
+    @Autowired
+    private ContentSnapshotService contentSnapshotService;
+    
+    @Autowired
+    private ContentDeltaService contentDeltaService;
+    
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest() {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "since", required = false) Long since
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray lettersJsonArray = new JSONArray();
-        for (Letter letter : letterDao.readAllOrdered()) {
-            LetterGson letterGson = JpaToGsonConverter.getLetterGson(letter);
-            String json = new Gson().toJson(letterGson);
-            lettersJsonArray.put(new JSONObject(json));
+        if (since != null) {
+            contentDeltaService.writeChangesSince(since, letterDao, Letter.class, JpaToGsonConverter::getLetterGson, ContentFormat.getContentFormat(request), response);
+            return;
         }
         
-        String jsonResponse = lettersJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        JsonResponseHelper.writeSnapshot(contentSnapshotService.getLettersSnapshot(ContentFormat.getContentFormat(request)), request, response);
     }
 }
@@ -2,21 +2,25 @@ package ai.elimu.rest.v2.content;
 
 import ai.elimu.dao.NumberDao;
 import ai.elimu.model.content.Number;
-import ai.elimu.model.v2.gson.content.NumberGson;
 import ai.elimu.rest.v2.JpaToGsonConverter;
-import com.google.gson.Gson;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentDeltaService;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/numbers", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/numbers", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class NumbersRestController {
     
     private Logger logger = LogManager.getLogger();
@@ -24,19 +28,25 @@ public class NumbersRestController {
     @Autowired
     private NumberDao numberDao;
     
+    @Autowired
+    private ContentSnapshotService contentSnapshotService;
+    
+    @Autowired
+    private ContentDeltaService contentDeltaService;
+    
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest() {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "since", required = false) Long since
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray numbersJsonArray = new JSONArray();
-        for (Number number : numberDao.readAllOrdered()) {
-            NumberGson numberGson = JpaToGsonConverter.getNumberGson(number);
-            String json = new Gson().toJson(numberGson);
-            numbersJsonArray.put(new JSONObject(json));
+        if (since != null) {
+            contentDeltaService.writeChangesSince(since, numberDao, Number.class, JpaToGsonConverter::getNumberGson, ContentFormat.getContentFormat(request), response);
+            return;
         }
         
-        String jsonResponse = numbersJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        JsonResponseHelper.writeSnapshot(contentSnapshotService.getNumbersSnapshot(ContentFormat.getContentFormat(request)), request, response);
     }
 }
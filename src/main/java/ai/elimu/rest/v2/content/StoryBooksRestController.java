@@ -1,6 +1,16 @@
 package ai.elimu.rest.v2.content;
 
+import ai.elimu.dao.StoryBookDao;
+import ai.elimu.model.content.StoryBook;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentDeltaService;
+import ai.elimu.rest.v2.service.ContentPageService;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
@@ -8,24 +18,65 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/storybooks", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/storybooks", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class StoryBooksRestController {
     
     private Logger logger = LogManager.getLogger();
     
+    @Autowired
+    private StoryBookDao storyBookDao;
+    
     @Autowired
     private StoryBooksJsonService storyBooksJsonService;
     
+    @Autowired
+    private ContentDeltaService contentDeltaService;
+    
+    @Autowired
+    private ContentPageService contentPageService;
+    
+    @Autowired
+    private ContentSnapshotService contentSnapshotService;
+    
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest() {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray storyBooksJsonArray = storyBooksJsonService.getStoryBooksJSONArray();        
-        String jsonResponse = storyBooksJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        ContentFormat contentFormat = ContentFormat.getContentFormat(request);
+        
+        if (since != null) {
+            // Chapters and paragraphs are not synchronized separately. When they are changed or deleted, the storybook's 
+            // timeLastUpdate is updated, and the whole storybook is included.
+            contentDeltaService.writeChangesSince(since, storyBookDao, StoryBook.class, storyBooksJsonService::getStoryBookGson, contentFormat, response);
+            return;
+        }
+        
+        if (limit != null) {
+            contentPageService.writePage(cursor, limit, storyBookDao, storyBooksJsonService::getStoryBookGson, contentFormat, response);
+            return;
+        }
+        
+        if (contentFormat == ContentFormat.CBOR) {
+            JsonResponseHelper.writeSnapshot(contentSnapshotService.getStoryBooksSnapshot(contentFormat), request, response);
+            return;
+        }
+        
+        String version = storyBooksJsonService.getStoryBooksVersion();
+        if (JsonResponseHelper.checkNotModified(version, storyBooksJsonService.getTimeLastRefresh(), request, response)) {
+            return;
+        }
+        
+        JSONArray storyBooksJsonArray = storyBooksJsonService.getStoryBooksJSONArray();
+        JsonResponseHelper.writeJsonArray(storyBooksJsonArray, response);
     }
 }
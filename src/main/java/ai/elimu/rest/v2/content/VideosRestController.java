@@ -2,22 +2,26 @@ package ai.elimu.rest.v2.content;
 
 import ai.elimu.dao.VideoDao;
 import ai.elimu.model.content.multimedia.Video;
-import ai.elimu.model.v2.gson.content.VideoGson;
 import ai.elimu.rest.v2.JpaToGsonConverter;
-import com.google.gson.Gson;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentDeltaService;
+import ai.elimu.rest.v2.service.ContentPageService;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
+import java.io.IOException;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/videos", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/videos", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class VideosRestController {
     
     private Logger logger = LogManager.getLogger();
@@ -25,20 +29,35 @@ public class VideosRestController {
     @Autowired
     private VideoDao videoDao;
     
+    @Autowired
+    private ContentSnapshotService contentSnapshotService;
+    
+    @Autowired
+    private ContentDeltaService contentDeltaService;
+    
+    @Autowired
+    private ContentPageService contentPageService;
+    
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest(HttpServletRequest request) {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray videosJsonArray = new JSONArray();
-        for (Video video : videoDao.readAllOrdered()) {
-            VideoGson videoGson = JpaToGsonConverter.getVideoGson(video);
-            
-            String json = new Gson().toJson(videoGson);
-            videosJsonArray.put(new JSONObject(json));
+        if (since != null) {
+            contentDeltaService.writeChangesSince(since, videoDao, Video.class, JpaToGsonConverter::getVideoGson, ContentFormat.getContentFormat(request), response);
+            return;
+        }
+        
+        if (limit != null) {
+            contentPageService.writePage(cursor, limit, videoDao, JpaToGsonConverter::getVideoGson, ContentFormat.getContentFormat(request), response);
+            return;
         }
         
-        String jsonResponse = videosJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        JsonResponseHelper.writeSnapshot(contentSnapshotService.getVideosSnapshot(ContentFormat.getContentFormat(request)), request, response);
     }
 }
@@ -2,21 +2,25 @@ package ai.elimu.rest.v2.content;
 
 import ai.elimu.dao.WordDao;
 import ai.elimu.model.content.Word;
-import ai.elimu.model.v2.gson.content.WordGson;
 import ai.elimu.rest.v2.JpaToGsonConverter;
-import com.google.gson.Gson;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.service.ContentDeltaService;
+import ai.elimu.rest.v2.service.ContentSnapshotService;
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(value = "/rest/v2/content/words", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@RequestMapping(value = "/rest/v2/content/words", produces = { MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 public class WordsRestController {
     
     private Logger logger = LogManager.getLogger();
@@ -24,19 +28,33 @@ public class WordsRestController {
     @Autowired
     private WordDao wordDao;
     
+    @Autowired
+    private ContentSnapshotService contentSnapshotService;
+    
+    @Autowired
+    private ContentDeltaService contentDeltaService;
+    
     @RequestMapping(method = RequestMethod.GET)
-    public String handleGetRequest() {
+    public void handleGetRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "normalized", defaultValue = "false") boolean normalized
+    ) throws IOException {
         logger.info("handleGetRequest");
         
-        JSONArray wordsJsonArray = new JSONArray();
-        for (Word word : wordDao.readAllOrdered()) {
-            WordGson wordGson = JpaToGsonConverter.getWordGson(word);
-            String json = new Gson().toJson(wordGson);
-            wordsJsonArray.put(new JSONObject(json));
+        ContentFormat contentFormat = ContentFormat.getContentFormat(request);
+        
+        if (since != null) {
+            contentDeltaService.writeChangesSince(since, wordDao, Word.class, JpaToGsonConverter::getWordGson, contentFormat, response);
+            return;
+        }
+        
+        if (normalized && (contentFormat == ContentFormat.JSON)) {
+            JsonResponseHelper.writeSnapshot(contentSnapshotService.getWordsNormalizedSnapshot(), request, response);
+            return;
         }
         
-        String jsonResponse = wordsJsonArray.toString();
-        logger.info("jsonResponse: " + jsonResponse);
-        return jsonResponse;
+        JsonResponseHelper.writeSnapshot(contentSnapshotService.getWordsSnapshot(contentFormat), request, response);
     }
 }
@@ -0,0 +1,166 @@
+package ai.elimu.rest.v2.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+/**
+ * An uploaded CSV file waiting to be stored in the database (or which has been stored). See 
+ * {@link AnalyticsJobService}.
+ * <p />
+ * Each job is kept as a properties file on the filesystem, so that jobs survive a restart.
+ */
+public class AnalyticsJob {
+    
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        COMPLETED,
+        FAILED;
+    }
+    
+    private String id;
+    
+    private AnalyticsJobType type;
+    
+    /**
+     * The uploaded CSV file.
+     */
+    private File csvFile;
+    
+    /**
+     * The device that uploaded the file. The jobs of each device are processed in the order they were uploaded.
+     */
+    private String androidId;
+    
+    private long timeCreated;
+    
+    private int attemptCount;
+    
+    /**
+     * The earliest time of the next attempt, after a failed attempt.
+     */
+    private long timeNextAttempt;
+    
+    /**
+     * The JSON response of the upload, once the job has been processed. See 
+     * {@link LearningEventImportResult#toJSONObject()}.
+     */
+    private String result;
+    
+    /**
+     * Not stored in the file, but given by the directory of the file.
+     */
+    private Status status;
+    
+    public static AnalyticsJob read(File jobFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(jobFile.toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        
+        AnalyticsJob analyticsJob = new AnalyticsJob();
+        analyticsJob.setId(properties.getProperty("id"));
+        analyticsJob.setType(AnalyticsJobType.valueOf(properties.getProperty("type")));
+        analyticsJob.setCsvFile(new File(properties.getProperty("csvFile")));
+        analyticsJob.setAndroidId(properties.getProperty("androidId"));
+        analyticsJob.setTimeCreated(Long.valueOf(properties.getProperty("timeCreated")));
+        analyticsJob.setAttemptCount(Integer.valueOf(properties.getProperty("attemptCount", "0")));
+        analyticsJob.setTimeNextAttempt(Long.valueOf(properties.getProperty("timeNextAttempt", "0")));
+        analyticsJob.setResult(properties.getProperty("result"));
+        return analyticsJob;
+    }
+    
+    public void write(File jobFile) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("id", id);
+        properties.setProperty("type", type.toString());
+        properties.setProperty("csvFile", csvFile.getAbsolutePath());
+        properties.setProperty("androidId", androidId);
+        properties.setProperty("timeCreated", String.valueOf(timeCreated));
+        properties.setProperty("attemptCount", String.valueOf(attemptCount));
+        properties.setProperty("timeNextAttempt", String.valueOf(timeNextAttempt));
+        if (result != null) {
+            properties.setProperty("result", result);
+        }
+        try (Writer writer = Files.newBufferedWriter(jobFile.toPath(), StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public AnalyticsJobType getType() {
+        return type;
+    }
+    
+    public void setType(AnalyticsJobType type) {
+        this.type = type;
+    }
+    
+    public File getCsvFile() {
+        return csvFile;
+    }
+    
+    public void setCsvFile(File csvFile) {
+        this.csvFile = csvFile;
+    }
+    
+    public String getAndroidId() {
+        return androidId;
+    }
+    
+    public void setAndroidId(String androidId) {
+        this.androidId = androidId;
+    }
+    
+    public long getTimeCreated() {
+        return timeCreated;
+    }
+    
+    public void setTimeCreated(long timeCreated) {
+        this.timeCreated = timeCreated;
+    }
+    
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+    
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+    
+    public long getTimeNextAttempt() {
+        return timeNextAttempt;
+    }
+    
+    public void setTimeNextAttempt(long timeNextAttempt) {
+        this.timeNextAttempt = timeNextAttempt;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,316 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.model.enums.Language;
+import ai.elimu.util.ConfigHelper;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores uploaded CSV files in the database asynchronously, so that the upload request does not have to wait for it.
+ * <p />
+ * Uploaded files are queued as jobs in a spool directory on the filesystem, with one subdirectory per 
+ * {@link AnalyticsJob.Status}. Jobs are claimed by moving their file from "pending" to "processing", and are then 
+ * processed by a bounded pool of workers:
+ * <ul>
+ *   <li>Jobs left in "processing" by a previous run (e.g. interrupted by a restart) are processed again once, after 
+ *   startup.</li>
+ *   <li>Jobs are only taken from the spool when a worker is available, so a backlog stays on disk instead of in 
+ *   memory.</li>
+ *   <li>The jobs of each device are processed one at a time, in the order they were uploaded.</li>
+ *   <li>Jobs that fail (e.g. because the database is unavailable) are retried with an increasing delay.</li>
+ * </ul>
+ * As events that have already been stored are skipped (see {@link LearningEventImportService}), processing a job 
+ * more than once does no harm.
+ */
+@Service
+public class AnalyticsJobService {
+    
+    private static final int MAX_ATTEMPT_COUNT = 5;
+    
+    /**
+     * Completed jobs are deleted after this time. The uploaded CSV files are kept.
+     */
+    private static final long COMPLETED_RETENTION_MS = TimeUnit.DAYS.toMillis(30);
+    
+    private Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private LearningEventImportService learningEventImportService;
+    
+    @Autowired
+    @Qualifier("analyticsJobExecutor")
+    private ThreadPoolTaskExecutor analyticsJobExecutor;
+    
+    /**
+     * The IDs of the jobs submitted to the workers of this instance that have not finished yet.
+     */
+    private final Set<String> runningJobIds = ConcurrentHashMap.newKeySet();
+    
+    private boolean interruptedJobsRequeued;
+    
+    /**
+     * The spool directory. Defaults to a directory in the user's home directory, see {@link #getJobDir}.
+     */
+    File jobsDir;
+    
+    /**
+     * Queues an uploaded CSV file for being stored in the database.
+     * 
+     * @return The ID of the job, to be used for checking its status.
+     */
+    public String submit(AnalyticsJobType type, File csvFile, String androidId) throws IOException {
+        logger.info("submit");
+        
+        AnalyticsJob analyticsJob = new AnalyticsJob();
+        analyticsJob.setId(UUID.randomUUID().toString());
+        analyticsJob.setType(type);
+        analyticsJob.setCsvFile(csvFile);
+        analyticsJob.setAndroidId(androidId);
+        analyticsJob.setTimeCreated(System.currentTimeMillis());
+        
+        // Write to a temporary file first, so that a worker never reads a partially written job
+        File jobFile = getJobFile(AnalyticsJob.Status.PENDING, analyticsJob.getId());
+        File tmpFile = new File(jobFile.getParentFile(), analyticsJob.getId() + ".tmp");
+        analyticsJob.write(tmpFile);
+        Files.move(tmpFile.toPath(), jobFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Queued job " + analyticsJob.getId() + " (" + type + ", " + csvFile.getName() + ")");
+        
+        return analyticsJob.getId();
+    }
+    
+    /**
+     * @return The job, or {@code null} if it was not found.
+     */
+    public AnalyticsJob getJob(String jobId) throws IOException {
+        for (AnalyticsJob.Status status : AnalyticsJob.Status.values()) {
+            File jobFile = getJobFile(status, jobId);
+            if (jobFile.exists()) {
+                AnalyticsJob analyticsJob = AnalyticsJob.read(jobFile);
+                analyticsJob.setStatus(status);
+                return analyticsJob;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Hands pending jobs to the workers, as long as there are idle workers.
+     */
+    @Scheduled(fixedDelay = 10000) // 10 seconds after the previous run completed
+    public synchronized void drainSpool() {
+        if (!interruptedJobsRequeued) {
+            requeueInterruptedJobs();
+            interruptedJobsRequeued = true;
+        }
+        deleteExpiredJobs();
+        
+        if (runningJobIds.size() >= analyticsJobExecutor.getMaxPoolSize()) {
+            return;
+        }
+        
+        File[] pendingJobFiles = getJobDir(AnalyticsJob.Status.PENDING).listFiles((dir, name) -> name.endsWith(".properties"));
+        if ((pendingJobFiles == null) || (pendingJobFiles.length == 0)) {
+            return;
+        }
+        logger.info("pendingJobFiles.length: " + pendingJobFiles.length);
+        List<AnalyticsJob> pendingJobs = readJobs(pendingJobFiles);
+        pendingJobs.sort(Comparator.comparing(AnalyticsJob::getTimeCreated));
+        
+        // Only one job per device at a time
+        Set<String> busyAndroidIds = new HashSet<>();
+        File[] processingJobFiles = getJobDir(AnalyticsJob.Status.PROCESSING).listFiles((dir, name) -> name.endsWith(".properties"));
+        if (processingJobFiles != null) {
+            for (AnalyticsJob processingJob : readJobs(processingJobFiles)) {
+                busyAndroidIds.add(processingJob.getAndroidId());
+            }
+        }
+        
+        long now = System.currentTimeMillis();
+        for (AnalyticsJob analyticsJob : pendingJobs) {
+            if (runningJobIds.size() >= analyticsJobExecutor.getMaxPoolSize()) {
+                break;
+            }
+            if (busyAndroidIds.contains(analyticsJob.getAndroidId())) {
+                continue;
+            }
+            // Do not let later jobs of the device overtake a job that is waiting to be retried
+            busyAndroidIds.add(analyticsJob.getAndroidId());
+            if (analyticsJob.getTimeNextAttempt() > now) {
+                continue;
+            }
+            
+            // Claim the job. Another instance might have claimed it already.
+            if (!move(analyticsJob, AnalyticsJob.Status.PENDING, AnalyticsJob.Status.PROCESSING)) {
+                continue;
+            }
+            
+            runningJobIds.add(analyticsJob.getId());
+            analyticsJobExecutor.execute(() -> {
+                try {
+                    process(analyticsJob);
+                } finally {
+                    runningJobIds.remove(analyticsJob.getId());
+                }
+            });
+        }
+    }
+    
+    private void process(AnalyticsJob analyticsJob) {
+        logger.info("Processing job " + analyticsJob.getId() + " (" + analyticsJob.getType() + ", " + analyticsJob.getCsvFile().getName() + ")");
+        
+        analyticsJob.setAttemptCount(analyticsJob.getAttemptCount() + 1);
+        try {
+            LearningEventImportResult learningEventImportResult = null;
+            try (Reader reader = Files.newBufferedReader(analyticsJob.getCsvFile().toPath())) {
+                switch (analyticsJob.getType()) {
+                    case LETTER_ASSESSMENT_EVENTS:
+                        learningEventImportResult = learningEventImportService.importLetterAssessmentEvents(reader);
+                        break;
+                    case LETTER_LEARNING_EVENTS:
+                        learningEventImportResult = learningEventImportService.importLetterLearningEvents(reader);
+                        break;
+                    case STORYBOOK_LEARNING_EVENTS:
+                        learningEventImportResult = learningEventImportService.importStoryBookLearningEvents(reader);
+                        break;
+                    case WORD_ASSESSMENT_EVENTS:
+                        learningEventImportResult = learningEventImportService.importWordAssessmentEvents(reader);
+                        break;
+                    case WORD_LEARNING_EVENTS:
+                        learningEventImportResult = learningEventImportService.importWordLearningEvents(reader);
+                        break;
+                }
+            }
+            analyticsJob.setResult(learningEventImportResult.toJSONObject().toString());
+            
+            // Errors in the file itself (e.g. an unknown Application) will not go away by retrying
+            if (learningEventImportResult.getErrorMessage() != null) {
+                logger.warn("Job " + analyticsJob.getId() + " failed: " + learningEventImportResult.getErrorMessage());
+                finish(analyticsJob, AnalyticsJob.Status.FAILED);
+            } else {
+                finish(analyticsJob, AnalyticsJob.Status.COMPLETED);
+            }
+        } catch (Exception ex) {
+            logger.error("Job " + analyticsJob.getId() + " failed (attempt " + analyticsJob.getAttemptCount() + ")", ex);
+            
+            if (analyticsJob.getAttemptCount() >= MAX_ATTEMPT_COUNT) {
+                analyticsJob.setResult(new LearningEventImportResult(String.valueOf(ex.getMessage())).toJSONObject().toString());
+                finish(analyticsJob, AnalyticsJob.Status.FAILED);
+            } else {
+                // Retry after 1, 4, 9, 16 minutes
+                long delayMs = TimeUnit.MINUTES.toMillis(analyticsJob.getAttemptCount() * analyticsJob.getAttemptCount());
+                analyticsJob.setTimeNextAttempt(System.currentTimeMillis() + delayMs);
+                finish(analyticsJob, AnalyticsJob.Status.PENDING);
+            }
+        }
+    }
+    
+    /**
+     * Writes the updated job to its new status directory.
+     */
+    private void finish(AnalyticsJob analyticsJob, AnalyticsJob.Status status) {
+        try {
+            File processingJobFile = getJobFile(AnalyticsJob.Status.PROCESSING, analyticsJob.getId());
+            analyticsJob.write(processingJobFile);
+            move(analyticsJob, AnalyticsJob.Status.PROCESSING, status);
+            logger.info("Job " + analyticsJob.getId() + ": " + status);
+        } catch (IOException ex) {
+            logger.error("Could not update job " + analyticsJob.getId(), ex);
+        }
+    }
+    
+    /**
+     * @return {@code false} if the job file was not found (e.g. because another worker moved it).
+     */
+    private boolean move(AnalyticsJob analyticsJob, AnalyticsJob.Status fromStatus, AnalyticsJob.Status toStatus) {
+        File fromFile = getJobFile(fromStatus, analyticsJob.getId());
+        File toFile = getJobFile(toStatus, analyticsJob.getId());
+        try {
+            Files.move(fromFile.toPath(), toFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException ex) {
+            logger.warn("Could not move job " + analyticsJob.getId() + " from " + fromStatus + " to " + toStatus + ": " + ex.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Moves the jobs left in "processing" by a previous run back to "pending". Jobs that are still being processed by 
+     * this instance are never moved, however long they take.
+     */
+    private void requeueInterruptedJobs() {
+        File[] processingJobFiles = getJobDir(AnalyticsJob.Status.PROCESSING).listFiles((dir, name) -> name.endsWith(".properties"));
+        if (processingJobFiles == null) {
+            return;
+        }
+        for (File processingJobFile : processingJobFiles) {
+            String jobId = processingJobFile.getName().replace(".properties", "");
+            if (runningJobIds.contains(jobId)) {
+                continue;
+            }
+            logger.warn("Requeueing interrupted job " + jobId);
+            processingJobFile.renameTo(getJobFile(AnalyticsJob.Status.PENDING, jobId));
+        }
+    }
+    
+    private void deleteExpiredJobs() {
+        File[] completedJobFiles = getJobDir(AnalyticsJob.Status.COMPLETED).listFiles((dir, name) -> name.endsWith(".properties"));
+        if (completedJobFiles == null) {
+            return;
+        }
+        for (File completedJobFile : completedJobFiles) {
+            if (System.currentTimeMillis() - completedJobFile.lastModified() > COMPLETED_RETENTION_MS) {
+                completedJobFile.delete();
+            }
+        }
+    }
+    
+    private List<AnalyticsJob> readJobs(File[] jobFiles) {
+        List<AnalyticsJob> analyticsJobs = new ArrayList<>();
+        for (File jobFile : jobFiles) {
+            try {
+                analyticsJobs.add(AnalyticsJob.read(jobFile));
+            } catch (IOException ex) {
+                // E.g. moved by another worker in the meantime
+                logger.warn("Could not read job " + jobFile.getName() + ": " + ex.getMessage());
+            }
+        }
+        return analyticsJobs;
+    }
+    
+    private File getJobFile(AnalyticsJob.Status status, String jobId) {
+        return new File(getJobDir(status), jobId + ".properties");
+    }
+    
+    /**
+     * E.g. "~/.elimu-ai/lang-ENG/analytics/jobs/pending"
+     */
+    private File getJobDir(AnalyticsJob.Status status) {
+        if (jobsDir == null) {
+            File elimuAiDir = new File(System.getProperty("user.home"), ".elimu-ai");
+            File languageDir = new File(elimuAiDir, "lang-" + Language.valueOf(ConfigHelper.getProperty("content.language")));
+            File analyticsDir = new File(languageDir, "analytics");
+            jobsDir = new File(analyticsDir, "jobs");
+        }
+        File jobDir = new File(jobsDir, status.toString().toLowerCase());
+        jobDir.mkdirs();
+        return jobDir;
+    }
+}
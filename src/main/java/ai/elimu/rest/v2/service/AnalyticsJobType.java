@@ -0,0 +1,12 @@
+package ai.elimu.rest.v2.service;
+
+/**
+ * The types of CSV files uploaded by devices. See {@link AnalyticsJobService}.
+ */
+public enum AnalyticsJobType {
+    LETTER_ASSESSMENT_EVENTS,
+    LETTER_LEARNING_EVENTS,
+    STORYBOOK_LEARNING_EVENTS,
+    WORD_ASSESSMENT_EVENTS,
+    WORD_LEARNING_EVENTS;
+}
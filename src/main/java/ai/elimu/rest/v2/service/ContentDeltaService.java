@@ -0,0 +1,66 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.dao.DeletedContentDao;
+import ai.elimu.dao.GenericDao;
+import ai.elimu.model.content.Content;
+import ai.elimu.rest.v2.CborResponseHelper;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.List;
+import java.util.function.Function;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+/**
+ * Used by the content endpoints when a device requests only the changes since its previous synchronization 
+ * ({@code ?since=<timestamp>}), instead of the full list.
+ * <p />
+ * Note: content is only included if its {@code timeLastUpdate} has been set, so the first synchronization of a device 
+ * should always download the full list.
+ */
+@Service
+public class ContentDeltaService {
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    /**
+     * The {@code timeLastUpdate} of a change is set before its transaction commits. A change committed after the 
+     * previous request was answered can therefore have a {@code timeLastUpdate} before that request's "timestamp". To 
+     * include such changes, each delta starts this long before the "timestamp", and repeats the changes made since then.
+     */
+    private static final long SAFETY_WINDOW_MILLIS = 5 * 60 * 1000;
+    
+    @Autowired
+    private DeletedContentDao deletedContentDao;
+    
+    /**
+     * @param since The "timestamp" returned by the previous request (milliseconds since 1970-01-01).
+     * @param contentFormat The format requested by the device, see {@link ContentFormat#getContentFormat}.
+     */
+    public <T extends Content> void writeChangesSince(long since, GenericDao<T> dao, Class<T> contentType, Function<T, ?> converter, ContentFormat contentFormat, HttpServletResponse response) throws IOException {
+        logger.info("writeChangesSince");
+        
+        logger.info("since: " + since + ", contentType: " + contentType.getSimpleName() + ", contentFormat: " + contentFormat);
+        
+        // Read the time before querying, so that changes made during the queries are included in the next delta
+        long timestamp = System.currentTimeMillis();
+        
+        Calendar timeSince = Calendar.getInstance();
+        timeSince.setTimeInMillis(since - SAFETY_WINDOW_MILLIS);
+        List<T> changedEntities = dao.readAllChangedSince(timeSince);
+        List<Long> deletedIds = deletedContentDao.readAllContentIds(contentType, timeSince);
+        
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (contentFormat == ContentFormat.CBOR) {
+            CborResponseHelper.writeDelta(timestamp, changedEntities, converter, deletedIds, response);
+        } else {
+            JsonResponseHelper.writeDelta(timestamp, changedEntities, converter, deletedIds, response);
+        }
+    }
+}
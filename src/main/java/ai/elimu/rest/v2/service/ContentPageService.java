@@ -0,0 +1,87 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.dao.GenericDao;
+import ai.elimu.model.BaseEntity;
+import ai.elimu.rest.v2.CborResponseHelper;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Used by the content endpoints when a device requests the content one page at a time ({@code ?limit=<n>}), instead 
+ * of the full list.
+ * <p />
+ * Pages are ordered by ID, and the cursor of the next page is the ID of the last entity of the current one (keyset 
+ * pagination). Devices should treat the cursor as an opaque value.
+ */
+@Service
+public class ContentPageService {
+    
+    /**
+     * Larger limits are reduced to this value.
+     */
+    public static final int MAX_LIMIT = 1000;
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    /**
+     * @param cursor The "nextCursor" returned by the previous request, or {@code null} for the first page.
+     * @param contentFormat The format requested by the device, see {@link ContentFormat#getContentFormat}. Errors are 
+     * always written as JSON.
+     */
+    public <T extends BaseEntity> void writePage(String cursor, int limit, GenericDao<T> dao, Function<T, ?> converter, ContentFormat contentFormat, HttpServletResponse response) throws IOException {
+        logger.info("writePage");
+        
+        logger.info("cursor: " + cursor + ", limit: " + limit + ", contentFormat: " + contentFormat);
+        
+        Long idAfter = null;
+        if (cursor != null) {
+            try {
+                idAfter = Long.valueOf(cursor);
+            } catch (NumberFormatException ex) {
+                logger.warn("Invalid cursor: \"" + cursor + "\"");
+                writeError("Invalid cursor: \"" + cursor + "\"", response);
+                return;
+            }
+        }
+        if (limit < 1) {
+            writeError("The limit must be at least 1", response);
+            return;
+        }
+        limit = Math.min(limit, MAX_LIMIT);
+        
+        // Read one extra entity, to find out if there is a next page
+        List<T> entities = dao.readAllOrderedById(idAfter, limit + 1);
+        String nextCursor = null;
+        if (entities.size() > limit) {
+            entities = entities.subList(0, limit);
+            nextCursor = String.valueOf(entities.get(limit - 1).getId());
+        }
+        
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (contentFormat == ContentFormat.CBOR) {
+            CborResponseHelper.writePage(entities, converter, nextCursor, response);
+        } else {
+            JsonResponseHelper.writePage(entities, converter, nextCursor, response);
+        }
+    }
+    
+    private void writeError(String errorMessage, HttpServletResponse response) throws IOException {
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put("result", "error");
+        jsonObject.put("errorMessage", errorMessage);
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.getWriter().write(jsonObject.toString());
+    }
+}
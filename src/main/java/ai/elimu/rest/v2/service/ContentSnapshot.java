@@ -0,0 +1,60 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.rest.v2.ContentFormat;
+
+/**
+ * The complete response of a content endpoint in one {@link ContentFormat}, generated in advance.
+ * <p />
+ * The byte arrays are shared between all requests, and must not be modified.
+ */
+public class ContentSnapshot {
+    
+    private final String version;
+    
+    private final ContentFormat contentFormat;
+    
+    private final byte[] body;
+    
+    private final byte[] bodyGzip;
+    
+    private final long timeCreated = System.currentTimeMillis();
+    
+    public ContentSnapshot(String version, ContentFormat contentFormat, byte[] body, byte[] bodyGzip) {
+        this.version = version;
+        this.contentFormat = contentFormat;
+        this.body = body;
+        this.bodyGzip = bodyGzip;
+    }
+    
+    /**
+     * The version of the content the snapshot was generated from. See {@link ai.elimu.dao.GenericDao#readContentVersion()}.
+     */
+    public String getVersion() {
+        return version;
+    }
+    
+    public ContentFormat getContentFormat() {
+        return contentFormat;
+    }
+    
+    /**
+     * E.g. UTF-8 encoded JSON
+     */
+    public byte[] getBody() {
+        return body;
+    }
+    
+    /**
+     * Like {@link #getBody()}, but compressed with gzip.
+     */
+    public byte[] getBodyGzip() {
+        return bodyGzip;
+    }
+    
+    /**
+     * Used as the Last-Modified time of the response. A new snapshot is only created when the version changes.
+     */
+    public long getTimeCreated() {
+        return timeCreated;
+    }
+}
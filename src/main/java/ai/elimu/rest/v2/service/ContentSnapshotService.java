@@ -0,0 +1,310 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.dao.AllophoneDao;
+import ai.elimu.dao.AudioDao;
+import ai.elimu.dao.EmojiDao;
+import ai.elimu.dao.ImageDao;
+import ai.elimu.dao.LetterDao;
+import ai.elimu.dao.LetterToAllophoneMappingDao;
+import ai.elimu.dao.NumberDao;
+import ai.elimu.dao.StoryBookDao;
+import ai.elimu.dao.VideoDao;
+import ai.elimu.dao.WordDao;
+import ai.elimu.rest.v2.CborResponseHelper;
+import ai.elimu.rest.v2.ContentFormat;
+import ai.elimu.rest.v2.JpaToGsonConverter;
+import ai.elimu.rest.v2.JsonResponseHelper;
+import ai.elimu.rest.v2.NormalizedGsonConverter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the response of each content endpoint in memory, both plain and gzipped, and for each {@link ContentFormat}, so that requests can be answered 
+ * without querying and serializing the content.
+ * <p />
+ * The version of the content is read with one aggregate query per content type (see 
+ * {@link ai.elimu.dao.GenericDao#readContentVersion()}), and the snapshot is only regenerated if the version changed. 
+ * Endpoints that embed other content types (e.g. Words embed their LetterToAllophoneMappings) include the versions 
+ * of those types as well. Each version is read at most once per {@link #VERSION_MAX_AGE_MILLIS}, instead of once 
+ * per request.
+ */
+@Service
+public class ContentSnapshotService {
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    /**
+     * For how long a version read from the database is re-used, i.e. for how long a change of the content can go 
+     * unnoticed.
+     */
+    private static final long VERSION_MAX_AGE_MILLIS = 1000;
+    
+    @Autowired
+    private AllophoneDao allophoneDao;
+    
+    @Autowired
+    private LetterDao letterDao;
+    
+    @Autowired
+    private LetterToAllophoneMappingDao letterToAllophoneMappingDao;
+    
+    @Autowired
+    private WordDao wordDao;
+    
+    @Autowired
+    private NumberDao numberDao;
+    
+    @Autowired
+    private EmojiDao emojiDao;
+    
+    @Autowired
+    private ImageDao imageDao;
+    
+    @Autowired
+    private AudioDao audioDao;
+    
+    @Autowired
+    private VideoDao videoDao;
+    
+    @Autowired
+    private StoryBookDao storyBookDao;
+    
+    @Autowired
+    private StoryBooksJsonService storyBooksJsonService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    /**
+     * Endpoint name --> snapshot
+     */
+    private final Map<String, ContentSnapshot> snapshots = new ConcurrentHashMap<>();
+    
+    /**
+     * Endpoint name --> lock, so that each snapshot is only generated by one thread at a time.
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    
+    /**
+     * Content type --> the version most recently read from the database
+     */
+    private final Map<String, CachedVersion> versions = new ConcurrentHashMap<>();
+    
+    public ContentSnapshot getAllophonesSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("allophones", allophoneDao::readContentVersion);
+        return getSnapshot("allophones", contentFormat, version, getCachedGsons("allophones", version, allophoneDao::readAllOrdered, JpaToGsonConverter::getAllophoneGson), Function.identity());
+    }
+    
+    public ContentSnapshot getLettersSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("letters", letterDao::readContentVersion);
+        return getSnapshot("letters", contentFormat, version, getCachedGsons("letters", version, letterDao::readAllOrdered, JpaToGsonConverter::getLetterGson), Function.identity());
+    }
+    
+    public ContentSnapshot getLetterToAllophoneMappingsSnapshot(ContentFormat contentFormat) {
+        String version = getLetterToAllophoneMappingsVersion();
+        return getSnapshot("letter-to-allophone-mappings", contentFormat, version, letterToAllophoneMappingDao::readAllOrderedByUsage, JpaToGsonConverter::getLetterToAllophoneMappingGson);
+    }
+    
+    public ContentSnapshot getWordsSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("words", wordDao::readContentVersion) + "/" + getLetterToAllophoneMappingsVersion();
+        return getSnapshot("words", contentFormat, version, getCachedGsons("words", version, wordDao::readAllOrdered, JpaToGsonConverter::getWordGson), Function.identity());
+    }
+    
+    public ContentSnapshot getNumbersSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("numbers", numberDao::readContentVersion);
+        return getSnapshot("numbers", contentFormat, version, numberDao::readAllOrdered, JpaToGsonConverter::getNumberGson);
+    }
+    
+    public ContentSnapshot getEmojisSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("emojis", emojiDao::readContentVersion);
+        return getSnapshot("emojis", contentFormat, version, getCachedGsons("emojis", version, emojiDao::readAllOrdered, JpaToGsonConverter::getEmojiGson), Function.identity());
+    }
+    
+    public ContentSnapshot getImagesSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("images", imageDao::readContentVersion);
+        return getSnapshot("images", contentFormat, version, imageDao::readAllOrdered, JpaToGsonConverter::getImageGson);
+    }
+    
+    public ContentSnapshot getAudiosSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("audios", audioDao::readContentVersion);
+        return getSnapshot("audios", contentFormat, version, audioDao::readAllOrderedByTitle, JpaToGsonConverter::getAudioGson);
+    }
+    
+    public ContentSnapshot getVideosSnapshot(ContentFormat contentFormat) {
+        String version = getVersion("videos", videoDao::readContentVersion);
+        return getSnapshot("videos", contentFormat, version, videoDao::readAllOrdered, JpaToGsonConverter::getVideoGson);
+    }
+    
+    /**
+     * See {@link NormalizedGsonConverter}. Only applicable to {@link ContentFormat#JSON}, as CBOR responses are always 
+     * written with references.
+     */
+    public ContentSnapshot getWordsNormalizedSnapshot() {
+        String version = getVersion("words", wordDao::readContentVersion) + "/" + getLetterToAllophoneMappingsVersion();
+        return getSnapshot("words-normalized", ContentFormat.JSON, version, outputStream -> {
+            NormalizedGsonConverter normalizedGsonConverter = new NormalizedGsonConverter();
+            Map<String, Supplier<List<?>>> sideTables = new LinkedHashMap<>();
+            sideTables.put("letterToAllophoneMappings", normalizedGsonConverter::getLetterToAllophoneMappingGsons);
+            sideTables.put("letters", normalizedGsonConverter::getLetterGsons);
+            sideTables.put("allophones", normalizedGsonConverter::getAllophoneGsons);
+            writeNormalizedJson(wordDao.readAllOrdered(), normalizedGsonConverter::getWordGson, sideTables, outputStream);
+        });
+    }
+    
+    /**
+     * See {@link #getWordsNormalizedSnapshot()}.
+     */
+    public ContentSnapshot getLetterToAllophoneMappingsNormalizedSnapshot() {
+        String version = getLetterToAllophoneMappingsVersion();
+        return getSnapshot("letter-to-allophone-mappings-normalized", ContentFormat.JSON, version, outputStream -> {
+            NormalizedGsonConverter normalizedGsonConverter = new NormalizedGsonConverter();
+            Map<String, Supplier<List<?>>> sideTables = new LinkedHashMap<>();
+            sideTables.put("letters", normalizedGsonConverter::getLetterGsons);
+            sideTables.put("allophones", normalizedGsonConverter::getAllophoneGsons);
+            writeNormalizedJson(letterToAllophoneMappingDao.readAllOrderedByUsage(), normalizedGsonConverter::getLetterToAllophoneMappingGson, sideTables, outputStream);
+        });
+    }
+    
+    /**
+     * Only used for {@link ContentFormat#CBOR}. The JSON is cached by {@link StoryBooksJsonService}.
+     */
+    public ContentSnapshot getStoryBooksSnapshot(ContentFormat contentFormat) {
+        String version = storyBooksJsonService.getStoryBooksVersion();
+        return getSnapshot("storybooks", contentFormat, version, storyBookDao::readAllOrdered, storyBooksJsonService::getStoryBookGson);
+    }
+    
+    /**
+     * LetterToAllophoneMappings embed their Letters and Allophones.
+     */
+    private String getLetterToAllophoneMappingsVersion() {
+        return getVersion("letter-to-allophone-mappings", letterToAllophoneMappingDao::readContentVersion) 
+                + "/" + getVersion("letters", letterDao::readContentVersion) 
+                + "/" + getVersion("allophones", allophoneDao::readContentVersion);
+    }
+    
+    private String getVersion(String contentType, Supplier<String> versionSupplier) {
+        long now = System.currentTimeMillis();
+        CachedVersion cachedVersion = versions.get(contentType);
+        if ((cachedVersion == null) || (now - cachedVersion.timeRead > VERSION_MAX_AGE_MILLIS)) {
+            cachedVersion = new CachedVersion(versionSupplier.get(), now);
+            versions.put(contentType, cachedVersion);
+        }
+        return cachedVersion.version;
+    }
+    
+    /**
+     * @return The Gson representation of the entities, which is shared by the snapshots of all {@link ContentFormat}s. 
+     * It is stored in the cache of the content type by version, so a cached list never belongs to another version of 
+     * the content. Unlike the entities, the Gson objects are not managed by JPA.
+     */
+    private <T> Supplier<List<Object>> getCachedGsons(String cacheName, String version, Supplier<List<T>> entitiesSupplier, Function<T, ?> converter) {
+        return () -> cacheManager.getCache(cacheName).get(version, () -> {
+            List<Object> gsons = new ArrayList<>();
+            for (T entity : entitiesSupplier.get()) {
+                gsons.add(converter.apply(entity));
+            }
+            return Collections.unmodifiableList(gsons);
+        });
+    }
+    
+    private <T> ContentSnapshot getSnapshot(String endpointName, ContentFormat contentFormat, String version, Supplier<List<T>> entitiesSupplier, Function<T, ?> converter) {
+        return getSnapshot(endpointName, contentFormat, version, outputStream -> {
+            if (contentFormat == ContentFormat.CBOR) {
+                CborResponseHelper.writeCborArray(entitiesSupplier.get(), converter, outputStream);
+            } else {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                JsonResponseHelper.writeJsonArray(entitiesSupplier.get(), converter, writer);
+                writer.close();
+            }
+        });
+    }
+    
+    private ContentSnapshot getSnapshot(String endpointName, ContentFormat contentFormat, String version, BodyWriter bodyWriter) {
+        String name = endpointName + "." + contentFormat.toString().toLowerCase();
+        ContentSnapshot snapshot = snapshots.get(name);
+        if ((snapshot != null) && snapshot.getVersion().equals(version)) {
+            return snapshot;
+        }
+        
+        synchronized (locks.computeIfAbsent(name, key -> new Object())) {
+            // Another thread might have generated the snapshot while this one was waiting
+            snapshot = snapshots.get(name);
+            if ((snapshot != null) && snapshot.getVersion().equals(version)) {
+                return snapshot;
+            }
+            
+            logger.info("Generating snapshot \"" + name + "\", version " + version);
+            Date dateStart = new Date();
+            
+            snapshot = createSnapshot(version, contentFormat, bodyWriter);
+            snapshots.put(name, snapshot);
+            
+            Date dateEnd = new Date();
+            logger.info("Snapshot \"" + name + "\" generated in " + (dateEnd.getTime() - dateStart.getTime()) + " ms (" + snapshot.getBody().length + " bytes, " + snapshot.getBodyGzip().length + " bytes gzipped)");
+            
+            return snapshot;
+        }
+    }
+    
+    private <T> void writeNormalizedJson(List<T> entities, Function<T, ?> converter, Map<String, Supplier<List<?>>> sideTables, OutputStream outputStream) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        JsonResponseHelper.writeNormalizedJson(entities, converter, sideTables, writer);
+        writer.close();
+    }
+    
+    private ContentSnapshot createSnapshot(String version, ContentFormat contentFormat, BodyWriter bodyWriter) {
+        try {
+            ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
+            bodyWriter.write(bodyOutputStream);
+            byte[] body = bodyOutputStream.toByteArray();
+            
+            ByteArrayOutputStream bodyGzipOutputStream = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(bodyGzipOutputStream)) {
+                gzipOutputStream.write(body);
+            }
+            byte[] bodyGzip = bodyGzipOutputStream.toByteArray();
+            
+            return new ContentSnapshot(version, contentFormat, body, bodyGzip);
+        } catch (IOException ex) {
+            // Not expected when writing to memory
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private static class CachedVersion {
+        
+        private final String version;
+        
+        private final long timeRead;
+        
+        CachedVersion(String version, long timeRead) {
+            this.version = version;
+            this.timeRead = timeRead;
+        }
+    }
+    
+    private interface BodyWriter {
+        
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
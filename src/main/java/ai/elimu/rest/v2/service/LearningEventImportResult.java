@@ -0,0 +1,84 @@
+package ai.elimu.rest.v2.service;
+
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The outcome of storing the learning events of one uploaded CSV file. See {@link LearningEventImportService}.
+ */
+public class LearningEventImportResult {
+    
+    private final int storedCount;
+    
+    private final int duplicateCount;
+    
+    private final String errorMessage;
+    
+    public LearningEventImportResult(int storedCount, int duplicateCount) {
+        this.storedCount = storedCount;
+        this.duplicateCount = duplicateCount;
+        this.errorMessage = null;
+    }
+    
+    /**
+     * Used when the file could not be stored, e.g. because it references an Application that has not been added yet.
+     */
+    public LearningEventImportResult(String errorMessage) {
+        this(0, 0, errorMessage);
+    }
+    
+    /**
+     * Used when a chunk of the file could not be stored. The events of the chunks before it have been stored, and are 
+     * skipped as duplicates if the file is uploaded again.
+     */
+    public LearningEventImportResult(int storedCount, int duplicateCount, String errorMessage) {
+        this.storedCount = storedCount;
+        this.duplicateCount = duplicateCount;
+        this.errorMessage = errorMessage;
+    }
+    
+    /**
+     * The number of events that were stored in the database.
+     */
+    public int getStoredCount() {
+        return storedCount;
+    }
+    
+    /**
+     * The number of events that had already been stored in the database, and were skipped.
+     */
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public HttpStatus getHttpStatus() {
+        if (errorMessage != null) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        } else if ((storedCount == 0) && (duplicateCount > 0)) {
+            return HttpStatus.CONFLICT;
+        } else {
+            return HttpStatus.OK;
+        }
+    }
+    
+    public JSONObject toJSONObject() {
+        JSONObject jsonObject = new JSONObject();
+        if (errorMessage != null) {
+            jsonObject.put("result", "error");
+            jsonObject.put("errorMessage", errorMessage);
+        } else if (getHttpStatus() == HttpStatus.CONFLICT) {
+            jsonObject.put("result", "error");
+            jsonObject.put("errorMessage", "The events have already been stored in the database");
+        } else {
+            jsonObject.put("result", "success");
+            jsonObject.put("successMessage", storedCount + " events were stored in the database");
+        }
+        jsonObject.put("storedCount", storedCount);
+        jsonObject.put("duplicateCount", duplicateCount);
+        return jsonObject;
+    }
+}
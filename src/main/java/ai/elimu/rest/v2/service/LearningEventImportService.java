@@ -0,0 +1,374 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.dao.ApplicationDao;
+import ai.elimu.dao.GenericDao;
+import ai.elimu.dao.LearningEventDao;
+import ai.elimu.dao.LetterAssessmentEventDao;
+import ai.elimu.dao.LetterDao;
+import ai.elimu.dao.LetterLearningEventDao;
+import ai.elimu.dao.StoryBookDao;
+import ai.elimu.dao.StoryBookLearningEventDao;
+import ai.elimu.dao.WordAssessmentEventDao;
+import ai.elimu.dao.WordDao;
+import ai.elimu.dao.WordLearningEventDao;
+import ai.elimu.model.BaseEntity;
+import ai.elimu.model.admin.Application;
+import ai.elimu.model.analytics.AssessmentEvent;
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LetterAssessmentEvent;
+import ai.elimu.model.analytics.LetterLearningEvent;
+import ai.elimu.model.analytics.StoryBookLearningEvent;
+import ai.elimu.model.analytics.WordAssessmentEvent;
+import ai.elimu.model.analytics.WordLearningEvent;
+import ai.elimu.model.content.Letter;
+import ai.elimu.model.content.StoryBook;
+import ai.elimu.model.content.Word;
+import ai.elimu.model.enums.analytics.LearningEventType;
+import ai.elimu.util.AnalyticsHelper;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores the learning events of a CSV file uploaded by a device.
+ * <p />
+ * The file is read in chunks of {@link #CHUNK_SIZE} rows, so that only one chunk at a time is held in memory. Instead 
+ * of a few queries per row, each chunk is stored with a fixed number of queries: one for looking up the Applications, 
+ * one for looking up the content (e.g. Words), one for finding the events that have already been stored, and one JDBC 
+ * batch insert of the new events.
+ */
+@Service
+public class LearningEventImportService {
+    
+    /**
+     * The maximum number of rows read from the file before they are stored.
+     */
+    static final int CHUNK_SIZE = 5_000;
+    
+    private Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private ApplicationDao applicationDao;
+    
+    @Autowired
+    private LetterAssessmentEventDao letterAssessmentEventDao;
+    
+    @Autowired
+    private LetterDao letterDao;
+    
+    @Autowired
+    private LetterLearningEventDao letterLearningEventDao;
+    
+    @Autowired
+    private StoryBookDao storyBookDao;
+    
+    @Autowired
+    private StoryBookLearningEventDao storyBookLearningEventDao;
+    
+    @Autowired
+    private WordAssessmentEventDao wordAssessmentEventDao;
+    
+    @Autowired
+    private WordDao wordDao;
+    
+    @Autowired
+    private WordLearningEventDao wordLearningEventDao;
+    
+    public LearningEventImportResult importLetterAssessmentEvents(Reader reader) throws IOException {
+        logger.info("importLetterAssessmentEvents");
+        
+        return importEvents(reader, csvRecords -> {
+            Map<String, Application> applicationsByPackageName = readApplications(csvRecords);
+            Map<Long, Letter> lettersById = readContent(csvRecords, "letter_id", letterDao);
+            
+            List<LetterAssessmentEvent> letterAssessmentEvents = new ArrayList<>();
+            for (CSVRecord csvRecord : csvRecords) {
+                LetterAssessmentEvent letterAssessmentEvent = new LetterAssessmentEvent();
+                setAssessmentEvent(letterAssessmentEvent, csvRecord, applicationsByPackageName);
+                letterAssessmentEvent.setLetter(getContent(lettersById, csvRecord, "letter_id", "Letter"));
+                letterAssessmentEvents.add(letterAssessmentEvent);
+            }
+            
+            return letterAssessmentEvents;
+        }, letterAssessmentEvent -> letterAssessmentEvent.getLetter().getId(), letterAssessmentEventDao, "letter_id", "letter_text", "mastery_score", "time_spent_ms");
+    }
+    
+    public LearningEventImportResult importLetterLearningEvents(Reader reader) throws IOException {
+        logger.info("importLetterLearningEvents");
+        
+        return importEvents(reader, csvRecords -> {
+            Map<String, Application> applicationsByPackageName = readApplications(csvRecords);
+            Map<Long, Letter> lettersById = readContent(csvRecords, "letter_id", letterDao);
+            
+            List<LetterLearningEvent> letterLearningEvents = new ArrayList<>();
+            for (CSVRecord csvRecord : csvRecords) {
+                LetterLearningEvent letterLearningEvent = new LetterLearningEvent();
+                setLearningEvent(letterLearningEvent, csvRecord, applicationsByPackageName);
+                letterLearningEvent.setLetter(getContent(lettersById, csvRecord, "letter_id", "Letter"));
+                letterLearningEvent.setLetterText(csvRecord.get("letter_text"));
+                letterLearningEvent.setLearningEventType(LearningEventType.valueOf(csvRecord.get("learning_event_type")));
+                letterLearningEvents.add(letterLearningEvent);
+            }
+            
+            return letterLearningEvents;
+        }, letterLearningEvent -> letterLearningEvent.getLetter().getId(), letterLearningEventDao, "letter_id", "letter_text", "learning_event_type");
+    }
+    
+    public LearningEventImportResult importStoryBookLearningEvents(Reader reader) throws IOException {
+        logger.info("importStoryBookLearningEvents");
+        
+        return importEvents(reader, csvRecords -> {
+            Map<String, Application> applicationsByPackageName = readApplications(csvRecords);
+            Map<Long, StoryBook> storyBooksById = readContent(csvRecords, "storybook_id", storyBookDao);
+            
+            List<StoryBookLearningEvent> storyBookLearningEvents = new ArrayList<>();
+            for (CSVRecord csvRecord : csvRecords) {
+                StoryBookLearningEvent storyBookLearningEvent = new StoryBookLearningEvent();
+                setLearningEvent(storyBookLearningEvent, csvRecord, applicationsByPackageName);
+                storyBookLearningEvent.setStoryBook(getContent(storyBooksById, csvRecord, "storybook_id", "StoryBook"));
+                storyBookLearningEvent.setLearningEventType(LearningEventType.valueOf(csvRecord.get("learning_event_type")));
+                storyBookLearningEvents.add(storyBookLearningEvent);
+            }
+            
+            return storyBookLearningEvents;
+        }, storyBookLearningEvent -> storyBookLearningEvent.getStoryBook().getId(), storyBookLearningEventDao, "storybook_id", "learning_event_type");
+    }
+    
+    public LearningEventImportResult importWordAssessmentEvents(Reader reader) throws IOException {
+        logger.info("importWordAssessmentEvents");
+        
+        return importEvents(reader, csvRecords -> {
+            Map<String, Application> applicationsByPackageName = readApplications(csvRecords);
+            Map<Long, Word> wordsById = readContent(csvRecords, "word_id", wordDao);
+            
+            List<WordAssessmentEvent> wordAssessmentEvents = new ArrayList<>();
+            for (CSVRecord csvRecord : csvRecords) {
+                WordAssessmentEvent wordAssessmentEvent = new WordAssessmentEvent();
+                setAssessmentEvent(wordAssessmentEvent, csvRecord, applicationsByPackageName);
+                wordAssessmentEvent.setWord(getContent(wordsById, csvRecord, "word_id", "Word"));
+                wordAssessmentEvents.add(wordAssessmentEvent);
+            }
+            
+            return wordAssessmentEvents;
+        }, wordAssessmentEvent -> wordAssessmentEvent.getWord().getId(), wordAssessmentEventDao, "word_id", "word_text", "mastery_score", "time_spent_ms");
+    }
+    
+    public LearningEventImportResult importWordLearningEvents(Reader reader) throws IOException {
+        logger.info("importWordLearningEvents");
+        
+        return importEvents(reader, csvRecords -> {
+            Map<String, Application> applicationsByPackageName = readApplications(csvRecords);
+            Map<Long, Word> wordsById = readContent(csvRecords, "word_id", wordDao);
+            
+            List<WordLearningEvent> wordLearningEvents = new ArrayList<>();
+            for (CSVRecord csvRecord : csvRecords) {
+                WordLearningEvent wordLearningEvent = new WordLearningEvent();
+                setLearningEvent(wordLearningEvent, csvRecord, applicationsByPackageName);
+                wordLearningEvent.setWord(getContent(wordsById, csvRecord, "word_id", "Word"));
+                wordLearningEvent.setWordText(csvRecord.get("word_text"));
+                wordLearningEvent.setLearningEventType(LearningEventType.valueOf(csvRecord.get("learning_event_type")));
+                wordLearningEvents.add(wordLearningEvent);
+            }
+            
+            return wordLearningEvents;
+        }, wordLearningEvent -> wordLearningEvent.getWord().getId(), wordLearningEventDao, "word_id", "word_text", "learning_event_type");
+    }
+    
+    /**
+     * Reads the file in chunks of {@link #CHUNK_SIZE} rows, and stores each chunk before reading the next one. 
+     * Events that are repeated in a later chunk are skipped, since the earlier chunk has already been stored.
+     * 
+     * @param eventsReader Looks up the Applications and content of a chunk, and returns its events. Throws 
+     * IllegalArgumentException if a row is not valid.
+     * @param contentIdGetter Returns the ID of the content that an event is about.
+     * @param eventColumns The columns after "package_name", e.g. "word_id", "word_text", "learning_event_type".
+     */
+    private <T extends LearningEvent> LearningEventImportResult importEvents(Reader reader, Function<List<CSVRecord>, List<T>> eventsReader, Function<T, Long> contentIdGetter, LearningEventDao<T> learningEventDao, String... eventColumns) throws IOException {
+        List<String> columns = new ArrayList<>();
+        columns.add("id"); // The Room database ID
+        columns.add("time");
+        columns.add("android_id");
+        columns.add("package_name");
+        for (String eventColumn : eventColumns) {
+            columns.add(eventColumn);
+        }
+        CSVFormat csvFormat = CSVFormat.DEFAULT
+                .withHeader(columns.toArray(new String[0]))
+                .withSkipHeaderRecord();
+        CSVParser csvParser = new CSVParser(reader, csvFormat);
+        Iterator<CSVRecord> csvRecordIterator = csvParser.iterator();
+        
+        int storedCount = 0;
+        int duplicateCount = 0;
+        while (csvRecordIterator.hasNext()) {
+            List<CSVRecord> csvRecords = new ArrayList<>();
+            while (csvRecordIterator.hasNext() && (csvRecords.size() < CHUNK_SIZE)) {
+                csvRecords.add(csvRecordIterator.next());
+            }
+            logger.info("csvRecords.size(): " + csvRecords.size());
+            
+            try {
+                List<T> learningEvents = eventsReader.apply(csvRecords);
+                LearningEventImportResult chunkResult = store(learningEvents, contentIdGetter, learningEventDao);
+                storedCount += chunkResult.getStoredCount();
+                duplicateCount += chunkResult.getDuplicateCount();
+            } catch (IllegalArgumentException ex) {
+                logger.warn(ex.getMessage());
+                return new LearningEventImportResult(storedCount, duplicateCount, ex.getMessage());
+            }
+        }
+        return new LearningEventImportResult(storedCount, duplicateCount);
+    }
+    
+    /**
+     * @return Package name --> Application, for all package names in the chunk.
+     */
+    private Map<String, Application> readApplications(List<CSVRecord> csvRecords) {
+        Set<String> packageNames = new HashSet<>();
+        for (CSVRecord csvRecord : csvRecords) {
+            packageNames.add(csvRecord.get("package_name"));
+        }
+        Map<String, Application> applicationsByPackageName = new HashMap<>();
+        for (Application application : applicationDao.readAllByPackageNames(packageNames)) {
+            applicationsByPackageName.put(application.getPackageName(), application);
+        }
+        logger.info("packageNames.size(): " + packageNames.size() + ", applicationsByPackageName.size(): " + applicationsByPackageName.size());
+        return applicationsByPackageName;
+    }
+    
+    /**
+     * @return Content ID --> content, for all content IDs in the chunk.
+     */
+    private <T extends BaseEntity> Map<Long, T> readContent(List<CSVRecord> csvRecords, String idColumn, GenericDao<T> contentDao) {
+        Set<Long> ids = new HashSet<>();
+        for (CSVRecord csvRecord : csvRecords) {
+            ids.add(Long.valueOf(csvRecord.get(idColumn)));
+        }
+        Map<Long, T> contentById = new HashMap<>();
+        for (T content : contentDao.readAll(ids)) {
+            contentById.put(content.getId(), content);
+        }
+        logger.info("ids.size(): " + ids.size() + ", contentById.size(): " + contentById.size());
+        return contentById;
+    }
+    
+    private void setLearningEvent(LearningEvent learningEvent, CSVRecord csvRecord, Map<String, Application> applicationsByPackageName) {
+        long timeInMillis = Long.valueOf(csvRecord.get("time"));
+        Calendar time = Calendar.getInstance();
+        time.setTimeInMillis(timeInMillis);
+        learningEvent.setTime(time);
+        
+        learningEvent.setAndroidId(csvRecord.get("android_id"));
+        
+        String packageName = csvRecord.get("package_name");
+        Application application = applicationsByPackageName.get(packageName);
+        if (application == null) {
+            // The reporting Application has not yet been added
+            throw new IllegalArgumentException("An Application with package name " + packageName + " was not found");
+        }
+        learningEvent.setApplication(application);
+    }
+    
+    private void setAssessmentEvent(AssessmentEvent assessmentEvent, CSVRecord csvRecord, Map<String, Application> applicationsByPackageName) {
+        setLearningEvent(assessmentEvent, csvRecord, applicationsByPackageName);
+        
+        // Throws NumberFormatException (an IllegalArgumentException) if a value is missing
+        assessmentEvent.setMasteryScore(Float.valueOf(csvRecord.get("mastery_score")));
+        assessmentEvent.setTimeSpentMs(Long.valueOf(csvRecord.get("time_spent_ms")));
+    }
+    
+    private <T> T getContent(Map<Long, T> contentById, CSVRecord csvRecord, String idColumn, String contentType) {
+        Long id = Long.valueOf(csvRecord.get(idColumn));
+        T content = contentById.get(id);
+        if (content == null) {
+            throw new IllegalArgumentException("A " + contentType + " with ID " + id + " was not found");
+        }
+        return content;
+    }
+    
+    /**
+     * Stores the events of one chunk that have not already been stored (also skipping events that occur more than 
+     * once in the chunk).
+     * 
+     * @param contentIdGetter Returns the ID of the content that an event is about.
+     */
+    private <T extends LearningEvent> LearningEventImportResult store(List<T> learningEvents, Function<T, Long> contentIdGetter, LearningEventDao<T> learningEventDao) {
+        if (learningEvents.isEmpty()) {
+            return new LearningEventImportResult(0, 0);
+        }
+        
+        Set<String> androidIds = new HashSet<>();
+        Calendar timeFrom = null;
+        Calendar timeTo = null;
+        for (T learningEvent : learningEvents) {
+            androidIds.add(learningEvent.getAndroidId());
+            if ((timeFrom == null) || learningEvent.getTime().before(timeFrom)) {
+                timeFrom = learningEvent.getTime();
+            }
+            if ((timeTo == null) || learningEvent.getTime().after(timeTo)) {
+                timeTo = learningEvent.getTime();
+            }
+        }
+        Set<String> keys = learningEventDao.readAllKeys(androidIds, timeFrom, timeTo);
+        logger.info("keys.size(): " + keys.size());
+        
+        List<T> newLearningEvents = new ArrayList<>();
+        for (T learningEvent : learningEvents) {
+            String key = AnalyticsHelper.getLearningEventKey(learningEvent.getTime(), learningEvent.getAndroidId(), learningEvent.getApplication().getId(), contentIdGetter.apply(learningEvent));
+            if (keys.add(key)) {
+                newLearningEvents.add(learningEvent);
+            }
+        }
+        int storedCount = 0;
+        if (!newLearningEvents.isEmpty()) {
+            try {
+                learningEventDao.createAll(newLearningEvents);
+                storedCount = newLearningEvents.size();
+            } catch (DataIntegrityViolationException ex) {
+                // Some of the events are already stored, but were not found by their keys (e.g. because they were 
+                // stored by a concurrent upload after the keys were read). The batch was rolled back.
+                logger.warn("The batch insert violated a unique key, storing the events one by one: " + ex.getMessage());
+                storedCount = storeOneByOne(newLearningEvents, learningEventDao);
+            }
+        }
+        
+        int duplicateCount = learningEvents.size() - storedCount;
+        logger.info("Stored " + storedCount + " events (" + duplicateCount + " already stored)");
+        return new LearningEventImportResult(storedCount, duplicateCount);
+    }
+    
+    /**
+     * Stores each event in its own transaction, skipping the events that violate a unique key.
+     * 
+     * @return The number of events stored.
+     */
+    private <T extends LearningEvent> int storeOneByOne(List<T> learningEvents, LearningEventDao<T> learningEventDao) {
+        int storedCount = 0;
+        for (T learningEvent : learningEvents) {
+            try {
+                learningEventDao.createAll(Collections.singletonList(learningEvent));
+                storedCount++;
+            } catch (DataIntegrityViolationException ex) {
+                logger.info("Skipping event that is already stored: " + learningEvent.getAndroidId() + ", " + learningEvent.getTime().getTimeInMillis());
+            }
+        }
+        return storedCount;
+    }
+}
@@ -14,20 +14,24 @@ import com.google.gson.Gson;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
 /**
  * Used as layer between Controllers and DAOs in order to enable usage of caching.
  * <p />
- * Spring caching feature works over AOP proxies, thus internal calls to cached methods don't work. That's why this 
- * intermediate service is used. See https://stackoverflow.com/a/48168762
+ * The JSON is cached per storybook, so that editing one storybook only requires that storybook to be converted 
+ * again.
  */
 @Service
 public class StoryBooksJsonService {
@@ -43,7 +47,35 @@ public class StoryBooksJsonService {
     @Autowired
     private StoryBookParagraphDao storyBookParagraphDao;
     
-    @Cacheable("storyBooks")
+    @Autowired
+    private CacheManager cacheManager;
+    
+    /**
+     * Rebuilds the JSON of storybooks that were edited, while the previous version keeps being served.
+     */
+    @Autowired
+    @Qualifier("storyBooksJsonExecutor")
+    private TaskExecutor storyBooksJsonExecutor;
+    
+    /**
+     * The IDs of storybooks whose rebuild has been queued, but not started yet. Used for not queueing the same 
+     * storybook more than once.
+     */
+    private final Set<Long> storyBookIdsToRefresh = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * The time when the cached JSON was last changed. Every change of a storybook, chapter or paragraph is followed by 
+     * a call to {@link #refreshStoryBookJSONObject(StoryBook)}, so this is used to detect changes to any of them.
+     */
+    private volatile long timeLastRefresh = System.currentTimeMillis();
+    
+    /**
+     * Assembles the JSON of all storybooks from the "storyBooks" cache, which contains one entry per storybook (by 
+     * StoryBook ID). Only storybooks that are not in the cache yet are converted.
+     * <p />
+     * If several requests miss the same storybook at the same time, only one of them converts it, and the others wait 
+     * for the result.
+     */
     public JSONArray getStoryBooksJSONArray() {
         logger.info("getStoryBooksJSONArray");
         
@@ -51,27 +83,9 @@ public class StoryBooksJsonService {
         
         JSONArray storyBooksJsonArray = new JSONArray();
         for (StoryBook storyBook : storyBookDao.readAllOrdered()) {
-            StoryBookGson storyBookGson = JpaToGsonConverter.getStoryBookGson(storyBook);
-            
-            // Add chapters
-            List<StoryBookChapterGson> storyBookChapterGsons = new ArrayList<>();
-            for (StoryBookChapter storyBookChapter : storyBookChapterDao.readAll(storyBook)) {
-                StoryBookChapterGson storyBookChapterGson = JpaToGsonConverter.getStoryBookChapterGson(storyBookChapter);
-                
-                // Add paragraphs
-                List<StoryBookParagraphGson> storyBookParagraphGsons = new ArrayList<>();
-                for (StoryBookParagraph storyBookParagraph : storyBookParagraphDao.readAll(storyBookChapter)) {
-                    StoryBookParagraphGson storyBookParagraphGson = JpaToGsonConverter.getStoryBookParagraphGson(storyBookParagraph);
-                    storyBookParagraphGsons.add(storyBookParagraphGson);
-                }
-                storyBookChapterGson.setStoryBookParagraphs(storyBookParagraphGsons);
-                
-                storyBookChapterGsons.add(storyBookChapterGson);
-            }
-            storyBookGson.setStoryBookChapters(storyBookChapterGsons);
-            
-            String json = new Gson().toJson(storyBookGson);
-            storyBooksJsonArray.put(new JSONObject(json));
+            // Cache#get(Object, Callable) only calls the value loader once per key, also for concurrent calls
+            JSONObject storyBookJsonObject = getStoryBooksCache().get(storyBook.getId(), () -> getStoryBookJSONObject(storyBook));
+            storyBooksJsonArray.put(storyBookJsonObject);
         }
         
         Date dateEnd = new Date();
@@ -80,8 +94,100 @@ public class StoryBooksJsonService {
         return storyBooksJsonArray;
     }
     
-    @CacheEvict("storyBooks")
+    private JSONObject getStoryBookJSONObject(StoryBook storyBook) {
+        logger.info("Converting StoryBook " + storyBook.getId());
+        StoryBookGson storyBookGson = getStoryBookGson(storyBook);
+        String json = new Gson().toJson(storyBookGson);
+        return new JSONObject(json);
+    }
+    
+    /**
+     * Converts the storybook to its Gson representation, including its chapters and paragraphs.
+     */
+    public StoryBookGson getStoryBookGson(StoryBook storyBook) {
+        StoryBookGson storyBookGson = JpaToGsonConverter.getStoryBookGson(storyBook);
+        
+        // Add chapters
+        List<StoryBookChapterGson> storyBookChapterGsons = new ArrayList<>();
+        for (StoryBookChapter storyBookChapter : storyBookChapterDao.readAll(storyBook)) {
+            StoryBookChapterGson storyBookChapterGson = JpaToGsonConverter.getStoryBookChapterGson(storyBookChapter);
+            
+            // Add paragraphs
+            List<StoryBookParagraphGson> storyBookParagraphGsons = new ArrayList<>();
+            for (StoryBookParagraph storyBookParagraph : storyBookParagraphDao.readAll(storyBookChapter)) {
+                StoryBookParagraphGson storyBookParagraphGson = JpaToGsonConverter.getStoryBookParagraphGson(storyBookParagraph);
+                storyBookParagraphGsons.add(storyBookParagraphGson);
+            }
+            storyBookChapterGson.setStoryBookParagraphs(storyBookParagraphGsons);
+            
+            storyBookChapterGsons.add(storyBookChapterGson);
+        }
+        storyBookGson.setStoryBookChapters(storyBookChapterGsons);
+        
+        return storyBookGson;
+    }
+    
+    /**
+     * Rebuilds the cached JSON of one storybook in the background, e.g. after one of its chapters or paragraphs has 
+     * been edited. Until then, the previous JSON of the storybook is served.
+     * <p />
+     * Rebuilds run one at a time, and a storybook that is already waiting to be rebuilt is not queued again.
+     */
+    public void refreshStoryBookJSONObject(StoryBook storyBook) {
+        logger.info("refreshStoryBookJSONObject");
+        
+        Long storyBookId = storyBook.getId();
+        if (!storyBookIdsToRefresh.add(storyBookId)) {
+            logger.info("StoryBook " + storyBookId + " is already queued");
+            return;
+        }
+        storyBooksJsonExecutor.execute(() -> {
+            // Remove the ID before reading the storybook, so that changes made during the rebuild queue it again
+            storyBookIdsToRefresh.remove(storyBookId);
+            
+            logger.info("Rebuilding the JSON of StoryBook " + storyBookId);
+            try {
+                StoryBook storyBookToRefresh = storyBookDao.read(storyBookId);
+                if (storyBookToRefresh == null) {
+                    getStoryBooksCache().evict(storyBookId);
+                } else {
+                    getStoryBooksCache().put(storyBookId, getStoryBookJSONObject(storyBookToRefresh));
+                }
+            } catch (RuntimeException e) {
+                logger.error("The JSON of StoryBook " + storyBookId + " could not be rebuilt", e);
+                
+                // Stop serving the previous JSON. It is converted again by the next call to getStoryBooksJSONArray().
+                getStoryBooksCache().evict(storyBookId);
+            }
+            timeLastRefresh = System.currentTimeMillis();
+        });
+    }
+    
+    /**
+     * Rebuilds the cached JSON of all storybooks in the background. See 
+     * {@link #refreshStoryBookJSONObject(StoryBook)}.
+     */
     public void refreshStoryBooksJSONArray() {
         logger.info("refreshStoryBooksJSONArray");
+        
+        for (StoryBook storyBook : storyBookDao.readAllOrdered()) {
+            refreshStoryBookJSONObject(storyBook);
+        }
+    }
+    
+    /**
+     * @return A value that changes whenever the content of {@link #getStoryBooksJSONArray()} might have changed. Only 
+     * derived from the state of the cache, so that no query is needed.
+     */
+    public String getStoryBooksVersion() {
+        return String.valueOf(timeLastRefresh);
+    }
+    
+    public long getTimeLastRefresh() {
+        return timeLastRefresh;
+    }
+    
+    private Cache getStoryBooksCache() {
+        return cacheManager.getCache("storyBooks");
     }
 }
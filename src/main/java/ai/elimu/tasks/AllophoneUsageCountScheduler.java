@@ -11,7 +11,6 @@ import ai.elimu.model.content.LetterToAllophoneMapping;
 import ai.elimu.model.content.Word;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
@@ -32,7 +31,6 @@ public class AllophoneUsageCountScheduler {
     @Autowired
     private WordDao wordDao;
     
-    @Scheduled(cron="00 30 06 * * *") // At 06:30 every day
     public synchronized void execute() {
         logger.info("execute");
         
@@ -59,11 +57,7 @@ public class AllophoneUsageCountScheduler {
         }
 
         // Update each Allophone's usage count in the database
-        for (Long allophoneId : allophoneFrequencyMap.keySet()) {
-            Allophone allophone = allophoneDao.read(allophoneId);
-            allophone.setUsageCount(allophoneFrequencyMap.get(allophoneId));
-            allophoneDao.update(allophone);
-        }
+        allophoneDao.updateUsageCounts(allophoneFrequencyMap);
         
         logger.info("execute complete");
     }
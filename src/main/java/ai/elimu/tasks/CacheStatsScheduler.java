@@ -0,0 +1,47 @@
+package ai.elimu.tasks;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Logs the hit rate, evictions and size of each cache, so that the size limits in the config files can be adjusted.
+ */
+@Service
+public class CacheStatsScheduler {
+    
+    private Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Scheduled(cron="00 30 * * * *") // 30 minutes past every hour
+    public synchronized void execute() {
+        logger.info("execute");
+        
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (!(cache instanceof CaffeineCache)) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+            CacheStats cacheStats = nativeCache.stats();
+            long weightedSize = nativeCache.policy().eviction().get().weightedSize().orElse(0);
+            logger.info("Cache \"" + cacheName + "\": " + 
+                    "hitRate: " + String.format("%.3f", cacheStats.hitRate()) + ", " + 
+                    "hitCount: " + cacheStats.hitCount() + ", " + 
+                    "missCount: " + cacheStats.missCount() + ", " + 
+                    "evictionCount: " + cacheStats.evictionCount() + ", " + 
+                    "estimatedSize: " + nativeCache.estimatedSize() + ", " + 
+                    "weightedSize: " + weightedSize + " bytes");
+        }
+        
+        logger.info("execute complete");
+    }
+}
@@ -0,0 +1,100 @@
+package ai.elimu.tasks;
+
+import ai.elimu.dao.LearningEventDao;
+import ai.elimu.dao.LearningEventRollupDao;
+import ai.elimu.dao.LetterAssessmentEventDao;
+import ai.elimu.dao.LetterLearningEventDao;
+import ai.elimu.dao.StoryBookLearningEventDao;
+import ai.elimu.dao.WordAssessmentEventDao;
+import ai.elimu.dao.WordLearningEventDao;
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LearningEventRollup;
+import ai.elimu.model.analytics.LetterAssessmentEvent;
+import ai.elimu.model.analytics.LetterLearningEvent;
+import ai.elimu.model.analytics.StoryBookLearningEvent;
+import ai.elimu.model.analytics.WordAssessmentEvent;
+import ai.elimu.model.analytics.WordLearningEvent;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Adds the {@link LearningEvent}s stored since the previous run to the {@link LearningEventRollup}s.
+ * <p />
+ * Events are counted in the order of their IDs. As the events of different uploads are stored in parallel, an event 
+ * can become visible after an event with a higher ID. Therefore, only the events which already existed during the 
+ * previous run are counted.
+ */
+@Service
+public class LearningEventRollupScheduler {
+    
+    /**
+     * The maximum number of event IDs counted per transaction.
+     */
+    private static final long CHUNK_SIZE = 100_000;
+    
+    private Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private LearningEventRollupDao learningEventRollupDao;
+    
+    @Autowired
+    private LetterAssessmentEventDao letterAssessmentEventDao;
+    
+    @Autowired
+    private LetterLearningEventDao letterLearningEventDao;
+    
+    @Autowired
+    private StoryBookLearningEventDao storyBookLearningEventDao;
+    
+    @Autowired
+    private WordAssessmentEventDao wordAssessmentEventDao;
+    
+    @Autowired
+    private WordLearningEventDao wordLearningEventDao;
+    
+    /**
+     * The highest event ID of each event type during the previous run.
+     */
+    private final Map<Class<? extends LearningEvent>, Long> previousMaxEventIds = new HashMap<>();
+    
+    /**
+     * Synchronized, so that runs never overlap. Overlapping runs would read the same watermark, and count the same 
+     * events twice.
+     */
+    @Scheduled(cron="00 */10 * * * *") // Every 10 minutes
+    public synchronized void execute() {
+        logger.info("execute");
+        
+        rollUp(LetterAssessmentEvent.class, letterAssessmentEventDao);
+        rollUp(LetterLearningEvent.class, letterLearningEventDao);
+        rollUp(StoryBookLearningEvent.class, storyBookLearningEventDao);
+        rollUp(WordAssessmentEvent.class, wordAssessmentEventDao);
+        rollUp(WordLearningEvent.class, wordLearningEventDao);
+        
+        logger.info("execute complete");
+    }
+    
+    private void rollUp(Class<? extends LearningEvent> eventType, LearningEventDao<?> learningEventDao) {
+        Long maxEventId = previousMaxEventIds.get(eventType);
+        previousMaxEventIds.put(eventType, learningEventDao.readMaxId());
+        if (maxEventId == null) {
+            // First run after startup
+            return;
+        }
+        
+        long lastEventId = learningEventRollupDao.readLastEventId(eventType);
+        while (lastEventId < maxEventId) {
+            long chunkMaxEventId = Math.min(lastEventId + CHUNK_SIZE, maxEventId);
+            List<LearningEventRollup> learningEventRollups = learningEventDao.readRollups(lastEventId, chunkMaxEventId);
+            learningEventRollupDao.addAll(learningEventRollups);
+            logger.info(eventType.getSimpleName() + ": counted the events up to ID " + chunkMaxEventId + " (" + learningEventRollups.size() + " rollups)");
+            lastEventId = chunkMaxEventId;
+        }
+    }
+}
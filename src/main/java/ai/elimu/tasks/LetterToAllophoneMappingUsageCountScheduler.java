@@ -6,14 +6,10 @@ import java.util.Map;
 import org.apache.logging.log4j.Logger;
 import ai.elimu.dao.LetterToAllophoneMappingDao;
 import ai.elimu.dao.WordDao;
-import ai.elimu.model.content.Allophone;
-import ai.elimu.model.content.Letter;
 import ai.elimu.model.content.LetterToAllophoneMapping;
 import ai.elimu.model.content.Word;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -27,7 +23,6 @@ public class LetterToAllophoneMappingUsageCountScheduler {
     @Autowired
     private LetterToAllophoneMappingDao letterToAllophoneMappingDao;
     
-    @Scheduled(cron="00 15 06 * * *") // At 06:15 every day
     public synchronized void execute() {
         logger.info("execute");
         
@@ -39,8 +34,6 @@ public class LetterToAllophoneMappingUsageCountScheduler {
         List<Word> words = wordDao.readAll();
         logger.info("words.size(): " + words.size());
         for (Word word : words) {
-            logger.info("word.getText(): " + word.getText());
-            
             for (LetterToAllophoneMapping letterToAllophoneMapping : word.getLetterToAllophoneMappings()) {
                 if (!letterToAllophoneMappingFrequencyMap.containsKey(letterToAllophoneMapping.getId())) {
                     letterToAllophoneMappingFrequencyMap.put(letterToAllophoneMapping.getId(), word.getUsageCount());
@@ -51,22 +44,16 @@ public class LetterToAllophoneMappingUsageCountScheduler {
         }
 
         // Update the values previously stored in the database
+        Map<Long, Integer> usageCountsById = new HashMap<>();
         for (LetterToAllophoneMapping letterToAllophoneMapping : letterToAllophoneMappingDao.readAll()) {
-            logger.info("letterToAllophoneMapping.getId(): " + letterToAllophoneMapping.getId());
-            logger.info("letterToAllophoneMapping Letters: \"" + letterToAllophoneMapping.getLetters().stream().map(Letter::getText).collect(Collectors.joining()) + "\"");
-            logger.info("letterToAllophoneMapping Allophones: /" + letterToAllophoneMapping.getAllophones().stream().map(Allophone::getValueIpa).collect(Collectors.joining()) + "/");
-            logger.info("letterToAllophoneMapping.getUsageCount() (before update): " + letterToAllophoneMapping.getUsageCount());
-            
             int newUsageCount = 0;
             if (letterToAllophoneMappingFrequencyMap.containsKey(letterToAllophoneMapping.getId())) {
                 newUsageCount = letterToAllophoneMappingFrequencyMap.get(letterToAllophoneMapping.getId());
             }
-            logger.info("newUsageCount: " + newUsageCount);
-            
-            letterToAllophoneMapping.setUsageCount(newUsageCount);
-            letterToAllophoneMappingDao.update(letterToAllophoneMapping);
-            logger.info("letterToAllophoneMapping.getUsageCount() (after update): " + letterToAllophoneMapping.getUsageCount());
+            usageCountsById.put(letterToAllophoneMapping.getId(), newUsageCount);
         }
+        int updateCount = letterToAllophoneMappingDao.updateUsageCounts(usageCountsById);
+        logger.info("Updated the usage count of " + updateCount + " LetterToAllophoneMappings");
         
         logger.info("execute complete");
     }
@@ -1,24 +1,12 @@
 package ai.elimu.tasks;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.Logger;
 import ai.elimu.dao.LetterDao;
-import ai.elimu.dao.StoryBookChapterDao;
-import ai.elimu.dao.StoryBookDao;
-import ai.elimu.dao.StoryBookParagraphDao;
-import ai.elimu.model.content.Letter;
-import ai.elimu.model.content.StoryBook;
-import ai.elimu.model.content.StoryBookChapter;
-import ai.elimu.model.content.StoryBookParagraph;
-import ai.elimu.model.enums.Language;
-import ai.elimu.util.ConfigHelper;
-import ai.elimu.util.LetterFrequencyHelper;
-import java.util.ArrayList;
+import ai.elimu.tasks.service.CorpusAnalysisService;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
@@ -34,60 +22,27 @@ public class LetterUsageCountScheduler {
     private LetterDao letterDao;
     
     @Autowired
-    private StoryBookDao storyBookDao;
+    private CorpusAnalysisService corpusAnalysisService;
     
-    @Autowired
-    private StoryBookChapterDao storyBookChapterDao;
-    
-    @Autowired
-    private StoryBookParagraphDao storyBookParagraphDao;
-    
-    @Scheduled(cron="00 15 06 * * *") // At 06:15 every day
     public synchronized void execute() {
         logger.info("execute");
         
         logger.info("Calculating usage count for Letters");
 
-        Map<String, Integer> letterFrequencyMap = new HashMap<>();
-        
-        Language language = Language.valueOf(ConfigHelper.getProperty("content.language"));
-
-        List<StoryBook> storyBooks = storyBookDao.readAllOrdered();
-        logger.info("storyBooks.size(): " + storyBooks.size());
-        for (StoryBook storyBook : storyBooks) {
-            logger.info("storyBook.getTitle(): " + storyBook.getTitle());
-
-            List<String> paragraphs = new ArrayList<>();
-            List<StoryBookChapter> storyBookChapters = storyBookChapterDao.readAll(storyBook);
-            for (StoryBookChapter storyBookChapter : storyBookChapters) {
-                List<StoryBookParagraph> storyBookParagraphs = storyBookParagraphDao.readAll(storyBookChapter);
-                for (StoryBookParagraph storyBookParagraph : storyBookParagraphs) {
-                    paragraphs.add(storyBookParagraph.getOriginalText());
-                }
-            }
-
-            Map<String, Integer> letterFrequencyMapForBook = LetterFrequencyHelper.getLetterFrequency(paragraphs, language);
-            for (String key : letterFrequencyMapForBook.keySet()) {
-                String letterText = key;
-                int letterFrequency = letterFrequencyMapForBook.get(key);
-                if (!letterFrequencyMap.containsKey(letterText)) {
-                    letterFrequencyMap.put(letterText, letterFrequency);
-                } else {
-                    letterFrequencyMap.put(letterText, letterFrequencyMap.get(letterText) + letterFrequency);
-                }
-            }
-        }
+        Map<String, Integer> letterFrequencyMap = corpusAnalysisService.getCorpusFrequency().getLetterFrequencyMap();
 
         logger.info("letterFrequencyMap: " + letterFrequencyMap);
 
-        for (String key : letterFrequencyMap.keySet()) {
-            String letterText = key;
-            Letter existingLetter = letterDao.readByText(letterText);
-            if (existingLetter != null) {
-                existingLetter.setUsageCount(letterFrequencyMap.get(letterText));
-                letterDao.update(existingLetter);
+        // Convert from Letter text to Letter ID
+        Map<String, Long> letterIdsByText = letterDao.readAllIdsByText();
+        Map<Long, Integer> usageCountsById = new HashMap<>();
+        for (String letterText : letterFrequencyMap.keySet()) {
+            Long letterId = letterIdsByText.get(letterText);
+            if (letterId != null) {
+                usageCountsById.put(letterId, letterFrequencyMap.get(letterText));
             }
         }
+        letterDao.updateUsageCounts(usageCountsById);
         
         logger.info("execute complete");
     }
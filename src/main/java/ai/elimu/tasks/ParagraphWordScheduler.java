@@ -1,29 +1,47 @@
 package ai.elimu.tasks;
 
 import org.apache.logging.log4j.Logger;
+import ai.elimu.dao.StoryBookDao;
 import ai.elimu.dao.StoryBookParagraphDao;
 import ai.elimu.dao.WordDao;
+import ai.elimu.model.content.StoryBook;
 import ai.elimu.model.content.StoryBookParagraph;
 import ai.elimu.model.content.Word;
 import ai.elimu.model.enums.Language;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
 import ai.elimu.util.ConfigHelper;
 import ai.elimu.util.WordExtractionHelper;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 /**
  * Iterates all {@link StoryBookParagraph}s and looks for {@link Word} matches in the paragraph's original text.
+ * <p />
+ * Only paragraphs whose original text changed, or which contain a Word that was added, edited or deleted, since the 
+ * previous run are processed. The first run after startup processes all paragraphs.
  */
 @Service
 public class ParagraphWordScheduler {
     
     private Logger logger = LogManager.getLogger();
     
+    @Autowired
+    private StoryBookDao storyBookDao;
+    
     @Autowired
     private StoryBookParagraphDao storyBookParagraphDao;
 
@@ -33,38 +51,159 @@ public class ParagraphWordScheduler {
     @Autowired
     private StoryBooksJsonService storyBooksJsonService;
     
+    /**
+     * The lexicon used during the previous run. Used for detecting Words that were added, edited or deleted since 
+     * then.
+     */
+    private Map<String, Long> previousLexicon = Collections.emptyMap();
+    
+    /**
+     * StoryBookParagraph ID --> 64-bit digest of the paragraph's original text during the previous run. Used for 
+     * detecting paragraphs that were added or edited since then, without keeping a copy of every text in memory.
+     */
+    private Map<Long, Long> previousOriginalTextDigestsById = Collections.emptyMap();
+    
     @Scheduled(cron="00 00 * * * *") // Every hour
     public synchronized void execute() {
         logger.info("execute");
         
         Language language = Language.valueOf(ConfigHelper.getProperty("content.language"));
         
-        List<StoryBookParagraph> storyBookParagraphs = storyBookParagraphDao.readAll();
-        logger.info("storyBookParagraphs.size(): " + storyBookParagraphs.size());
-        for (StoryBookParagraph storyBookParagraph : storyBookParagraphs) {
-            List<String> wordsInOriginalText = WordExtractionHelper.getWords(storyBookParagraph.getOriginalText(), language);
-            logger.info("wordsInOriginalText.size(): " + wordsInOriginalText.size());
+        // Build an index of all Words once, instead of querying the database for each word in each paragraph
+        Map<String, Long> lexicon = getLexicon();
+        logger.info("lexicon.size(): " + lexicon.size());
+        
+        // Word texts that were added, edited or deleted since the previous run
+        Set<String> changedWordTexts = getChangedWordTexts(previousLexicon, lexicon);
+        logger.info("changedWordTexts.size(): " + changedWordTexts.size());
+        
+        // Long = Word ID
+        Map<Long, Word> wordsById = new HashMap<>();
+        
+        // Long = StoryBook ID
+        Map<Long, StoryBook> updatedStoryBooks = new HashMap<>();
+        
+        int updateCount = 0;
+        Map<Long, String> originalTextsById = storyBookParagraphDao.readAllOriginalTextsById();
+        logger.info("originalTextsById.size(): " + originalTextsById.size());
+        Map<Long, Long> originalTextDigestsById = new HashMap<>();
+        for (Long storyBookParagraphId : originalTextsById.keySet()) {
+            String originalText = originalTextsById.get(storyBookParagraphId);
+            Long originalTextDigest = getDigest(originalText);
+            originalTextDigestsById.put(storyBookParagraphId, originalTextDigest);
+            List<String> wordsInOriginalText = WordExtractionHelper.getWords(originalText, language);
+            
+            // Skip the paragraph if neither its text nor any of its words changed since the previous run
+            if (originalTextDigest.equals(previousOriginalTextDigestsById.get(storyBookParagraphId))
+                    && !containsAny(wordsInOriginalText, changedWordTexts)) {
+                continue;
+            }
             
             // Look for matches of existing Words in the paragraph's original text
-            List<Word> words = new ArrayList<>();
+            List<Long> wordIds = new ArrayList<>();
             for (String wordInOriginalText : wordsInOriginalText) {
-                logger.info("wordInOriginalText: \"" + wordInOriginalText + "\"");
-                wordInOriginalText = wordInOriginalText.toLowerCase();
-                logger.info("wordInOriginalText (lower-case): \"" + wordInOriginalText + "\"");
-                Word word = wordDao.readByText(wordInOriginalText);
-                logger.info("word: " + word);
+                wordIds.add(lexicon.get(wordInOriginalText.toLowerCase()));
+            }
+            
+            // Skip the paragraph if its list of Words is already up-to-date
+            StoryBookParagraph storyBookParagraph = storyBookParagraphDao.read(storyBookParagraphId);
+            if (wordIds.equals(getWordIds(storyBookParagraph))) {
+                continue;
+            }
+            logger.info("Updating the Words of StoryBookParagraph " + storyBookParagraph.getId());
+            
+            List<Word> words = new ArrayList<>();
+            for (Long wordId : wordIds) {
+                Word word = null;
+                if (wordId != null) {
+                    word = wordsById.computeIfAbsent(wordId, id -> wordDao.read(id));
+                }
                 words.add(word);
             }
-            logger.info("words.size(): " + words.size());
             storyBookParagraph.setWords(words);
             
             // Update the paragraph's list of Words in the database
             storyBookParagraphDao.update(storyBookParagraph);
+            updateCount++;
+            
+            StoryBook storyBook = storyBookParagraph.getStoryBookChapter().getStoryBook();
+            updatedStoryBooks.put(storyBook.getId(), storyBook);
         }
+        logger.info("updateCount: " + updateCount);
+        
+        previousLexicon = lexicon;
+        previousOriginalTextDigestsById = originalTextDigestsById;
         
-        // Refresh REST API cache
-        storyBooksJsonService.refreshStoryBooksJSONArray();
+        // The Word IDs are part of each paragraph's JSON, so mark the storybooks as updated for delta synchronizations
+        logger.info("updatedStoryBooks.size(): " + updatedStoryBooks.size());
+        storyBookDao.updateTimeLastUpdate(updatedStoryBooks.keySet(), Calendar.getInstance());
+        
+        // Refresh REST API cache, only for the storybooks that contain updated paragraphs. The previous JSON keeps 
+        // being served until they have been rebuilt.
+        for (StoryBook storyBook : updatedStoryBooks.values()) {
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
+        }
         
         logger.info("execute complete");
     }
+    
+    /**
+     * @return Lower-case Word text --> Word ID
+     */
+    private Map<String, Long> getLexicon() {
+        Map<String, Long> lexicon = new HashMap<>();
+        Map<String, Long> wordIdsByText = wordDao.readAllIdsByText();
+        for (String wordText : wordIdsByText.keySet()) {
+            lexicon.merge(wordText.toLowerCase(), wordIdsByText.get(wordText), Math::min);
+        }
+        return Collections.unmodifiableMap(lexicon);
+    }
+    
+    /**
+     * @return The lower-case texts of the Words that were added, deleted, or moved to another text.
+     */
+    private Set<String> getChangedWordTexts(Map<String, Long> lexiconBefore, Map<String, Long> lexiconAfter) {
+        Set<String> changedWordTexts = new HashSet<>();
+        for (String wordText : lexiconBefore.keySet()) {
+            if (!Objects.equals(lexiconBefore.get(wordText), lexiconAfter.get(wordText))) {
+                changedWordTexts.add(wordText);
+            }
+        }
+        for (String wordText : lexiconAfter.keySet()) {
+            if (!lexiconBefore.containsKey(wordText)) {
+                changedWordTexts.add(wordText);
+            }
+        }
+        return changedWordTexts;
+    }
+    
+    /**
+     * @return The first 64 bits of the text's MD5 digest.
+     */
+    private Long getDigest(String text) {
+        byte[] md5Digest = DigestUtils.md5Digest(String.valueOf(text).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(md5Digest).getLong();
+    }
+    
+    private boolean containsAny(List<String> wordsInOriginalText, Set<String> changedWordTexts) {
+        if (changedWordTexts.isEmpty()) {
+            return false;
+        }
+        for (String wordInOriginalText : wordsInOriginalText) {
+            if (changedWordTexts.contains(wordInOriginalText.toLowerCase())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private List<Long> getWordIds(StoryBookParagraph storyBookParagraph) {
+        List<Long> wordIds = new ArrayList<>();
+        if (storyBookParagraph.getWords() != null) {
+            for (Word word : storyBookParagraph.getWords()) {
+                wordIds.add((word == null) ? null : word.getId());
+            }
+        }
+        return wordIds;
+    }
 }
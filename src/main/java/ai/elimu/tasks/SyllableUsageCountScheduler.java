@@ -1,27 +1,15 @@
 package ai.elimu.tasks;
 
-import ai.elimu.dao.StoryBookChapterDao;
 import java.util.Calendar;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.Logger;
 import ai.elimu.dao.SyllableDao;
-import ai.elimu.dao.StoryBookDao;
-import ai.elimu.dao.StoryBookParagraphDao;
 import ai.elimu.dao.WordDao;
 import ai.elimu.model.content.Syllable;
-import ai.elimu.model.content.StoryBook;
-import ai.elimu.model.content.StoryBookChapter;
-import ai.elimu.model.content.StoryBookParagraph;
-import ai.elimu.model.content.Word;
-import ai.elimu.model.enums.Language;
-import ai.elimu.util.ConfigHelper;
-import ai.elimu.util.SyllableFrequencyHelper;
-import java.util.ArrayList;
+import ai.elimu.tasks.service.CorpusAnalysisService;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
@@ -37,62 +25,32 @@ public class SyllableUsageCountScheduler {
     private SyllableDao syllableDao;
     
     @Autowired
-    private StoryBookDao storyBookDao;
-    
-    @Autowired
-    private StoryBookChapterDao storyBookChapterDao;
-    
-    @Autowired
-    private StoryBookParagraphDao storyBookParagraphDao;
+    private WordDao wordDao;
     
     @Autowired
-    private WordDao wordDao;
+    private CorpusAnalysisService corpusAnalysisService;
     
-    @Scheduled(cron="00 30 07 * * *") // At 07:30 every morning
     public synchronized void execute() {
         logger.info("execute");
         
         logger.info("Calculating usage count for Syllables");
 
-        Map<String, Integer> syllableFrequencyMap = new HashMap<>();
-        
-        Language language = Language.valueOf(ConfigHelper.getProperty("content.language"));
-
-        List<StoryBook> storyBooks = storyBookDao.readAllOrdered();
-        logger.info("storyBooks.size(): " + storyBooks.size());
-        for (StoryBook storyBook : storyBooks) {
-            logger.info("storyBook.getTitle(): " + storyBook.getTitle());
-
-            List<String> paragraphs = new ArrayList<>();
-            List<StoryBookChapter> storyBookChapters = storyBookChapterDao.readAll(storyBook);
-            for (StoryBookChapter storyBookChapter : storyBookChapters) {
-                List<StoryBookParagraph> storyBookParagraphs = storyBookParagraphDao.readAll(storyBookChapter);
-                for (StoryBookParagraph storyBookParagraph : storyBookParagraphs) {
-                    paragraphs.add(storyBookParagraph.getOriginalText());
-                }
-            }
-
-            Map<String, Integer> syllableFrequencyMapForBook = SyllableFrequencyHelper.getSyllableFrequency(paragraphs, language);
-            for (String key : syllableFrequencyMapForBook.keySet()) {
-                String syllableText = key;
-                int syllableFrequency = syllableFrequencyMapForBook.get(key);
-                if (!syllableFrequencyMap.containsKey(syllableText)) {
-                    syllableFrequencyMap.put(syllableText, syllableFrequency);
-                } else {
-                    syllableFrequencyMap.put(syllableText, syllableFrequencyMap.get(syllableText) + syllableFrequency);
-                }
-            }
-        }
+        Map<String, Integer> syllableFrequencyMap = corpusAnalysisService.getCorpusFrequency().getSyllableFrequencyMap();
 
         logger.info("syllableFrequencyMap: " + syllableFrequencyMap);
 
+        Map<String, Long> wordIdsByText = wordDao.readAllIdsByText();
+        Map<String, Long> syllableIdsByText = syllableDao.readAllIdsByText();
+        
+        // <id, usageCount>
+        Map<Long, Integer> usageCountsById = new HashMap<>();
+        
         for (String key : syllableFrequencyMap.keySet()) {
             String syllableText = key;
 
             // Skip syllables that are actual words
             // TODO: add logic to Word editing
-            Word word = wordDao.readByText(syllableText);
-            if (word != null) {
+            if (wordIdsByText.containsKey(syllableText)) {
                 continue;
             }
 
@@ -102,18 +60,18 @@ public class SyllableUsageCountScheduler {
                 continue;
             }
 
-            Syllable existingSyllable = syllableDao.readByText(syllableText);
-            if (existingSyllable == null) {
+            Long existingSyllableId = syllableIdsByText.get(syllableText);
+            if (existingSyllableId == null) {
                 Syllable syllable = new Syllable();
                 syllable.setTimeLastUpdate(Calendar.getInstance());
                 syllable.setText(syllableText);
                 syllable.setUsageCount(syllableFrequencyMap.get(syllableText));
                 syllableDao.create(syllable);
             } else {
-                existingSyllable.setUsageCount(syllableFrequencyMap.get(syllableText));
-                syllableDao.update(existingSyllable);
+                usageCountsById.put(existingSyllableId, syllableFrequencyMap.get(syllableText));
             }
         }
+        syllableDao.updateUsageCounts(usageCountsById);
         
         logger.info("execute complete");
     }
@@ -0,0 +1,67 @@
+package ai.elimu.tasks;
+
+import ai.elimu.tasks.service.CorpusAnalysisService;
+import ai.elimu.tasks.service.UsageCountDeltaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Recalculates the usage counts of all types of content back to back, from one analysis of the StoryBooks' current 
+ * text.
+ * <p />
+ * If the schedulers ran at different times, changes to the usage counts made in between (see 
+ * {@link ai.elimu.tasks.service.UsageCountDeltaService}) would be overwritten by counts based on an older analysis.
+ */
+@Service
+public class UsageCountScheduler {
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private CorpusAnalysisService corpusAnalysisService;
+    
+    @Autowired
+    private UsageCountDeltaService usageCountDeltaService;
+    
+    @Autowired
+    private WordUsageCountScheduler wordUsageCountScheduler;
+    
+    @Autowired
+    private LetterUsageCountScheduler letterUsageCountScheduler;
+    
+    @Autowired
+    private SyllableUsageCountScheduler syllableUsageCountScheduler;
+    
+    @Autowired
+    private LetterToAllophoneMappingUsageCountScheduler letterToAllophoneMappingUsageCountScheduler;
+    
+    @Autowired
+    private AllophoneUsageCountScheduler allophoneUsageCountScheduler;
+    
+    @Scheduled(cron="00 00 06 * * *") // At 06:00 every day
+    public synchronized void execute() {
+        logger.info("execute");
+        
+        // Pending usage count deltas must neither be flushed on top of, nor be overwritten by, the recalculated counts
+        usageCountDeltaService.recalculate(() -> {
+            corpusAnalysisService.invalidate();
+            try {
+                wordUsageCountScheduler.execute();
+                letterUsageCountScheduler.execute();
+                syllableUsageCountScheduler.execute();
+                
+                // These are calculated from the usage counts of the Words stored above
+                letterToAllophoneMappingUsageCountScheduler.execute();
+                allophoneUsageCountScheduler.execute();
+            } finally {
+                // Do not keep the analysis in memory until the next run
+                corpusAnalysisService.invalidate();
+            }
+        });
+        
+        logger.info("execute complete");
+    }
+}
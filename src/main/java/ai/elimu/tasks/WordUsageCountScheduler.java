@@ -1,29 +1,21 @@
 package ai.elimu.tasks;
 
-import ai.elimu.dao.StoryBookChapterDao;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.Logger;
-import ai.elimu.dao.StoryBookDao;
-import ai.elimu.dao.StoryBookParagraphDao;
 import ai.elimu.dao.WordDao;
-import ai.elimu.model.content.StoryBook;
-import ai.elimu.model.content.StoryBookChapter;
-import ai.elimu.model.content.StoryBookParagraph;
-import ai.elimu.model.content.Word;
-import ai.elimu.model.enums.Language;
-import ai.elimu.util.ConfigHelper;
-import ai.elimu.util.WordFrequencyHelper;
-import java.util.ArrayList;
+import ai.elimu.tasks.service.CorpusAnalysisService;
+import ai.elimu.tasks.service.UsageCountDeltaService;
 import org.apache.logging.log4j.LogManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
  * Iterates all StoryBooks and calculates the frequency of each word. Does not 
  * separate words with differing upper-case and lower-case letters.
+ * <p />
+ * Between runs, usage counts are kept up-to-date by the {@link UsageCountDeltaService}, so this full recalculation 
+ * only has to reconcile any drift.
  */
 @Service
 public class WordUsageCountScheduler {
@@ -34,60 +26,28 @@ public class WordUsageCountScheduler {
     private WordDao wordDao;
     
     @Autowired
-    private StoryBookDao storyBookDao;
+    private CorpusAnalysisService corpusAnalysisService;
     
-    @Autowired
-    private StoryBookChapterDao storyBookChapterDao;
-    
-    @Autowired
-    private StoryBookParagraphDao storyBookParagraphDao;
-    
-    @Scheduled(cron="00 00 06 * * *") // At 06:00 every day
     public synchronized void execute() {
         logger.info("execute");
         
         logger.info("Calculating usage count for Words");
 
-        Map<String, Integer> wordFrequencyMap = new HashMap<>();
-        
-        Language language = Language.valueOf(ConfigHelper.getProperty("content.language"));
-
-        List<StoryBook> storyBooks = storyBookDao.readAllOrdered();
-        logger.info("storyBooks.size(): " + storyBooks.size());
-        for (StoryBook storyBook : storyBooks) {
-            logger.info("storyBook.getTitle(): " + storyBook.getTitle());
+        Map<String, Integer> wordFrequencyMap = corpusAnalysisService.getCorpusFrequency().getWordFrequencyMap();
 
-            List<String> paragraphs = new ArrayList<>();
-            List<StoryBookChapter> storyBookChapters = storyBookChapterDao.readAll(storyBook);
-            for (StoryBookChapter storyBookChapter : storyBookChapters) {
-                List<StoryBookParagraph> storyBookParagraphs = storyBookParagraphDao.readAll(storyBookChapter);
-                for (StoryBookParagraph storyBookParagraph : storyBookParagraphs) {
-                    paragraphs.add(storyBookParagraph.getOriginalText());
-                }
-            }
-
-            Map<String, Integer> wordFrequencyMapForBook = WordFrequencyHelper.getWordFrequency(paragraphs, language);
-            for (String key : wordFrequencyMapForBook.keySet()) {
-                int wordFrequency = wordFrequencyMapForBook.get(key);
-                String word = key;
-                if (!wordFrequencyMap.containsKey(word)) {
-                    wordFrequencyMap.put(word, wordFrequency);
-                } else {
-                    wordFrequencyMap.put(word, wordFrequencyMap.get(word) + wordFrequency);
-                }
-            }
-        }
-
-        for (String key : wordFrequencyMap.keySet()) {
-            String wordLowerCase = key.toLowerCase();
-            logger.info("wordLowerCase: \"" + wordLowerCase + "\"");
-            Word word = wordDao.readByText(wordLowerCase);
-            if (word != null) {
-                word.setUsageCount(wordFrequencyMap.get(wordLowerCase));
-                wordDao.update(word);
+        // Convert from Word text to Word ID
+        Map<String, Long> wordIdsByText = wordDao.readAllIdsByText();
+        Map<Long, Integer> usageCountsById = new HashMap<>();
+        for (String wordLowerCase : wordFrequencyMap.keySet()) {
+            Long wordId = wordIdsByText.get(wordLowerCase);
+            if (wordId != null) {
+                usageCountsById.put(wordId, wordFrequencyMap.get(wordLowerCase));
             }
         }
         
+        int driftCount = wordDao.updateUsageCounts(usageCountsById);
+        logger.info("Reconciled the usage count of " + driftCount + " Words");
+        
         logger.info("execute complete");
     }
 }
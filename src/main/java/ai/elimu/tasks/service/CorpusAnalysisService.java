@@ -0,0 +1,77 @@
+package ai.elimu.tasks.service;
+
+import ai.elimu.dao.LetterDao;
+import ai.elimu.dao.StoryBookParagraphDao;
+import ai.elimu.model.content.Letter;
+import ai.elimu.model.enums.Language;
+import ai.elimu.util.ConfigHelper;
+import ai.elimu.util.CorpusFrequency;
+import ai.elimu.util.LetterTable;
+import ai.elimu.util.ParallelFrequencyHelper;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the text of all StoryBookParagraphs once, and calculates the word, letter and syllable frequencies in a
+ * single pass. The result is shared by the UsageCountSchedulers in {@link ai.elimu.tasks}, so that they only have to
+ * persist the usage counts. See {@link ai.elimu.tasks.UsageCountScheduler}.
+ */
+@Service
+public class CorpusAnalysisService {
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private StoryBookParagraphDao storyBookParagraphDao;
+    
+    @Autowired
+    private LetterDao letterDao;
+    
+    private CorpusFrequency corpusFrequency;
+    
+    /**
+     * @return The result of the analysis, which is only performed if it has not already been performed since the 
+     * previous call to {@link #invalidate()}.
+     */
+    public synchronized CorpusFrequency getCorpusFrequency() {
+        logger.info("getCorpusFrequency");
+        
+        if (corpusFrequency == null) {
+            Date dateStart = new Date();
+            
+            Language language = Language.valueOf(ConfigHelper.getProperty("content.language"));
+            
+            List<String> paragraphs = storyBookParagraphDao.readAllOriginalTexts();
+            logger.info("paragraphs.size(): " + paragraphs.size());
+            
+            // Split the words into the Letters of the database, e.g. including Letters of more than one character
+            corpusFrequency = ParallelFrequencyHelper.getCorpusFrequency(paragraphs, language, getLetterTable());
+            
+            Date dateEnd = new Date();
+            logger.info("Corpus analysis duration: " + (dateEnd.getTime() - dateStart.getTime()) + " ms");
+        }
+        
+        return corpusFrequency;
+    }
+    
+    /**
+     * Discards the result of the previous analysis, so that the next call to {@link #getCorpusFrequency()} includes 
+     * the paragraphs' current text.
+     */
+    public synchronized void invalidate() {
+        corpusFrequency = null;
+    }
+    
+    private LetterTable getLetterTable() {
+        List<String> letterTexts = new ArrayList<>();
+        for (Letter letter : letterDao.readAllOrdered()) {
+            letterTexts.add(letter.getText());
+        }
+        return new LetterTable(letterTexts);
+    }
+}
@@ -0,0 +1,290 @@
+package ai.elimu.tasks.service;
+
+import ai.elimu.dao.AllophoneDao;
+import ai.elimu.dao.LetterDao;
+import ai.elimu.dao.LetterToAllophoneMappingDao;
+import ai.elimu.dao.SyllableDao;
+import ai.elimu.dao.WordDao;
+import ai.elimu.model.content.Allophone;
+import ai.elimu.model.content.Letter;
+import ai.elimu.model.content.LetterToAllophoneMapping;
+import ai.elimu.model.content.Word;
+import ai.elimu.model.enums.Language;
+import ai.elimu.util.ConfigHelper;
+import ai.elimu.util.CorpusFrequency;
+import ai.elimu.util.CorpusFrequencyHelper;
+import ai.elimu.util.LetterTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps usage counts up-to-date between the nightly UsageCountSchedulers in {@link ai.elimu.tasks}.
+ * <p />
+ * When a StoryBookParagraph is created, edited or deleted, the difference between the paragraph's old and new
+ * word/letter/syllable frequencies is collected in memory, and then flushed to the database in batches. The nightly
+ * full recalculation is kept as a reconciliation of any drift.
+ */
+@Service
+public class UsageCountDeltaService {
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    @Autowired
+    private WordDao wordDao;
+    
+    @Autowired
+    private LetterDao letterDao;
+    
+    @Autowired
+    private SyllableDao syllableDao;
+    
+    @Autowired
+    private LetterToAllophoneMappingDao letterToAllophoneMappingDao;
+    
+    @Autowired
+    private AllophoneDao allophoneDao;
+    
+    /**
+     * Held while the pending deltas are written to the database, or while all usage counts are recalculated.
+     */
+    private final Object flushLock = new Object();
+    
+    /**
+     * Lower-case word text --> pending usage count delta
+     */
+    private Map<String, Integer> wordDeltaMap = new HashMap<>();
+    
+    /**
+     * Letter text --> pending usage count delta
+     */
+    private Map<String, Integer> letterDeltaMap = new HashMap<>();
+    
+    /**
+     * Syllable text --> pending usage count delta
+     */
+    private Map<String, Integer> syllableDeltaMap = new HashMap<>();
+    
+    /**
+     * LetterToAllophoneMapping ID --> pending usage count delta (derived from the Word deltas already stored)
+     */
+    private Map<Long, Integer> letterToAllophoneMappingDeltaMap = new HashMap<>();
+    
+    /**
+     * Allophone ID --> pending usage count delta (derived from the LetterToAllophoneMapping deltas already stored)
+     */
+    private Map<Long, Integer> allophoneDeltaMap = new HashMap<>();
+    
+    /**
+     * Set while all usage counts are recalculated. Guarded by {@code this}.
+     */
+    private boolean recalculating;
+    
+    /**
+     * Register the change of a paragraph's original text.
+     *
+     * @param originalTextBefore The text before the change, or {@code null} if the paragraph was created.
+     * @param originalTextAfter The text after the change, or {@code null} if the paragraph was deleted.
+     */
+    public void applyParagraphChange(String originalTextBefore, String originalTextAfter) {
+        logger.info("applyParagraphChange");
+        
+        if (StringUtils.equals(originalTextBefore, originalTextAfter)) {
+            return;
+        }
+        
+        Language language = Language.valueOf(ConfigHelper.getProperty("content.language"));
+        
+        // Split the words into the Letters of the database, like the CorpusAnalysisService does
+        LetterTable letterTable = getLetterTable();
+        
+        CorpusFrequency corpusFrequencyBefore = getCorpusFrequency(originalTextBefore, language, letterTable);
+        CorpusFrequency corpusFrequencyAfter = getCorpusFrequency(originalTextAfter, language, letterTable);
+        
+        synchronized (this) {
+            if (recalculating) {
+                // The recalculation may already have read the new text, so the delta could be counted twice
+                logger.info("Skipping the delta, as the usage counts are being recalculated");
+                return;
+            }
+            addDeltas(wordDeltaMap, corpusFrequencyBefore.getWordFrequencyMap(), corpusFrequencyAfter.getWordFrequencyMap());
+            addDeltas(letterDeltaMap, corpusFrequencyBefore.getLetterFrequencyMap(), corpusFrequencyAfter.getLetterFrequencyMap());
+            addDeltas(syllableDeltaMap, corpusFrequencyBefore.getSyllableFrequencyMap(), corpusFrequencyAfter.getSyllableFrequencyMap());
+        }
+    }
+    
+    /**
+     * Run a full recalculation of the usage counts, without any flush of deltas in between.
+     * <p />
+     * The deltas registered before the recalculation starts are already part of the StoryBooks' current text, so 
+     * they are discarded instead of being added on top of the recalculated usage counts. Paragraph changes made while 
+     * the recalculation runs are not registered, as it is unknown whether the recalculation read the text before or 
+     * after the change. Such changes are included by the next recalculation.
+     */
+    public void recalculate(Runnable recalculation) {
+        logger.info("recalculate");
+        
+        synchronized (flushLock) {
+            synchronized (this) {
+                clearDeltas();
+                recalculating = true;
+            }
+            
+            try {
+                recalculation.run();
+            } finally {
+                synchronized (this) {
+                    recalculating = false;
+                }
+            }
+        }
+    }
+    
+    private void clearDeltas() {
+        wordDeltaMap.clear();
+        letterDeltaMap.clear();
+        syllableDeltaMap.clear();
+        letterToAllophoneMappingDeltaMap.clear();
+        allophoneDeltaMap.clear();
+    }
+    
+    @Scheduled(cron="00 */5 * * * *") // Every 5 minutes
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, Integer> wordDeltaMapToFlush;
+            Map<String, Integer> letterDeltaMapToFlush;
+            Map<String, Integer> syllableDeltaMapToFlush;
+            Map<Long, Integer> letterToAllophoneMappingDeltaMapToFlush;
+            Map<Long, Integer> allophoneDeltaMapToFlush;
+            synchronized (this) {
+                if (wordDeltaMap.isEmpty() && letterDeltaMap.isEmpty() && syllableDeltaMap.isEmpty()
+                        && letterToAllophoneMappingDeltaMap.isEmpty() && allophoneDeltaMap.isEmpty()) {
+                    return;
+                }
+                
+                wordDeltaMapToFlush = wordDeltaMap;
+                letterDeltaMapToFlush = letterDeltaMap;
+                syllableDeltaMapToFlush = syllableDeltaMap;
+                letterToAllophoneMappingDeltaMapToFlush = letterToAllophoneMappingDeltaMap;
+                allophoneDeltaMapToFlush = allophoneDeltaMap;
+                wordDeltaMap = new HashMap<>();
+                letterDeltaMap = new HashMap<>();
+                syllableDeltaMap = new HashMap<>();
+                letterToAllophoneMappingDeltaMap = new HashMap<>();
+                allophoneDeltaMap = new HashMap<>();
+            }
+            logger.info("flush");
+            
+            // Each map is cleared as soon as its deltas have been stored, so that only the deltas not yet stored are 
+            // restored if one of the updates fails.
+            try {
+                Map<Long, Integer> wordDeltasById = getDeltasById(wordDeltaMapToFlush, wordDao.readAllIdsByText());
+                
+                // See LetterToAllophoneMappingUsageCountScheduler
+                Map<Long, Integer> letterToAllophoneMappingDeltasFromWords = new HashMap<>();
+                for (Word word : wordDao.readAll(wordDeltasById.keySet())) {
+                    int delta = wordDeltasById.get(word.getId());
+                    for (LetterToAllophoneMapping letterToAllophoneMapping : word.getLetterToAllophoneMappings()) {
+                        letterToAllophoneMappingDeltasFromWords.merge(letterToAllophoneMapping.getId(), delta, Integer::sum);
+                    }
+                }
+                
+                wordDao.addToUsageCounts(wordDeltasById);
+                wordDeltaMapToFlush.clear();
+                addDeltas(letterToAllophoneMappingDeltaMapToFlush, letterToAllophoneMappingDeltasFromWords);
+                
+                letterDao.addToUsageCounts(getDeltasById(letterDeltaMapToFlush, letterDao.readAllIdsByText()));
+                letterDeltaMapToFlush.clear();
+                
+                // New syllables are only added by the SyllableUsageCountScheduler
+                syllableDao.addToUsageCounts(getDeltasById(syllableDeltaMapToFlush, syllableDao.readAllIdsByText()));
+                syllableDeltaMapToFlush.clear();
+                
+                // See AllophoneUsageCountScheduler: each Word containing the LetterToAllophoneMapping contributes its
+                // usage count to the mapping's Allophones.
+                letterToAllophoneMappingDeltaMapToFlush.values().removeIf(delta -> delta == 0);
+                Map<Long, Integer> allophoneDeltasFromLetterToAllophoneMappings = new HashMap<>();
+                for (LetterToAllophoneMapping letterToAllophoneMapping : letterToAllophoneMappingDao.readAll(letterToAllophoneMappingDeltaMapToFlush.keySet())) {
+                    int delta = letterToAllophoneMappingDeltaMapToFlush.get(letterToAllophoneMapping.getId());
+                    int allophoneDelta = delta * wordDao.readCount(letterToAllophoneMapping).intValue();
+                    for (Allophone allophone : letterToAllophoneMapping.getAllophones()) {
+                        allophoneDeltasFromLetterToAllophoneMappings.merge(allophone.getId(), allophoneDelta, Integer::sum);
+                    }
+                }
+                
+                letterToAllophoneMappingDao.addToUsageCounts(letterToAllophoneMappingDeltaMapToFlush);
+                letterToAllophoneMappingDeltaMapToFlush.clear();
+                addDeltas(allophoneDeltaMapToFlush, allophoneDeltasFromLetterToAllophoneMappings);
+                
+                allophoneDeltaMapToFlush.values().removeIf(delta -> delta == 0);
+                allophoneDao.addToUsageCounts(allophoneDeltaMapToFlush);
+                allophoneDeltaMapToFlush.clear();
+            } catch (RuntimeException e) {
+                logger.error("The usage count deltas could not be stored, and will be retried at the next flush", e);
+                
+                synchronized (this) {
+                    addDeltas(wordDeltaMap, wordDeltaMapToFlush);
+                    addDeltas(letterDeltaMap, letterDeltaMapToFlush);
+                    addDeltas(syllableDeltaMap, syllableDeltaMapToFlush);
+                    addDeltas(letterToAllophoneMappingDeltaMap, letterToAllophoneMappingDeltaMapToFlush);
+                    addDeltas(allophoneDeltaMap, allophoneDeltaMapToFlush);
+                }
+                return;
+            }
+            
+            logger.info("flush complete");
+        }
+    }
+    
+    /**
+     * @return Entity ID --> delta, for the texts having a non-zero delta and a matching entity in the database.
+     */
+    private Map<Long, Integer> getDeltasById(Map<String, Integer> deltaMap, Map<String, Long> idsByText) {
+        Map<Long, Integer> deltasById = new HashMap<>();
+        for (Map.Entry<String, Integer> delta : deltaMap.entrySet()) {
+            Long id = idsByText.get(delta.getKey());
+            if ((id != null) && (delta.getValue() != 0)) {
+                deltasById.put(id, delta.getValue());
+            }
+        }
+        return deltasById;
+    }
+    
+    private CorpusFrequency getCorpusFrequency(String originalText, Language language, LetterTable letterTable) {
+        if (StringUtils.isBlank(originalText)) {
+            return new CorpusFrequency();
+        }
+        return CorpusFrequencyHelper.getCorpusFrequency(Arrays.asList(originalText), language, letterTable);
+    }
+    
+    private LetterTable getLetterTable() {
+        List<String> letterTexts = new ArrayList<>();
+        for (Letter letter : letterDao.readAllOrdered()) {
+            letterTexts.add(letter.getText());
+        }
+        return new LetterTable(letterTexts);
+    }
+    
+    private void addDeltas(Map<String, Integer> deltaMap, Map<String, Integer> frequencyMapBefore, Map<String, Integer> frequencyMapAfter) {
+        for (String key : frequencyMapBefore.keySet()) {
+            deltaMap.merge(key, -frequencyMapBefore.get(key), Integer::sum);
+        }
+        for (String key : frequencyMapAfter.keySet()) {
+            deltaMap.merge(key, frequencyMapAfter.get(key), Integer::sum);
+        }
+    }
+    
+    private <K> void addDeltas(Map<K, Integer> deltaMap, Map<K, Integer> deltasToAdd) {
+        for (Map.Entry<K, Integer> delta : deltasToAdd.entrySet()) {
+            deltaMap.merge(delta.getKey(), delta.getValue(), Integer::sum);
+        }
+    }
+}
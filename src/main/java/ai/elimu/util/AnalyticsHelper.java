@@ -1,5 +1,7 @@
 package ai.elimu.util;
 
+import java.util.Calendar;
+
 public class AnalyticsHelper {
     
     /**
@@ -10,4 +12,16 @@ public class AnalyticsHelper {
        String androidId = filename.substring(0, indexOfFirstUnderscore);
        return androidId;
     }
+    
+    /**
+     * Identifies a learning event, for detecting events that have been uploaded more than once.
+     * <p />
+     * The time is included with milliseconds, so that distinct events within the same second (e.g. two taps on the 
+     * same Word) are not mistaken for duplicates.
+     * 
+     * @param contentId The ID of the content that the event is about (e.g. a Word ID).
+     */
+    public static String getLearningEventKey(Calendar time, String androidId, Long applicationId, Long contentId) {
+        return time.getTimeInMillis() + "_" + androidId + "_" + applicationId + "_" + contentId;
+    }
 }
@@ -0,0 +1,155 @@
+package ai.elimu.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Encodes JSON trees in CBOR (Concise Binary Object Representation, see https://www.rfc-editor.org/rfc/rfc8949), a 
+ * binary format with the same data model as JSON. Numbers and lengths are written as binary integers, and no quotes, 
+ * separators or escaping are needed, so the result is smaller than JSON text, and faster to parse.
+ */
+public class CborEncoder {
+    
+    private static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+    private static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1;
+    private static final int MAJOR_TYPE_TEXT_STRING = 3;
+    private static final int MAJOR_TYPE_ARRAY = 4;
+    private static final int MAJOR_TYPE_MAP = 5;
+    
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int DOUBLE = 0xFB;
+    private static final int INDEFINITE_LENGTH_ARRAY = 0x9F;
+    private static final int INDEFINITE_LENGTH_MAP = 0xBF;
+    private static final int BREAK = 0xFF;
+    
+    private final OutputStream outputStream;
+    
+    public CborEncoder(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+    
+    public void write(JsonElement jsonElement) throws IOException {
+        if ((jsonElement == null) || jsonElement.isJsonNull()) {
+            outputStream.write(NULL);
+        } else if (jsonElement.isJsonPrimitive()) {
+            JsonPrimitive jsonPrimitive = jsonElement.getAsJsonPrimitive();
+            if (jsonPrimitive.isBoolean()) {
+                outputStream.write(jsonPrimitive.getAsBoolean() ? TRUE : FALSE);
+            } else if (jsonPrimitive.isNumber()) {
+                writeNumber(jsonPrimitive.getAsNumber());
+            } else {
+                writeTextString(jsonPrimitive.getAsString());
+            }
+        } else if (jsonElement.isJsonArray()) {
+            writeTypeAndArgument(MAJOR_TYPE_ARRAY, jsonElement.getAsJsonArray().size());
+            for (JsonElement arrayElement : jsonElement.getAsJsonArray()) {
+                write(arrayElement);
+            }
+        } else {
+            writeTypeAndArgument(MAJOR_TYPE_MAP, jsonElement.getAsJsonObject().size());
+            for (Map.Entry<String, JsonElement> entry : jsonElement.getAsJsonObject().entrySet()) {
+                writeTextString(entry.getKey());
+                write(entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Starts an array without writing its length in advance, so that the elements can be written one at a time. Must 
+     * be followed by the elements, and then by {@link #writeEndOfArray()}.
+     */
+    public void writeStartOfArray() throws IOException {
+        outputStream.write(INDEFINITE_LENGTH_ARRAY);
+    }
+    
+    public void writeEndOfArray() throws IOException {
+        outputStream.write(BREAK);
+    }
+    
+    /**
+     * Starts a map without writing its size in advance. Must be followed by the keys, each written with 
+     * {@link #writeKey(String)} and followed by its value, and then by {@link #writeEndOfMap()}.
+     */
+    public void writeStartOfMap() throws IOException {
+        outputStream.write(INDEFINITE_LENGTH_MAP);
+    }
+    
+    public void writeKey(String key) throws IOException {
+        writeTextString(key);
+    }
+    
+    public void writeEndOfMap() throws IOException {
+        outputStream.write(BREAK);
+    }
+    
+    private void writeNumber(Number number) throws IOException {
+        if ((number instanceof Long) || (number instanceof Integer) || (number instanceof Short) || (number instanceof Byte)) {
+            writeInteger(number.longValue());
+        } else if ((number instanceof Double) || (number instanceof Float)) {
+            writeDouble(number.doubleValue());
+        } else {
+            // E.g. Gson's LazilyParsedNumber
+            BigDecimal bigDecimal = new BigDecimal(number.toString());
+            try {
+                writeInteger(bigDecimal.longValueExact());
+            } catch (ArithmeticException ex) {
+                writeDouble(bigDecimal.doubleValue());
+            }
+        }
+    }
+    
+    private void writeInteger(long value) throws IOException {
+        if (value >= 0) {
+            writeTypeAndArgument(MAJOR_TYPE_UNSIGNED_INTEGER, value);
+        } else {
+            writeTypeAndArgument(MAJOR_TYPE_NEGATIVE_INTEGER, -1 - value);
+        }
+    }
+    
+    private void writeDouble(double value) throws IOException {
+        outputStream.write(DOUBLE);
+        writeBigEndian(Double.doubleToLongBits(value), 8);
+    }
+    
+    private void writeTextString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeTypeAndArgument(MAJOR_TYPE_TEXT_STRING, bytes.length);
+        outputStream.write(bytes);
+    }
+    
+    /**
+     * Writes the initial byte of a data item, followed by its argument (an integer value, or a length) in as few bytes 
+     * as possible.
+     */
+    private void writeTypeAndArgument(int majorType, long argument) throws IOException {
+        int initialByte = majorType << 5;
+        if (argument < 24) {
+            outputStream.write(initialByte | (int) argument);
+        } else if (argument < 0x100L) {
+            outputStream.write(initialByte | 24);
+            writeBigEndian(argument, 1);
+        } else if (argument < 0x10000L) {
+            outputStream.write(initialByte | 25);
+            writeBigEndian(argument, 2);
+        } else if (argument < 0x100000000L) {
+            outputStream.write(initialByte | 26);
+            writeBigEndian(argument, 4);
+        } else {
+            outputStream.write(initialByte | 27);
+            writeBigEndian(argument, 8);
+        }
+    }
+    
+    private void writeBigEndian(long value, int byteCount) throws IOException {
+        for (int i = byteCount - 1; i >= 0; i--) {
+            outputStream.write((int) (value >>> (i * 8)));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ai.elimu.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Word, letter and syllable frequencies of a set of paragraphs, as calculated by {@link CorpusFrequencyHelper}.
+ */
+public class CorpusFrequency {
+    
+    /**
+     * Lower-case word text --> frequency
+     */
+    private final Map<String, Integer> wordFrequencyMap = new HashMap<>();
+    
+    /**
+     * Letter text (case-sensitive) --> frequency
+     */
+    private final Map<String, Integer> letterFrequencyMap = new HashMap<>();
+    
+    /**
+     * Lower-case syllable text --> frequency
+     */
+    private final Map<String, Integer> syllableFrequencyMap = new HashMap<>();
+    
+    public Map<String, Integer> getWordFrequencyMap() {
+        return wordFrequencyMap;
+    }
+    
+    public Map<String, Integer> getLetterFrequencyMap() {
+        return letterFrequencyMap;
+    }
+    
+    public Map<String, Integer> getSyllableFrequencyMap() {
+        return syllableFrequencyMap;
+    }
+}
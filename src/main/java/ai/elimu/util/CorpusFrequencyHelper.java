@@ -0,0 +1,86 @@
+package ai.elimu.util;
+
+import ai.elimu.model.content.Word;
+import ai.elimu.model.enums.Language;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates word, letter and syllable frequencies in one pass, so that each paragraph only has to be tokenized 
+ * once. The results are identical to those of {@link WordFrequencyHelper}, {@link LetterFrequencyHelper} and 
+ * {@link SyllableFrequencyHelper}.
+ */
+public class CorpusFrequencyHelper {
+    
+    public static CorpusFrequency getCorpusFrequency(List<String> paragraphs, Language language) {
+        return getCorpusFrequency(paragraphs, language, new LetterTable(Collections.emptyList()));
+    }
+    
+    /**
+     * Like {@link #getCorpusFrequency(List, Language)}, but splits the words into the letters of a table of known 
+     * letters, e.g. built from {@link ai.elimu.dao.LetterDao#readAllOrdered()}.
+     */
+    public static CorpusFrequency getCorpusFrequency(List<String> paragraphs, Language language, LetterTable letterTable) {
+        return getCorpusFrequency(getTokenFrequency(paragraphs, language).entrySet(), language, letterTable);
+    }
+    
+    /**
+     * Counts each distinct token (case-sensitive) of the paragraphs. The counters are kept in mutable {@code int[1]} 
+     * arrays, so that incrementing them does not box a new Integer.
+     */
+    static Map<String, int[]> getTokenFrequency(List<String> paragraphs, Language language) {
+        Map<String, int[]> tokenFrequencyMap = new HashMap<>();
+        for (String paragraph : paragraphs) {
+            List<String> words = WordExtractionHelper.getWords(paragraph, language);
+            for (String word : words) {
+                int[] counter = tokenFrequencyMap.get(word);
+                if (counter == null) {
+                    tokenFrequencyMap.put(word, new int[] {1});
+                } else {
+                    counter[0]++;
+                }
+            }
+        }
+        return tokenFrequencyMap;
+    }
+    
+    /**
+     * Derives the word, letter and syllable frequencies from the distinct tokens, instead of from every occurrence.
+     */
+    static CorpusFrequency getCorpusFrequency(Collection<Map.Entry<String, int[]>> tokenFrequencies, Language language, LetterTable letterTable) {
+        CorpusFrequency corpusFrequency = new CorpusFrequency();
+        int[][] letterCounts = { new int[0] };
+        for (Map.Entry<String, int[]> tokenFrequency : tokenFrequencies) {
+            String token = tokenFrequency.getKey();
+            int frequency = tokenFrequency.getValue()[0];
+            
+            // Note: upper-case and lower-case words are considered similar words
+            corpusFrequency.getWordFrequencyMap().merge(token.toLowerCase(), frequency, Integer::sum);
+            
+            // Note: upper-case and lower-case letters are considered different letters
+            LetterExtractionHelper.forEachLetterId(token, letterTable, letterId -> {
+                if (letterId >= letterCounts[0].length) {
+                    letterCounts[0] = Arrays.copyOf(letterCounts[0], Math.max(letterId + 1, letterCounts[0].length * 2));
+                }
+                letterCounts[0][letterId] += frequency;
+            });
+            
+            Word word = new Word();
+            word.setText(token);
+            for (String syllable : SyllableHelper.getSyllables(word, language)) {
+                corpusFrequency.getSyllableFrequencyMap().merge(syllable, frequency, Integer::sum);
+            }
+        }
+        for (int letterId = 0; letterId < letterCounts[0].length; letterId++) {
+            if (letterCounts[0][letterId] > 0) {
+                corpusFrequency.getLetterFrequencyMap().put(letterTable.getText(letterId), letterCounts[0][letterId]);
+            }
+        }
+        
+        return corpusFrequency;
+    }
+}
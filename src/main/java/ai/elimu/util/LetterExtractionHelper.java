@@ -2,26 +2,67 @@ package ai.elimu.util;
 
 import ai.elimu.model.enums.Language;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.IntConsumer;
 import org.apache.commons.lang.StringUtils;
 
 public class LetterExtractionHelper {
-
+    
     public static List<String> getLetters(String paragraph, Language language) {
+        LetterTable letterTable = new LetterTable(Collections.emptyList());
+        int[] letterIds = getLetterIds(paragraph, language, letterTable);
+        
+        List<String> letters = new ArrayList<>(letterIds.length);
+        for (int letterId : letterIds) {
+            letters.add(letterTable.getText(letterId));
+        }
+        
+        return letters;
+    }
+    
+    /**
+     * @return The IDs of the paragraph's letters in the letter table, in the order they occur.
+     */
+    public static int[] getLetterIds(String paragraph, Language language, LetterTable letterTable) {
+        // A paragraph cannot contain more letters than chars
+        int[] letterIds = new int[StringUtils.length(paragraph)];
+        int[] letterCount = new int[1];
+        forEachLetterId(paragraph, language, letterTable, letterId -> letterIds[letterCount[0]++] = letterId);
+        return Arrays.copyOf(letterIds, letterCount[0]);
+    }
+    
+    public static void forEachLetterId(String paragraph, Language language, LetterTable letterTable, IntConsumer consumer) {
         if (StringUtils.isBlank(paragraph)) {
             throw new IllegalArgumentException("The paragraph cannot be empty");
         }
         
-        List<String> letters = new ArrayList<>();
-        
-        List<String> words = WordExtractionHelper.getWords(paragraph, language);
-        for (String word : words) {
-            char[] letterCharacters = word.toCharArray();
-            for (char letterCharacter : letterCharacters) {
-                letters.add(String.valueOf(letterCharacter));
+        WordExtractionHelper.forEachWord(paragraph, language, word -> forEachLetterId(word, letterTable, consumer));
+    }
+    
+    /**
+     * Splits a word into letters, and passes the ID of each letter to the consumer.
+     * <p />
+     * Each code point is a letter (so that surrogate pairs are not split, and so that combining marks like 'ে' are
+     * counted as letters of their own), unless the letter table contains a longer letter starting at the same
+     * position. In that case, the longest such letter is used.
+     */
+    public static void forEachLetterId(CharSequence word, LetterTable letterTable, IntConsumer consumer) {
+        int i = 0;
+        while (i < word.length()) {
+            int letterId = letterTable.findLongestMultiCharId(word, i);
+            int letterEnd;
+            if (letterId != -1) {
+                letterEnd = i + letterTable.getText(letterId).length();
+            } else {
+                int codePoint = Character.codePointAt(word, i);
+                letterId = letterTable.getId(codePoint);
+                letterEnd = i + Character.charCount(codePoint);
             }
+            
+            consumer.accept(letterId);
+            i = letterEnd;
         }
-        
-        return letters;
     }
 }
@@ -1,6 +1,7 @@
 package ai.elimu.util;
 
 import ai.elimu.model.enums.Language;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -16,22 +17,41 @@ public class LetterFrequencyHelper {
      * E.g. 'A' and 'a'.
      */
     public static Map<String, Integer> getLetterFrequency(List<String> paragraphs, Language language) {
-        Map<String, Integer> letterFrequencyMap = new HashMap<>();
+        return getLetterFrequency(paragraphs, language, new LetterTable(Collections.emptyList()));
+    }
+    
+    /**
+     * Like {@link #getLetterFrequency(List, Language)}, but re-uses the IDs of a table of known letters.
+     */
+    public static Map<String, Integer> getLetterFrequency(List<String> paragraphs, Language language, LetterTable letterTable) {
+        int[] letterCounts = getLetterCounts(paragraphs, language, letterTable);
         
-        for (String paragraph : paragraphs) {
-            List<String> letters = LetterExtractionHelper.getLetters(paragraph, language);
-            for (String letter : letters) {
-                if (!letterFrequencyMap.containsKey(letter)) {
-                    letterFrequencyMap.put(letter, 1);
-                } else {
-                    letterFrequencyMap.put(letter, letterFrequencyMap.get(letter) + 1);
-                }
+        Map<String, Integer> letterFrequencyMap = new HashMap<>();
+        for (int letterId = 0; letterId < letterCounts.length; letterId++) {
+            if (letterCounts[letterId] > 0) {
+                letterFrequencyMap.put(letterTable.getText(letterId), letterCounts[letterId]);
             }
         }
         
         return sortByValue(letterFrequencyMap);
     }
     
+    /**
+     * @return The number of occurrences of each letter, indexed by letter ID (see {@link LetterTable}).
+     */
+    public static int[] getLetterCounts(List<String> paragraphs, Language language, LetterTable letterTable) {
+        int[][] letterCounts = { new int[letterTable.size()] };
+        for (String paragraph : paragraphs) {
+            LetterExtractionHelper.forEachLetterId(paragraph, language, letterTable, letterId -> {
+                if (letterId >= letterCounts[0].length) {
+                    letterCounts[0] = Arrays.copyOf(letterCounts[0], Math.max(letterId + 1, letterCounts[0].length * 2));
+                }
+                letterCounts[0][letterId]++;
+            });
+        }
+        return Arrays.copyOf(letterCounts[0], letterTable.size());
+    }
+    
     private static Map<String, Integer> sortByValue(Map<String, Integer> map) {
         List<Map.Entry<String, Integer>> list = new LinkedList<Map.Entry<String, Integer>>(map.entrySet());
 
@@ -0,0 +1,152 @@
+package ai.elimu.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a dense int ID (0, 1, 2, ...) to each letter text, so that letters can be counted in an {@code int[]}
+ * indexed by letter ID instead of in a {@code Map<String, Integer>}.
+ * <p />
+ * The table is initialized with the known Letter texts (e.g. from {@link ai.elimu.dao.LetterDao}), which get the
+ * IDs 0 to n-1 in the given order. Letters found in the text that are not in the table are added on demand.
+ * <p />
+ * Note: not thread-safe. Use one table per thread.
+ */
+public class LetterTable {
+    
+    /**
+     * Single code point letters (the common case) are looked up in this array, indexed by code point, to avoid
+     * allocating a String per letter. -1 = not in the table.
+     */
+    private int[] idsByCodePoint = new int[0];
+    
+    /**
+     * Letters that are outside the Basic Multilingual Plane, or that consist of more than one code point.
+     */
+    private final Map<String, Integer> idsByText = new HashMap<>();
+    
+    /**
+     * The IDs of the letters in {@link #idsByText}, indexed by their first char, and with the longest letters first. 
+     * Used for matching letters against a text without allocating a String per position.
+     */
+    private int[][] multiCharIdsByFirstChar = new int[0][];
+    
+    private final List<String> texts = new ArrayList<>();
+    
+    public LetterTable(Collection<String> letterTexts) {
+        for (String letterText : letterTexts) {
+            getId(letterText);
+        }
+    }
+    
+    /**
+     * Creates a copy of the table, with the same letter IDs, e.g. for use by another thread.
+     */
+    public LetterTable(LetterTable letterTable) {
+        this(letterTable.texts);
+    }
+    
+    /**
+     * @return The ID of the letter text, after adding it to the table if it was not already there.
+     */
+    public int getId(String letterText) {
+        int codePointCount = letterText.codePointCount(0, letterText.length());
+        if (codePointCount == 1) {
+            int codePoint = letterText.codePointAt(0);
+            if (codePoint <= Character.MAX_VALUE) {
+                return getId(codePoint);
+            }
+        }
+        
+        Integer id = idsByText.get(letterText);
+        if (id == null) {
+            id = texts.size();
+            texts.add(letterText);
+            idsByText.put(letterText, id);
+            addMultiCharId(letterText.charAt(0), id);
+        }
+        return id;
+    }
+    
+    /**
+     * @return The ID of the letter consisting of a single code point, after adding it to the table if it was not
+     * already there.
+     */
+    public int getId(int codePoint) {
+        if (codePoint > Character.MAX_VALUE) {
+            return getId(new String(Character.toChars(codePoint)));
+        }
+        
+        if (codePoint >= idsByCodePoint.length) {
+            int length = idsByCodePoint.length;
+            idsByCodePoint = Arrays.copyOf(idsByCodePoint, Math.max(codePoint + 1, length * 2));
+            Arrays.fill(idsByCodePoint, length, idsByCodePoint.length, -1);
+        }
+        int id = idsByCodePoint[codePoint];
+        if (id == -1) {
+            id = texts.size();
+            texts.add(String.valueOf((char) codePoint));
+            idsByCodePoint[codePoint] = id;
+        }
+        return id;
+    }
+    
+    private void addMultiCharId(char firstChar, int id) {
+        if (firstChar >= multiCharIdsByFirstChar.length) {
+            multiCharIdsByFirstChar = Arrays.copyOf(multiCharIdsByFirstChar, Math.max(firstChar + 1, multiCharIdsByFirstChar.length * 2));
+        }
+        int[] ids = multiCharIdsByFirstChar[firstChar];
+        ids = (ids == null) ? new int[] {id} : Arrays.copyOf(ids, ids.length + 1);
+        
+        // Keep the longest letters first
+        int i = ids.length - 1;
+        while ((i > 0) && (texts.get(ids[i - 1]).length() < texts.get(id).length())) {
+            ids[i] = ids[i - 1];
+            i--;
+        }
+        ids[i] = id;
+        multiCharIdsByFirstChar[firstChar] = ids;
+    }
+    
+    /**
+     * @return The ID of the longest letter of more than one char that the text contains at {@code start}, or -1 if 
+     * there is no such letter in the table. The letter ends at {@code start + getText(id).length()}.
+     */
+    int findLongestMultiCharId(CharSequence text, int start) {
+        char firstChar = text.charAt(start);
+        if ((firstChar >= multiCharIdsByFirstChar.length) || (multiCharIdsByFirstChar[firstChar] == null)) {
+            return -1;
+        }
+        for (int id : multiCharIdsByFirstChar[firstChar]) {
+            String letterText = texts.get(id);
+            if (regionMatches(text, start, letterText)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean regionMatches(CharSequence text, int start, String letterText) {
+        if (start + letterText.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < letterText.length(); i++) {
+            if (text.charAt(start + i) != letterText.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public String getText(int id) {
+        return texts.get(id);
+    }
+    
+    public int size() {
+        return texts.size();
+    }
+}
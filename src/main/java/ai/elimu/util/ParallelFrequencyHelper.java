@@ -0,0 +1,140 @@
+package ai.elimu.util;
+
+import ai.elimu.model.enums.Language;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calculates the same frequencies as {@link CorpusFrequencyHelper}, but splits the work across a {@link ForkJoinPool}, 
+ * in two steps:
+ * <ol>
+ *   <li>The paragraphs are split across tasks. Each task counts its tokens into its own map of primitive counters, 
+ *   and the maps are merged when the tasks are joined.</li>
+ *   <li>The distinct tokens are split across tasks. Each task derives the word, letter and syllable frequencies of 
+ *   its tokens, and the frequencies are summed when the tasks are joined.</li>
+ * </ol>
+ */
+public class ParallelFrequencyHelper {
+    
+    /**
+     * The number of paragraphs below which a task tokenizes its paragraphs itself, instead of splitting them further.
+     */
+    private static final int THRESHOLD = 256;
+    
+    /**
+     * The number of distinct tokens below which a task derives their frequencies itself, instead of splitting them 
+     * further.
+     */
+    private static final int TOKEN_THRESHOLD = 1024;
+    
+    public static CorpusFrequency getCorpusFrequency(List<String> paragraphs, Language language) {
+        return getCorpusFrequency(paragraphs, language, ForkJoinPool.commonPool());
+    }
+    
+    public static CorpusFrequency getCorpusFrequency(List<String> paragraphs, Language language, ForkJoinPool forkJoinPool) {
+        return getCorpusFrequency(paragraphs, language, new LetterTable(Collections.emptyList()), forkJoinPool);
+    }
+    
+    /**
+     * See {@link CorpusFrequencyHelper#getCorpusFrequency(List, Language, LetterTable)}. The letter table is not 
+     * modified, since each task works on its own copy.
+     */
+    public static CorpusFrequency getCorpusFrequency(List<String> paragraphs, Language language, LetterTable letterTable) {
+        return getCorpusFrequency(paragraphs, language, letterTable, ForkJoinPool.commonPool());
+    }
+    
+    public static CorpusFrequency getCorpusFrequency(List<String> paragraphs, Language language, LetterTable letterTable, ForkJoinPool forkJoinPool) {
+        Map<String, int[]> tokenFrequencyMap = forkJoinPool.invoke(new TokenFrequencyTask(paragraphs, language));
+        List<Map.Entry<String, int[]>> tokenFrequencies = new ArrayList<>(tokenFrequencyMap.entrySet());
+        return forkJoinPool.invoke(new CorpusFrequencyTask(tokenFrequencies, language, letterTable));
+    }
+    
+    private static class TokenFrequencyTask extends RecursiveTask<Map<String, int[]>> {
+        
+        private final List<String> paragraphs;
+        
+        private final Language language;
+        
+        TokenFrequencyTask(List<String> paragraphs, Language language) {
+            this.paragraphs = paragraphs;
+            this.language = language;
+        }
+        
+        @Override
+        protected Map<String, int[]> compute() {
+            if (paragraphs.size() <= THRESHOLD) {
+                return CorpusFrequencyHelper.getTokenFrequency(paragraphs, language);
+            }
+            
+            int middle = paragraphs.size() / 2;
+            TokenFrequencyTask leftTask = new TokenFrequencyTask(paragraphs.subList(0, middle), language);
+            TokenFrequencyTask rightTask = new TokenFrequencyTask(paragraphs.subList(middle, paragraphs.size()), language);
+            leftTask.fork();
+            Map<String, int[]> rightTokenFrequencyMap = rightTask.compute();
+            Map<String, int[]> leftTokenFrequencyMap = leftTask.join();
+            
+            // Merge the smaller map into the larger one
+            Map<String, int[]> target = leftTokenFrequencyMap;
+            Map<String, int[]> source = rightTokenFrequencyMap;
+            if (source.size() > target.size()) {
+                target = rightTokenFrequencyMap;
+                source = leftTokenFrequencyMap;
+            }
+            for (Map.Entry<String, int[]> tokenFrequency : source.entrySet()) {
+                int[] counter = target.get(tokenFrequency.getKey());
+                if (counter == null) {
+                    target.put(tokenFrequency.getKey(), tokenFrequency.getValue());
+                } else {
+                    counter[0] += tokenFrequency.getValue()[0];
+                }
+            }
+            return target;
+        }
+    }
+    
+    private static class CorpusFrequencyTask extends RecursiveTask<CorpusFrequency> {
+        
+        private final List<Map.Entry<String, int[]>> tokenFrequencies;
+        
+        private final Language language;
+        
+        private final LetterTable letterTable;
+        
+        CorpusFrequencyTask(List<Map.Entry<String, int[]>> tokenFrequencies, Language language, LetterTable letterTable) {
+            this.tokenFrequencies = tokenFrequencies;
+            this.language = language;
+            this.letterTable = letterTable;
+        }
+        
+        @Override
+        protected CorpusFrequency compute() {
+            if (tokenFrequencies.size() <= TOKEN_THRESHOLD) {
+                // The letter table is not thread-safe
+                return CorpusFrequencyHelper.getCorpusFrequency(tokenFrequencies, language, new LetterTable(letterTable));
+            }
+            
+            int middle = tokenFrequencies.size() / 2;
+            CorpusFrequencyTask leftTask = new CorpusFrequencyTask(tokenFrequencies.subList(0, middle), language, letterTable);
+            CorpusFrequencyTask rightTask = new CorpusFrequencyTask(tokenFrequencies.subList(middle, tokenFrequencies.size()), language, letterTable);
+            leftTask.fork();
+            CorpusFrequency rightCorpusFrequency = rightTask.compute();
+            CorpusFrequency leftCorpusFrequency = leftTask.join();
+            
+            // The same word, letter or syllable can be derived from tokens of both tasks
+            merge(leftCorpusFrequency.getWordFrequencyMap(), rightCorpusFrequency.getWordFrequencyMap());
+            merge(leftCorpusFrequency.getLetterFrequencyMap(), rightCorpusFrequency.getLetterFrequencyMap());
+            merge(leftCorpusFrequency.getSyllableFrequencyMap(), rightCorpusFrequency.getSyllableFrequencyMap());
+            return leftCorpusFrequency;
+        }
+        
+        private void merge(Map<String, Integer> target, Map<String, Integer> source) {
+            for (Map.Entry<String, Integer> frequency : source.entrySet()) {
+                target.merge(frequency.getKey(), frequency.getValue(), Integer::sum);
+            }
+        }
+    }
+}
@@ -1,88 +1,96 @@
 package ai.elimu.util;
 
-import java.io.BufferedInputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.net.URL;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import net.davidashen.text.Hyphenator;
-import net.davidashen.util.ErrorHandler;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.Logger;
 import ai.elimu.model.content.Word;
 import ai.elimu.model.enums.Language;
+import ai.elimu.util.syllable.AksaraSyllabifier;
+import ai.elimu.util.syllable.CvSyllabifier;
+import ai.elimu.util.syllable.HyphenationSyllabifier;
+import ai.elimu.util.syllable.Syllabifier;
 import org.apache.logging.log4j.LogManager;
 
 public class SyllableHelper {
     
     private static final Logger logger = LogManager.getLogger();
     
+    /**
+     * When the cache of a language reaches this number of words, it is cleared.
+     */
+    private static final int MAX_CACHE_SIZE = 100_000;
+    
+    /**
+     * The syllabifier of each supported language. Created on first use, since some of them have to parse a pattern 
+     * file.
+     */
+    private static final Map<Language, Syllabifier> syllabifiers = new ConcurrentHashMap<>();
+    
+    /**
+     * Word text --> syllables, per language.
+     */
+    private static final Map<Language, Map<String, List<String>>> syllablesCaches = new ConcurrentHashMap<>();
+    
     /**
      * Example (English): "chicken" --> ["chick","en"]
+     * 
+     * @return An unmodifiable list, which is cached and shared between calls with the same word text. Empty if the 
+     * language is not supported.
      */
     public static List<String> getSyllables(Word word, Language language) {
-        List<String> syllables = new ArrayList<>();
-        
-        if (language == Language.ENG) {
-            String hyphenatedWord = getHyphenatedWord(word.getText());
-            logger.info("hyphenatedWord: " + hyphenatedWord);
-            String[] syllableArray = hyphenatedWord.split("­");
-            for (String syllable : syllableArray) {
-                syllables.add(syllable.toLowerCase());
+        Map<String, List<String>> syllablesCache = syllablesCaches.computeIfAbsent(language, key -> new ConcurrentHashMap<>());
+        List<String> syllables = syllablesCache.get(word.getText());
+        if (syllables == null) {
+            if (syllablesCache.size() >= MAX_CACHE_SIZE) {
+                syllablesCache.clear();
             }
-            
-            // TODO: extract Consonants/Vocals
-            // TODO: split Consonants/Vocals into syllables
-            // TODO: convert syllables into letters
+            Syllabifier syllabifier = getSyllabifier(language);
+            if (syllabifier == null) {
+                syllables = Collections.emptyList();
+            } else {
+                syllables = Collections.unmodifiableList(syllabifier.getSyllables(word.getText()));
+            }
+            syllablesCache.put(word.getText(), syllables);
         }
-        
-        // TODO: add support for other languages
-        
         return syllables;
     }
     
-    private static String getHyphenatedWord(String text) {
-        Hyphenator hyphenator = new Hyphenator();
-        hyphenator.setErrorHandler(new ErrorHandler() {
-
-            @Override
-            public void debug(String string, String string1) {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public void info(String string) {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public void warning(String string) {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public void error(String string) {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public void exception(String string, Exception excptn) {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-        });
+    /**
+     * Replaces the syllabifier of a language, e.g. to add support for a language that is not supported yet.
+     */
+    public static void setSyllabifier(Language language, Syllabifier syllabifier) {
+        logger.info("setSyllabifier");
         
-        URL url = SyllableHelper.class.getResource("hyphen.tex");
-        File file = new File(url.getFile());
-        try {
-            hyphenator.loadTable(new BufferedInputStream(new FileInputStream(file)));
-        } catch (FileNotFoundException ex) {
-            logger.error(ex);
-        } catch (IOException ex) {
-            logger.error(ex);
+        syllabifiers.put(language, syllabifier);
+        syllablesCaches.remove(language);
+    }
+    
+    /**
+     * @return The syllabifier of the language, or {@code null} if it is not supported.
+     */
+    public static Syllabifier getSyllabifier(Language language) {
+        return syllabifiers.computeIfAbsent(language, SyllableHelper::createSyllabifier);
+    }
+    
+    private static Syllabifier createSyllabifier(Language language) {
+        switch (language) {
+            case ENG:
+                return new HyphenationSyllabifier("hyphen.tex");
+            case BEN:
+                return new AksaraSyllabifier(0x0980);
+            case HIN:
+                return new AksaraSyllabifier(0x0900);
+            case FIL:
+                return new CvSyllabifier(true, false, "ng");
+            case SWA:
+                return new CvSyllabifier(false, true, "ch", "dh", "gh", "kh", "ng'", "ny", "sh", "th");
+            case XHO:
+                return new CvSyllabifier(false, true, "dl", "gq", "hl", "kh", "ny", "sh", "tsh");
+            default:
+                // E.g. URD, since the Urdu script does not write short vowels. See setSyllabifier.
+                return null;
         }
-        
-        return hyphenator.hyphenate(text);
     }
 }
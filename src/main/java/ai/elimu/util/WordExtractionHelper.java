@@ -2,45 +2,88 @@ package ai.elimu.util;
 
 import ai.elimu.model.enums.Language;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.commons.lang.StringUtils;
 
 public class WordExtractionHelper {
-
+    
+    /**
+     * Characters that are not Letters, and which are removed from the words.
+     */
+    private static final BitSet PUNCTUATION = getPunctuation(",\"“”.!?:()");
+    
+    /**
+     * Like {@link #PUNCTUATION}, but also including the danda (see https://en.wikipedia.org/wiki/Danda).
+     */
+    private static final BitSet PUNCTUATION_DANDA = getPunctuation(",\"“”.!?:()।");
+    
     public static List<String> getWords(String paragraph, Language language) {
+        List<String> words = new ArrayList<>();
+        forEachWord(paragraph, language, word -> words.add(word.toString()));
+        return words;
+    }
+    
+    /**
+     * Scans the paragraph once, and passes each of its words to the consumer. The paragraph is split on spaces, and
+     * punctuation is removed from the words.
+     * <p />
+     * Note: to avoid allocating a new String per word, the same {@link CharSequence} instance is re-used for every
+     * word. It is only valid during the call to the consumer, so use {@code toString()} to keep a word.
+     */
+    public static void forEachWord(String paragraph, Language language, Consumer<CharSequence> consumer) {
         if (StringUtils.isBlank(paragraph)) {
             throw new IllegalArgumentException("The paragraph cannot be empty");
         }
         
-        List<String> words = new ArrayList<>();
+        BitSet punctuation = getPunctuation(language);
+        StringBuilder word = new StringBuilder();
+        boolean isBlank = true;
         
-        paragraph = paragraph.trim();
-        String[] paragraphParts = paragraph.split(" ");
-        for (int i = 0; i < paragraphParts.length; i++) {
-            String paragraphPart = paragraphParts[i];
-            
-            // Remove characters that are not Letters
-            String word = paragraphPart
-                    .replace(",", "")
-                    .replace("\"", "")
-                    .replace("“", "")
-                    .replace("”", "")
-                    .replace(".", "")
-                    .replace("!", "")
-                    .replace("?", "")
-                    .replace(":", "")
-                    .replace("(", "")
-                    .replace(")", "");
-            if ((language == Language.BEN) || (language == Language.HIN)) {
-                word = word
-                        .replace("।", ""); // See https://en.wikipedia.org/wiki/Danda
-            }
-            
-            if (StringUtils.isNotBlank(word)) {
-                words.add(word);
-            }
+        // Skip leading and trailing whitespace, like String#trim
+        int start = 0;
+        int end = paragraph.length();
+        while ((start < end) && (paragraph.charAt(start) <= ' ')) {
+            start++;
+        }
+        while ((start < end) && (paragraph.charAt(end - 1) <= ' ')) {
+            end--;
         }
         
-        return words;
+        int i = start;
+        while (i < end) {
+            int codePoint = paragraph.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == ' ') {
+                if (!isBlank) {
+                    consumer.accept(word);
+                }
+                word.setLength(0);
+                isBlank = true;
+            } else if (!punctuation.get(codePoint)) {
+                word.appendCodePoint(codePoint);
+                if (!Character.isWhitespace(codePoint)) {
+                    isBlank = false;
+                }
+            }
+        }
+        if (!isBlank) {
+            consumer.accept(word);
+        }
+    }
+    
+    private static BitSet getPunctuation(Language language) {
+        if ((language == Language.BEN) || (language == Language.HIN)) {
+            return PUNCTUATION_DANDA;
+        } else {
+            return PUNCTUATION;
+        }
+    }
+    
+    private static BitSet getPunctuation(String characters) {
+        BitSet punctuation = new BitSet();
+        characters.codePoints().forEach(punctuation::set);
+        return punctuation;
     }
 }
@@ -0,0 +1,81 @@
+package ai.elimu.util.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Like {@link org.springframework.cache.concurrent.ConcurrentMapCacheFactoryBean}, but creates a bounded 
+ * {@link CaffeineCache}. When the cache is full, entries are evicted based on how often and how recently they were 
+ * used (Window TinyLFU).
+ * <p />
+ * The size of each entry is estimated in bytes by the {@link EstimatedSizeWeigher}. Hit/miss statistics are 
+ * recorded, and logged by the {@link ai.elimu.tasks.CacheStatsScheduler}.
+ */
+public class CaffeineCacheFactoryBean implements FactoryBean<CaffeineCache>, BeanNameAware, InitializingBean {
+    
+    private String name = "";
+    
+    /**
+     * The maximum (estimated) total size of the cached entries, in bytes.
+     */
+    private long maximumWeight = 10 * 1024 * 1024;
+    
+    /**
+     * The number of seconds after which an entry expires, or {@code 0} if entries should not expire.
+     */
+    private long expireAfterWriteSeconds = 0;
+    
+    private CaffeineCache cache;
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+    
+    public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds) {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+    
+    @Override
+    public void setBeanName(String beanName) {
+        if (this.name.isEmpty()) {
+            setName(beanName);
+        }
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(new EstimatedSizeWeigher())
+                .recordStats();
+        if (expireAfterWriteSeconds > 0) {
+            caffeine.expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS);
+        }
+        
+        // Do not allow null values, so that a missing entity is looked up again the next time
+        this.cache = new CaffeineCache(name, caffeine.build(), false);
+    }
+    
+    @Override
+    public CaffeineCache getObject() {
+        return cache;
+    }
+    
+    @Override
+    public Class<?> getObjectType() {
+        return CaffeineCache.class;
+    }
+    
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+}
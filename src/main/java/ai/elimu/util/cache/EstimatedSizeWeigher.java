@@ -0,0 +1,106 @@
+package ai.elimu.util.cache;
+
+import ai.elimu.model.BaseEntity;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.google.gson.Gson;
+import java.io.Writer;
+import java.util.Collection;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Estimates the number of bytes used by a cache entry. The estimate is rough, but good enough for keeping the total 
+ * size of a cache within its bounds.
+ * <p />
+ * Entries are weighed once, when they are added to the cache. Other objects than text (e.g. the Gson objects cached by 
+ * {@link ai.elimu.rest.v2.service.ContentSnapshotService}) are weighed by the length of their JSON, which is counted 
+ * without being kept in memory.
+ */
+public class EstimatedSizeWeigher implements Weigher<Object, Object> {
+    
+    /**
+     * The estimated size of a JPA entity, in bytes. Entities are not serialized, as they can refer to uninitialized 
+     * proxies, and to each other.
+     */
+    static final int ENTITY_WEIGHT = 1024;
+    
+    /**
+     * The estimated size of a number or boolean within a JSONObject or JSONArray, in bytes.
+     */
+    static final int SCALAR_WEIGHT = 16;
+    
+    /**
+     * Gson instances are thread-safe, and can be shared.
+     */
+    private static final Gson gson = new Gson();
+    
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = getWeight(value);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+    
+    private long getWeight(Object value) {
+        if (value instanceof CharSequence) {
+            // 2 bytes per char
+            return 2L * ((CharSequence) value).length();
+        } else if (value instanceof JSONObject) {
+            // Walk the parsed JSON instead of serializing it
+            JSONObject jsonObject = (JSONObject) value;
+            long weight = 0;
+            for (String key : jsonObject.keySet()) {
+                weight += 2L * key.length() + getWeight(jsonObject.opt(key));
+            }
+            return weight;
+        } else if (value instanceof JSONArray) {
+            long weight = 0;
+            for (Object element : (JSONArray) value) {
+                weight += getWeight(element);
+            }
+            return weight;
+        } else if ((value instanceof Number) || (value instanceof Boolean) || (value == JSONObject.NULL)) {
+            return SCALAR_WEIGHT;
+        } else if (value instanceof Collection) {
+            long weight = 0;
+            for (Object element : (Collection<?>) value) {
+                weight += getWeight(element);
+            }
+            return weight;
+        } else if (value instanceof BaseEntity) {
+            return ENTITY_WEIGHT;
+        } else {
+            // 2 bytes per char of the JSON
+            CharCountingWriter charCountingWriter = new CharCountingWriter();
+            gson.toJson(value, charCountingWriter);
+            return 2L * charCountingWriter.charCount;
+        }
+    }
+    
+    private static class CharCountingWriter extends Writer {
+        
+        private long charCount;
+        
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            charCount += len;
+        }
+        
+        @Override
+        public void write(int c) {
+            charCount++;
+        }
+        
+        @Override
+        public void write(String str, int off, int len) {
+            charCount += len;
+        }
+        
+        @Override
+        public void flush() {
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
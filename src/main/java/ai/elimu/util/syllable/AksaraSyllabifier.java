@@ -0,0 +1,82 @@
+package ai.elimu.util.syllable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits words written in an Indic script (Devanagari or Bengali) into aksaras, the orthographic syllables of these
+ * scripts: "সবচেয়ে" --> ["স","ব","চে","য়ে"].
+ * <p />
+ * An aksara starts with a consonant or an independent vowel. Vowel signs, nuktas and the anusvara/candrabindu/visarga
+ * belong to the aksara before them, and a virama (halant) joins the next consonant into the same aksara (conjuncts).
+ * <p />
+ * Note: the deletion of the inherent vowel (e.g. Hindi "कमल" is pronounced as two syllables) is not handled.
+ */
+public class AksaraSyllabifier implements Syllabifier {
+    
+    private static final byte OTHER = 0;
+    private static final byte CONSONANT = 1;
+    private static final byte INDEPENDENT_VOWEL = 2;
+    private static final byte VIRAMA = 3;
+    private static final byte MARK = 4;
+    
+    /**
+     * The character class of each code point in the script's Unicode block.
+     */
+    private final byte[] characterClasses = new byte[0x80];
+    
+    private final int blockStart;
+    
+    /**
+     * @param blockStart The first code point of the script's Unicode block, e.g. {@code 0x0900} for Devanagari and
+     * {@code 0x0980} for Bengali.
+     */
+    public AksaraSyllabifier(int blockStart) {
+        this.blockStart = blockStart;
+        
+        // The offsets of the characters within the block are the same in Devanagari and Bengali
+        for (int offset = 0; offset < characterClasses.length; offset++) {
+            int codePoint = blockStart + offset;
+            int type = Character.getType(codePoint);
+            if (offset == 0x4D) {
+                characterClasses[offset] = VIRAMA;
+            } else if ((type == Character.NON_SPACING_MARK) || (type == Character.COMBINING_SPACING_MARK)) {
+                characterClasses[offset] = MARK;
+            } else if (((offset >= 0x04) && (offset <= 0x14)) || (offset == 0x60) || (offset == 0x61)
+                    || ((offset >= 0x72) && (offset <= 0x77))) {
+                characterClasses[offset] = (type == Character.OTHER_LETTER) ? INDEPENDENT_VOWEL : OTHER;
+            } else if (type == Character.OTHER_LETTER) {
+                characterClasses[offset] = CONSONANT;
+            }
+        }
+    }
+    
+    @Override
+    public List<String> getSyllables(String text) {
+        List<String> syllables = new ArrayList<>();
+        int syllableStart = 0;
+        byte previousCharacterClass = OTHER;
+        for (int i = 0; i < text.length(); i++) {
+            byte characterClass = getCharacterClass(text.charAt(i));
+            boolean isSyllableStart = (characterClass == INDEPENDENT_VOWEL)
+                    || ((characterClass == CONSONANT) && (previousCharacterClass != VIRAMA));
+            if (isSyllableStart && (i > syllableStart)) {
+                syllables.add(text.substring(syllableStart, i));
+                syllableStart = i;
+            }
+            previousCharacterClass = characterClass;
+        }
+        if (text.length() > syllableStart) {
+            syllables.add(text.substring(syllableStart));
+        }
+        return syllables;
+    }
+    
+    private byte getCharacterClass(char character) {
+        int offset = character - blockStart;
+        if ((offset < 0) || (offset >= characterClasses.length)) {
+            return OTHER;
+        }
+        return characterClasses[offset];
+    }
+}
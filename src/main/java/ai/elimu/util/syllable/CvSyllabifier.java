@@ -0,0 +1,126 @@
+package ai.elimu.util.syllable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits words written in the Latin alphabet into syllables based on their consonant/vowel (CV) pattern.
+ * <p />
+ * Each vowel is the nucleus of a syllable. Consonants between two vowels go to the next syllable, except in
+ * languages with closed syllables (e.g. Filipino), where only the last of them does: "bundok" --> ["bun","dok"].
+ * In languages with open syllables (e.g. Swahili), an "m" that is followed by another consonant is a syllable of
+ * its own: "mtoto" --> ["m","to","to"].
+ */
+public class CvSyllabifier implements Syllabifier {
+    
+    /**
+     * Only code points below this value are looked up in the tables. All others are treated as consonants.
+     */
+    private static final int TABLE_SIZE = 0x0250;
+    
+    private static final String VOWELS = "aeiouáéíóúàèìòùâêîôûäëïöü";
+    
+    private final boolean[] isVowel = new boolean[TABLE_SIZE];
+    
+    /**
+     * Letter combinations that are pronounced as one consonant, e.g. "ng", longest first.
+     */
+    private final String[] digraphs;
+    
+    private final boolean isClosedSyllables;
+    
+    private final boolean isSyllabicNasal;
+    
+    /**
+     * @param isClosedSyllables Whether syllables can end with a consonant.
+     * @param isSyllabicNasal Whether an "m" followed by a consonant (other than "b", "w" or "y") is a syllable.
+     * @param digraphs Letter combinations that are pronounced as one consonant.
+     */
+    public CvSyllabifier(boolean isClosedSyllables, boolean isSyllabicNasal, String... digraphs) {
+        for (int i = 0; i < VOWELS.length(); i++) {
+            isVowel[VOWELS.charAt(i)] = true;
+        }
+        this.isClosedSyllables = isClosedSyllables;
+        this.isSyllabicNasal = isSyllabicNasal;
+        this.digraphs = digraphs.clone();
+        Arrays.sort(this.digraphs, (digraph1, digraph2) -> digraph2.length() - digraph1.length());
+    }
+    
+    @Override
+    public List<String> getSyllables(String text) {
+        String word = text.toLowerCase();
+        
+        // Split the word into units (single letters or digraphs), and mark the ones that are syllable nuclei
+        List<String> units = new ArrayList<>();
+        List<Boolean> isNucleus = new ArrayList<>();
+        int i = 0;
+        while (i < word.length()) {
+            String unit = null;
+            for (String digraph : digraphs) {
+                if (word.startsWith(digraph, i)) {
+                    unit = digraph;
+                    break;
+                }
+            }
+            if (unit == null) {
+                int codePoint = word.codePointAt(i);
+                unit = new String(Character.toChars(codePoint));
+            }
+            units.add(unit);
+            isNucleus.add(isVowel(unit));
+            i += unit.length();
+        }
+        if (isSyllabicNasal) {
+            for (int j = 0; j < units.size() - 1; j++) {
+                boolean isAfterConsonant = (j > 0) && !isNucleus.get(j - 1);
+                String nextUnit = units.get(j + 1);
+                if (units.get(j).equals("m") && !isAfterConsonant && !isNucleus.get(j + 1)
+                        && !nextUnit.equals("b") && !nextUnit.equals("w") && !nextUnit.equals("y")) {
+                    isNucleus.set(j, true);
+                }
+            }
+        }
+        
+        // Find the boundary between each pair of consecutive nuclei
+        List<Integer> boundaries = new ArrayList<>();
+        int previousNucleus = -1;
+        for (int j = 0; j < units.size(); j++) {
+            if (!isNucleus.get(j)) {
+                continue;
+            }
+            if (previousNucleus != -1) {
+                int consonantCount = j - previousNucleus - 1;
+                if (consonantCount == 0) {
+                    boundaries.add(j);
+                } else if (isClosedSyllables) {
+                    boundaries.add(j - 1);
+                } else {
+                    boundaries.add(previousNucleus + 1);
+                }
+            }
+            previousNucleus = j;
+        }
+        
+        List<String> syllables = new ArrayList<>();
+        StringBuilder syllable = new StringBuilder();
+        int boundaryIndex = 0;
+        for (int j = 0; j < units.size(); j++) {
+            if ((boundaryIndex < boundaries.size()) && (boundaries.get(boundaryIndex) == j)) {
+                syllables.add(syllable.toString());
+                syllable.setLength(0);
+                boundaryIndex++;
+            }
+            syllable.append(units.get(j));
+        }
+        if (syllable.length() > 0) {
+            syllables.add(syllable.toString());
+        }
+        return syllables;
+    }
+    
+    private boolean isVowel(String unit) {
+        int codePoint = unit.codePointAt(0);
+        return (unit.length() == 1) && (codePoint < TABLE_SIZE) && isVowel[codePoint];
+    }
+}
@@ -0,0 +1,92 @@
+package ai.elimu.util.syllable;
+
+import ai.elimu.util.SyllableHelper;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import net.davidashen.text.Hyphenator;
+import net.davidashen.util.ErrorHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Splits words at the hyphenation points of a TeX pattern file (e.g. {@code hyphen.tex} for English).
+ * <p />
+ * The pattern file is parsed once, when the syllabifier is created (one per language, see {@link SyllableHelper}), 
+ * and the Hyphenator is shared by all threads. As it is not documented as being thread-safe, calls to it are 
+ * synchronized. Each word is only split once, as {@link SyllableHelper} memoizes the syllables of each word, so 
+ * threads rarely wait for each other (e.g. in {@link ai.elimu.util.ParallelFrequencyHelper}).
+ */
+public class HyphenationSyllabifier implements Syllabifier {
+    
+    private final Logger logger = LogManager.getLogger();
+    
+    private final Hyphenator hyphenator;
+    
+    /**
+     * @param patternFileName The name of a TeX pattern file, located next to {@link SyllableHelper}.
+     */
+    public HyphenationSyllabifier(String patternFileName) {
+        logger.info("patternFileName: " + patternFileName);
+        
+        this.hyphenator = createHyphenator(patternFileName);
+    }
+    
+    private Hyphenator createHyphenator(String patternFileName) {
+        logger.info("createHyphenator");
+        
+        Hyphenator hyphenator = new Hyphenator();
+        hyphenator.setErrorHandler(new ErrorHandler() {
+            
+            @Override
+            public void debug(String guard, String message) {
+                logger.debug(message);
+            }
+            
+            @Override
+            public void info(String message) {
+                logger.debug(message);
+            }
+            
+            @Override
+            public void warning(String message) {
+                logger.warn(message);
+            }
+            
+            @Override
+            public void error(String message) {
+                logger.error(message);
+            }
+            
+            @Override
+            public void exception(String message, Exception e) {
+                logger.error(message, e);
+            }
+        });
+        
+        try (InputStream inputStream = new BufferedInputStream(SyllableHelper.class.getResourceAsStream(patternFileName))) {
+            hyphenator.loadTable(inputStream);
+        } catch (IOException ex) {
+            logger.error(ex);
+        }
+        return hyphenator;
+    }
+    
+    @Override
+    public List<String> getSyllables(String text) {
+        String hyphenatedWord;
+        synchronized (hyphenator) {
+            hyphenatedWord = hyphenator.hyphenate(text);
+        }
+        logger.debug("hyphenatedWord: " + hyphenatedWord);
+        
+        List<String> syllables = new ArrayList<>();
+        String[] syllableArray = hyphenatedWord.split("­");
+        for (String syllable : syllableArray) {
+            syllables.add(syllable.toLowerCase());
+        }
+        return syllables;
+    }
+}
@@ -0,0 +1,19 @@
+package ai.elimu.util.syllable;
+
+import java.util.List;
+
+/**
+ * Splits a word into syllables. There is one implementation per writing system, and {@link ai.elimu.util.SyllableHelper} 
+ * keeps track of which implementation to use for each language.
+ * <p />
+ * Implementations must be thread-safe.
+ */
+public interface Syllabifier {
+    
+    /**
+     * Example (English): "chicken" --> ["chick","en"]
+     * 
+     * @return The word's syllables in lower-case, or an empty list if the word could not be split.
+     */
+    List<String> getSyllables(String text);
+}
@@ -1,8 +1,14 @@
 package ai.elimu.web.analytics;
 
+import ai.elimu.dao.LearningEventDao;
+import ai.elimu.dao.LearningEventRollupDao;
 import ai.elimu.dao.LetterLearningEventDao;
 import ai.elimu.dao.StoryBookLearningEventDao;
 import ai.elimu.dao.WordLearningEventDao;
+import ai.elimu.model.analytics.LearningEvent;
+import ai.elimu.model.analytics.LetterLearningEvent;
+import ai.elimu.model.analytics.StoryBookLearningEvent;
+import ai.elimu.model.analytics.WordLearningEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +23,9 @@ public class MainAnalyticsController {
     
     private final Logger logger = LogManager.getLogger();
     
+    @Autowired
+    private LearningEventRollupDao learningEventRollupDao;
+    
     @Autowired
     private LetterLearningEventDao letterLearningEventDao;
     
@@ -30,10 +39,19 @@ public class MainAnalyticsController {
     public String handleRequest(Model model) {
     	logger.info("handleRequest");
         
-        model.addAttribute("letterLearningEventCount", letterLearningEventDao.readCount());
-        model.addAttribute("wordLearningEventCount", wordLearningEventDao.readCount());
-        model.addAttribute("storyBookLearningEventCount", storyBookLearningEventDao.readCount());
+        model.addAttribute("letterLearningEventCount", readEventCount(LetterLearningEvent.class, letterLearningEventDao));
+        model.addAttribute("wordLearningEventCount", readEventCount(WordLearningEvent.class, wordLearningEventDao));
+        model.addAttribute("storyBookLearningEventCount", readEventCount(StoryBookLearningEvent.class, storyBookLearningEventDao));
     	
         return "analytics/main";
     }
+    
+    /**
+     * Reads the number of events from the {@link ai.elimu.model.analytics.LearningEventRollup}s, instead of counting 
+     * all the events. Only the events that have not been counted yet are read from the event table.
+     */
+    private Long readEventCount(Class<? extends LearningEvent> eventType, LearningEventDao<?> learningEventDao) {
+        Long lastEventId = learningEventRollupDao.readLastEventId(eventType);
+        return learningEventRollupDao.readEventCount(eventType) + learningEventDao.readCount(lastEventId);
+    }
 }
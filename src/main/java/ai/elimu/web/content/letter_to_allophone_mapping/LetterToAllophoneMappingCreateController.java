@@ -1,5 +1,6 @@
 package ai.elimu.web.content.letter_to_allophone_mapping;
 
+import java.util.Calendar;
 import java.util.List;
 import javax.validation.Valid;
 
@@ -75,6 +76,7 @@ public class LetterToAllophoneMappingCreateController {
             
             return "content/letter-to-allophone-mapping/create";
         } else {
+            letterToAllophoneMapping.setTimeLastUpdate(Calendar.getInstance());
             letterToAllophoneMappingDao.create(letterToAllophoneMapping);
             
             return "redirect:/content/letter-to-allophone-mapping/list#" + letterToAllophoneMapping.getId();
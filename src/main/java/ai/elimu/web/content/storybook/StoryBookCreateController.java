@@ -14,6 +14,7 @@ import ai.elimu.model.contributor.Contributor;
 import ai.elimu.model.contributor.StoryBookContributionEvent;
 import ai.elimu.model.enums.ContentLicense;
 import ai.elimu.model.enums.ReadingLevel;
+import ai.elimu.rest.v2.service.StoryBooksJsonService;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import org.apache.logging.log4j.LogManager;
@@ -38,6 +39,9 @@ public class StoryBookCreateController {
     
     @Autowired
     private ImageDao imageDao;
+    
+    @Autowired
+    private StoryBooksJsonService storyBooksJsonService;
 
     @RequestMapping(method = RequestMethod.GET)
     public String handleRequest(Model model) {
@@ -98,6 +102,9 @@ public class StoryBookCreateController {
             storyBookContributionEvent.setTimeSpentMs(System.currentTimeMillis() - Long.valueOf(request.getParameter("timeStart")));
             storyBookContributionEventDao.create(storyBookContributionEvent);
             
+            // Refresh REST API cache
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
+            
             return "redirect:/content/storybook/list#" + storyBook.getId();
         }
     }
@@ -18,6 +18,7 @@ import ai.elimu.model.content.multimedia.Image;
 import ai.elimu.model.contributor.Contributor;
 import ai.elimu.model.contributor.StoryBookContributionEvent;
 import ai.elimu.model.enums.content.ImageFormat;
+import ai.elimu.rest.v2.service.StoryBooksJsonService;
 import ai.elimu.util.ImageColorHelper;
 import ai.elimu.util.ImageHelper;
 import ai.elimu.util.epub.EPubChapterExtractionHelper;
@@ -73,6 +74,9 @@ public class StoryBookCreateFromEPubController {
     
     @Autowired
     private StoryBookParagraphDao storyBookParagraphDao;
+    
+    @Autowired
+    private StoryBooksJsonService storyBooksJsonService;
 
     @RequestMapping(method = RequestMethod.GET)
     public String handleRequest(Model model) {
@@ -390,6 +394,9 @@ public class StoryBookCreateFromEPubController {
                 }
             }
             
+            // Refresh REST API cache
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
+            
             return "redirect:/content/storybook/edit/" + storyBook.getId();
         }
     }
@@ -31,9 +31,11 @@ import ai.elimu.model.enums.Language;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
 import ai.elimu.util.ConfigHelper;
 import ai.elimu.util.LetterFrequencyHelper;
+import ai.elimu.util.LetterTable;
 import ai.elimu.util.WordFrequencyHelper;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import javax.servlet.http.HttpSession;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -129,12 +131,13 @@ public class StoryBookEditController {
         model.addAttribute("wordMap", wordMap);
         model.addAttribute("emojisByWordId", getEmojisByWordId());
         
-        Map<String, Integer> letterFrequencyMap = LetterFrequencyHelper.getLetterFrequency(paragraphs, language);
-        model.addAttribute("letterFrequencyMap", letterFrequencyMap);
-        Map<String, Letter> letterMap = new HashMap<>();
+        Map<String, Letter> letterMap = new LinkedHashMap<>();
         for (Letter letter : letterDao.readAllOrdered()) {
             letterMap.put(letter.getText(), letter);
         }
+        LetterTable letterTable = new LetterTable(letterMap.keySet());
+        Map<String, Integer> letterFrequencyMap = LetterFrequencyHelper.getLetterFrequency(paragraphs, language, letterTable);
+        model.addAttribute("letterFrequencyMap", letterFrequencyMap);
         model.addAttribute("letterMap", letterMap);
         
         return "content/storybook/edit";
@@ -198,12 +201,13 @@ public class StoryBookEditController {
             model.addAttribute("wordMap", wordMap);
             model.addAttribute("emojisByWordId", getEmojisByWordId());
 
-            Map<String, Integer> letterFrequencyMap = LetterFrequencyHelper.getLetterFrequency(paragraphs, language);
-            model.addAttribute("letterFrequencyMap", letterFrequencyMap);
-            Map<String, Letter> letterMap = new HashMap<>();
+            Map<String, Letter> letterMap = new LinkedHashMap<>();
             for (Letter letter : letterDao.readAllOrdered()) {
                 letterMap.put(letter.getText(), letter);
             }
+            LetterTable letterTable = new LetterTable(letterMap.keySet());
+            Map<String, Integer> letterFrequencyMap = LetterFrequencyHelper.getLetterFrequency(paragraphs, language, letterTable);
+            model.addAttribute("letterFrequencyMap", letterFrequencyMap);
             model.addAttribute("letterMap", letterMap);
 
             return "content/storybook/edit";
@@ -222,7 +226,7 @@ public class StoryBookEditController {
             storyBookContributionEventDao.create(storyBookContributionEvent);
             
             // Refresh REST API cache
-            storyBooksJsonService.refreshStoryBooksJSONArray();
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
             
             return "redirect:/content/storybook/list#" + storyBook.getId();
         }
@@ -10,6 +10,7 @@ import ai.elimu.model.content.multimedia.Image;
 import ai.elimu.model.contributor.Contributor;
 import ai.elimu.model.contributor.StoryBookContributionEvent;
 import ai.elimu.model.enums.PeerReviewStatus;
+import ai.elimu.rest.v2.service.StoryBooksJsonService;
 import java.util.Calendar;
 import java.util.List;
 import javax.servlet.http.HttpSession;
@@ -41,6 +42,9 @@ public class StoryBookChapterCreateController {
     
     @Autowired
     private ImageDao imageDao;
+    
+    @Autowired
+    private StoryBooksJsonService storyBooksJsonService;
 
     @RequestMapping(method = RequestMethod.GET)
     public String handleRequest(
@@ -103,6 +107,9 @@ public class StoryBookChapterCreateController {
             storyBookContributionEvent.setComment("Created storybook chapter " + (storyBookChapter.getSortOrder() + 1) + " (🤖 auto-generated comment)");
             storyBookContributionEventDao.create(storyBookContributionEvent);
             
+            // Refresh the REST API cache
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
+            
             return "redirect:/content/storybook/edit/" + storyBookId + "#ch-id-" + storyBookChapter.getId();
         }
     }
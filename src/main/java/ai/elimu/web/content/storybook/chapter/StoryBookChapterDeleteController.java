@@ -1,6 +1,7 @@
 package ai.elimu.web.content.storybook.chapter;
 
 import ai.elimu.dao.AudioDao;
+import ai.elimu.dao.DeletedContentDao;
 import ai.elimu.dao.ImageDao;
 import ai.elimu.dao.StoryBookChapterDao;
 import ai.elimu.dao.StoryBookContributionEventDao;
@@ -16,6 +17,7 @@ import ai.elimu.model.contributor.StoryBookContributionEvent;
 import ai.elimu.model.enums.PeerReviewStatus;
 import ai.elimu.model.enums.Role;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
+import ai.elimu.tasks.service.UsageCountDeltaService;
 import java.util.Calendar;
 import java.util.List;
 import javax.servlet.http.HttpSession;
@@ -51,8 +53,14 @@ public class StoryBookChapterDeleteController {
     @Autowired
     private ImageDao imageDao;
     
+    @Autowired
+    private DeletedContentDao deletedContentDao;
+    
     @Autowired
     private StoryBooksJsonService storyBooksJsonService;
+    
+    @Autowired
+    private UsageCountDeltaService usageCountDeltaService;
 
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public String handleRequest(HttpSession session, @PathVariable Long storyBookId, @PathVariable Long id) {
@@ -82,6 +90,9 @@ public class StoryBookChapterDeleteController {
             
             logger.info("Deleting StoryBookParagraph with ID " + storyBookParagraphToBeDeleted.getId());
             storyBookParagraphDao.delete(storyBookParagraphToBeDeleted);
+            
+            // Update usage counts
+            usageCountDeltaService.applyParagraphChange(storyBookParagraphToBeDeleted.getOriginalText(), null);
         }
         
         // Delete the chapter
@@ -102,6 +113,7 @@ public class StoryBookChapterDeleteController {
             
             logger.warn("Deleting the chapter image from the database");
             imageDao.delete(chapterImage);
+            deletedContentDao.createTombstone(chapterImage);
         }
         
         // Update the StoryBook's metadata
@@ -134,7 +146,7 @@ public class StoryBookChapterDeleteController {
         }
         
         // Refresh the REST API cache
-        storyBooksJsonService.refreshStoryBooksJSONArray();
+        storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
 
         return "redirect:/content/storybook/edit/" + storyBookId;
     }
@@ -13,6 +13,7 @@ import ai.elimu.model.contributor.Contributor;
 import ai.elimu.model.contributor.StoryBookContributionEvent;
 import ai.elimu.model.enums.PeerReviewStatus;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
+import ai.elimu.tasks.service.UsageCountDeltaService;
 import java.util.Calendar;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
@@ -50,6 +51,9 @@ public class StoryBookParagraphCreateController {
     
     @Autowired
     private StoryBooksJsonService storyBooksJsonService;
+    
+    @Autowired
+    private UsageCountDeltaService usageCountDeltaService;
 
     @RequestMapping(method = RequestMethod.GET)
     public String handleRequest(Model model, @PathVariable Long storyBookChapterId) {
@@ -109,8 +113,11 @@ public class StoryBookParagraphCreateController {
             storyBookContributionEvent.setTimeSpentMs(System.currentTimeMillis() - Long.valueOf(request.getParameter("timeStart")));
             storyBookContributionEventDao.create(storyBookContributionEvent);
             
+            // Update usage counts
+            usageCountDeltaService.applyParagraphChange(null, storyBookParagraph.getOriginalText());
+            
             // Refresh the REST API cache
-            storyBooksJsonService.refreshStoryBooksJSONArray();
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBookParagraph.getStoryBookChapter().getStoryBook());
             
             return "redirect:/content/storybook/edit/" + 
                     storyBookParagraph.getStoryBookChapter().getStoryBook().getId() + 
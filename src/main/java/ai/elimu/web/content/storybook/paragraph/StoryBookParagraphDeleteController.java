@@ -13,6 +13,7 @@ import ai.elimu.model.contributor.StoryBookContributionEvent;
 import ai.elimu.model.enums.PeerReviewStatus;
 import ai.elimu.model.enums.Role;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
+import ai.elimu.tasks.service.UsageCountDeltaService;
 import java.util.Calendar;
 import java.util.List;
 import javax.servlet.http.HttpSession;
@@ -43,6 +44,9 @@ public class StoryBookParagraphDeleteController {
     
     @Autowired
     private StoryBooksJsonService storyBooksJsonService;
+    
+    @Autowired
+    private UsageCountDeltaService usageCountDeltaService;
 
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public String handleRequest(HttpSession session, @PathVariable Long id) {
@@ -72,6 +76,9 @@ public class StoryBookParagraphDeleteController {
         logger.info("Deleting StoryBookParagraph with ID " + storyBookParagraphToBeDeleted.getId());
         storyBookParagraphDao.delete(storyBookParagraphToBeDeleted);
         
+        // Update usage counts
+        usageCountDeltaService.applyParagraphChange(paragraphTextBeforeDeletion, null);
+        
         // Update the storybook's metadata
         StoryBook storyBook = storyBookParagraphToBeDeleted.getStoryBookChapter().getStoryBook();
         storyBook.setTimeLastUpdate(Calendar.getInstance());
@@ -103,7 +110,7 @@ public class StoryBookParagraphDeleteController {
         }
         
         // Refresh the REST API cache
-        storyBooksJsonService.refreshStoryBooksJSONArray();
+        storyBooksJsonService.refreshStoryBookJSONObject(storyBook);
         
         return "redirect:/content/storybook/edit/" + storyBook.getId() + "#ch-id-" + storyBookParagraphToBeDeleted.getStoryBookChapter().getId();
     }
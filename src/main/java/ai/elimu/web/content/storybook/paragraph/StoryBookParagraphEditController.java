@@ -17,6 +17,7 @@ import ai.elimu.model.enums.PeerReviewStatus;
 import ai.elimu.model.enums.Platform;
 import ai.elimu.model.enums.content.AudioFormat;
 import ai.elimu.rest.v2.service.StoryBooksJsonService;
+import ai.elimu.tasks.service.UsageCountDeltaService;
 import ai.elimu.util.ConfigHelper;
 import ai.elimu.util.audio.GoogleCloudTextToSpeechHelper;
 import java.util.Calendar;
@@ -57,6 +58,9 @@ public class StoryBookParagraphEditController {
     
     @Autowired
     private StoryBooksJsonService storyBooksJsonService;
+    
+    @Autowired
+    private UsageCountDeltaService usageCountDeltaService;
 
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public String handleRequest(Model model, @PathVariable Long id, HttpSession session) {
@@ -158,8 +162,11 @@ public class StoryBookParagraphEditController {
             storyBookContributionEvent.setTimeSpentMs(System.currentTimeMillis() - Long.valueOf(request.getParameter("timeStart")));
             storyBookContributionEventDao.create(storyBookContributionEvent);
             
+            // Update usage counts
+            usageCountDeltaService.applyParagraphChange(storyBookParagraphBeforeEdit.getOriginalText(), storyBookParagraph.getOriginalText());
+            
             // Refresh the REST API cache
-            storyBooksJsonService.refreshStoryBooksJSONArray();
+            storyBooksJsonService.refreshStoryBookJSONObject(storyBookParagraph.getStoryBookChapter().getStoryBook());
             
             return "redirect:/content/storybook/edit/" + 
                     storyBookParagraph.getStoryBookChapter().getStoryBook().getId() + 
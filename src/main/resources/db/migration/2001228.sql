@@ -0,0 +1,7 @@
+# 2.1.228
+
+ALTER TABLE LetterAssessmentEvent MODIFY `time` DATETIME(6) NOT NULL;
+ALTER TABLE LetterLearningEvent MODIFY `time` DATETIME(6) NOT NULL;
+ALTER TABLE StoryBookLearningEvent MODIFY `time` DATETIME(6) NOT NULL;
+ALTER TABLE WordAssessmentEvent MODIFY `time` DATETIME(6) NOT NULL;
+ALTER TABLE WordLearningEvent MODIFY `time` DATETIME(6) NOT NULL;
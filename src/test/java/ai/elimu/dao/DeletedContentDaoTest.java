@@ -0,0 +1,41 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.content.StoryBookChapter;
+import ai.elimu.model.content.StoryBookParagraph;
+import java.util.Calendar;
+import java.util.List;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("file:src/main/webapp/WEB-INF/spring/applicationContext-jpa.xml")
+public class DeletedContentDaoTest {
+    
+    @Autowired
+    private DeletedContentDao deletedContentDao;
+    
+    @Test
+    public void testReadAllContentIds() {
+        Calendar timeBeforeDeletion = Calendar.getInstance();
+        
+        StoryBookParagraph storyBookParagraph = new StoryBookParagraph();
+        storyBookParagraph.setId(123L);
+        deletedContentDao.createTombstone(storyBookParagraph);
+        
+        List<Long> deletedParagraphIds = deletedContentDao.readAllContentIds(StoryBookParagraph.class, timeBeforeDeletion);
+        assertThat(deletedParagraphIds.contains(123L), is(true));
+        
+        List<Long> deletedChapterIds = deletedContentDao.readAllContentIds(StoryBookChapter.class, timeBeforeDeletion);
+        assertThat(deletedChapterIds.contains(123L), is(false));
+        
+        Calendar timeAfterDeletion = Calendar.getInstance();
+        timeAfterDeletion.add(Calendar.MINUTE, 1);
+        deletedParagraphIds = deletedContentDao.readAllContentIds(StoryBookParagraph.class, timeAfterDeletion);
+        assertThat(deletedParagraphIds.contains(123L), is(false));
+    }
+}
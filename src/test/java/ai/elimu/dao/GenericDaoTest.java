@@ -0,0 +1,80 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.content.Allophone;
+import ai.elimu.model.content.LetterToAllophoneMapping;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("file:src/main/webapp/WEB-INF/spring/applicationContext-jpa.xml")
+public class GenericDaoTest {
+    
+    @Autowired
+    private AllophoneDao allophoneDao;
+    
+    @Autowired
+    private LetterToAllophoneMappingDao letterToAllophoneMappingDao;
+    
+    @Test
+    public void testReadContentVersion() {
+        String versionBefore = allophoneDao.readContentVersion();
+        
+        Allophone allophone = new Allophone();
+        allophone.setValueIpa("ʊ");
+        allophone.setValueSampa("U");
+        allophoneDao.create(allophone);
+        
+        String versionAfter = allophoneDao.readContentVersion();
+        assertThat(versionAfter, not(versionBefore));
+    }
+    
+    @Test
+    public void testReadContentVersion_letterToAllophoneMapping() {
+        LetterToAllophoneMapping letterToAllophoneMapping = new LetterToAllophoneMapping();
+        letterToAllophoneMapping.setLetters(new ArrayList<>());
+        letterToAllophoneMapping.setAllophones(new ArrayList<>());
+        letterToAllophoneMapping.setTimeLastUpdate(Calendar.getInstance());
+        letterToAllophoneMappingDao.create(letterToAllophoneMapping);
+        
+        String versionBefore = letterToAllophoneMappingDao.readContentVersion();
+        
+        // E.g. one of the mapping's Letters was replaced, which does not change the number of mappings
+        Calendar timeLastUpdate = Calendar.getInstance();
+        timeLastUpdate.add(Calendar.SECOND, 1);
+        letterToAllophoneMapping.setTimeLastUpdate(timeLastUpdate);
+        letterToAllophoneMappingDao.update(letterToAllophoneMapping);
+        
+        String versionAfter = letterToAllophoneMappingDao.readContentVersion();
+        assertThat(versionAfter, not(versionBefore));
+    }
+    
+    @Test
+    public void testReadAllOrderedById() {
+        Allophone allophone1 = new Allophone();
+        allophone1.setValueIpa("ɔ");
+        allophone1.setValueSampa("O");
+        allophoneDao.create(allophone1);
+        
+        Allophone allophone2 = new Allophone();
+        allophone2.setValueIpa("ʌ");
+        allophone2.setValueSampa("V");
+        allophoneDao.create(allophone2);
+        
+        List<Allophone> page = allophoneDao.readAllOrderedById(allophone1.getId() - 1, 1);
+        assertThat(page.size(), is(1));
+        assertThat(page.get(0).getId(), is(allophone1.getId()));
+        
+        page = allophoneDao.readAllOrderedById(allophone1.getId(), 1);
+        assertThat(page.size(), is(1));
+        assertThat(page.get(0).getId(), is(allophone2.getId()));
+    }
+}
@@ -0,0 +1,142 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.analytics.LearningEventRollup;
+import ai.elimu.model.analytics.LetterLearningEvent;
+import ai.elimu.model.analytics.WordLearningEvent;
+import ai.elimu.model.content.Word;
+import ai.elimu.model.enums.analytics.LearningEventType;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("file:src/main/webapp/WEB-INF/spring/applicationContext-jpa.xml")
+public class LearningEventRollupDaoTest {
+    
+    @Autowired
+    private LearningEventRollupDao learningEventRollupDao;
+    
+    @Autowired
+    private WordLearningEventDao wordLearningEventDao;
+    
+    @Autowired
+    private WordDao wordDao;
+    
+    private Word word;
+    
+    @After
+    public void tearDown() {
+        // Clean up content stored in the database, so that it won't affect the other tests
+        for (LearningEventRollup learningEventRollup : learningEventRollupDao.readAll()) {
+            learningEventRollupDao.delete(learningEventRollup);
+        }
+        for (WordLearningEvent wordLearningEvent : wordLearningEventDao.readAll()) {
+            wordLearningEventDao.delete(wordLearningEvent);
+        }
+        if (word != null) {
+            wordDao.delete(word);
+        }
+    }
+    
+    @Test
+    public void testAddAll() {
+        assertThat(learningEventRollupDao.readLastEventId(WordLearningEvent.class), is(0L));
+        assertThat(learningEventRollupDao.readEventCount(WordLearningEvent.class), is(0L));
+        
+        Calendar eventDate = Calendar.getInstance();
+        learningEventRollupDao.addAll(Arrays.asList(
+                getLearningEventRollup(eventDate, 123L, 2L, 10L),
+                getLearningEventRollup(eventDate, 124L, 1L, 11L)
+        ));
+        assertThat(learningEventRollupDao.readLastEventId(WordLearningEvent.class), is(11L));
+        assertThat(learningEventRollupDao.readEventCount(WordLearningEvent.class), is(3L));
+        assertThat(learningEventRollupDao.readCount(), is(2L));
+        
+        // The counts of the same day, device and content are added to the stored counts
+        learningEventRollupDao.addAll(Arrays.asList(
+                getLearningEventRollup(eventDate, 123L, 5L, 20L)
+        ));
+        assertThat(learningEventRollupDao.readLastEventId(WordLearningEvent.class), is(20L));
+        assertThat(learningEventRollupDao.readEventCount(WordLearningEvent.class), is(8L));
+        assertThat(learningEventRollupDao.readCount(), is(2L));
+        
+        assertThat(learningEventRollupDao.readEventCount(LetterLearningEvent.class), is(0L));
+    }
+    
+    @Test
+    public void testReadRollups() {
+        word = new Word();
+        wordDao.create(word);
+        
+        Calendar day1 = Calendar.getInstance();
+        day1.set(2021, Calendar.AUGUST, 1, 12, 0, 0);
+        Calendar day2 = Calendar.getInstance();
+        day2.set(2021, Calendar.AUGUST, 2, 12, 0, 0);
+        
+        createWordLearningEvent(day1, 0, word);
+        createWordLearningEvent(day1, 1, word);
+        createWordLearningEvent(day1, 2, null);
+        createWordLearningEvent(day2, 0, word);
+        Long maxEventId = wordLearningEventDao.readMaxId();
+        
+        // One rollup per day and content, including the events without a Word
+        List<LearningEventRollup> learningEventRollups = wordLearningEventDao.readRollups(0L, maxEventId);
+        assertThat(learningEventRollups.size(), is(3));
+        Map<String, Long> eventCountsByDayAndContentId = new HashMap<>();
+        for (LearningEventRollup learningEventRollup : learningEventRollups) {
+            assertThat(learningEventRollup.getEventType(), is(WordLearningEvent.class.getSimpleName()));
+            assertThat(learningEventRollup.getAndroidId(), is("7161a85a0e4751cd"));
+            eventCountsByDayAndContentId.put(learningEventRollup.getEventDate().get(Calendar.DAY_OF_MONTH) + "_" + learningEventRollup.getContentId(), learningEventRollup.getEventCount());
+        }
+        assertThat(eventCountsByDayAndContentId.get("1_" + word.getId()), is(2L));
+        assertThat(eventCountsByDayAndContentId.get("1_null"), is(1L));
+        assertThat(eventCountsByDayAndContentId.get("2_" + word.getId()), is(1L));
+        
+        learningEventRollupDao.addAll(learningEventRollups);
+        assertThat(learningEventRollupDao.readEventCount(WordLearningEvent.class), is(4L));
+        assertThat(learningEventRollupDao.readLastEventId(WordLearningEvent.class), is(maxEventId));
+        
+        // Only the events stored after the last counted event, added to the stored counts of the same day and content
+        createWordLearningEvent(day2, 1, word);
+        createWordLearningEvent(day2, 2, null);
+        learningEventRollups = wordLearningEventDao.readRollups(maxEventId, wordLearningEventDao.readMaxId());
+        assertThat(learningEventRollups.size(), is(2));
+        learningEventRollupDao.addAll(learningEventRollups);
+        assertThat(learningEventRollupDao.readEventCount(WordLearningEvent.class), is(6L));
+        assertThat(learningEventRollupDao.readLastEventId(WordLearningEvent.class), is(wordLearningEventDao.readMaxId()));
+        assertThat(learningEventRollupDao.readCount(), is(4L));
+    }
+    
+    private void createWordLearningEvent(Calendar day, int second, Word word) {
+        Calendar time = (Calendar) day.clone();
+        time.set(Calendar.SECOND, second);
+        WordLearningEvent wordLearningEvent = new WordLearningEvent();
+        wordLearningEvent.setTime(time);
+        wordLearningEvent.setAndroidId("7161a85a0e4751cd");
+        wordLearningEvent.setWord(word);
+        wordLearningEvent.setWordText("word");
+        wordLearningEvent.setLearningEventType(LearningEventType.values()[0]);
+        wordLearningEventDao.create(wordLearningEvent);
+    }
+    
+    private LearningEventRollup getLearningEventRollup(Calendar eventDate, Long contentId, Long eventCount, Long lastEventId) {
+        LearningEventRollup learningEventRollup = new LearningEventRollup();
+        learningEventRollup.setEventType(WordLearningEvent.class.getSimpleName());
+        learningEventRollup.setEventDate(eventDate);
+        learningEventRollup.setAndroidId("7161a85a0e4751cd");
+        learningEventRollup.setContentId(contentId);
+        learningEventRollup.setEventCount(eventCount);
+        learningEventRollup.setLastEventId(lastEventId);
+        return learningEventRollup;
+    }
+}
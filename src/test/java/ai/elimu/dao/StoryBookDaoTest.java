@@ -0,0 +1,45 @@
+package ai.elimu.dao;
+
+import ai.elimu.model.content.StoryBook;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("file:src/main/webapp/WEB-INF/spring/applicationContext-jpa.xml")
+public class StoryBookDaoTest {
+    
+    @Autowired
+    private StoryBookDao storyBookDao;
+    
+    @Test
+    public void testUpdateTimeLastUpdate() {
+        StoryBook storyBook = new StoryBook();
+        storyBook.setTitle("Tiger Tiger");
+        Calendar timeLastUpdateBefore = Calendar.getInstance();
+        timeLastUpdateBefore.add(Calendar.DAY_OF_MONTH, -1);
+        storyBook.setTimeLastUpdate(timeLastUpdateBefore);
+        storyBookDao.create(storyBook);
+        
+        Calendar timeSince = Calendar.getInstance();
+        timeSince.add(Calendar.HOUR, -1);
+        List<StoryBook> storyBooksChanged = storyBookDao.readAllChangedSince(timeSince);
+        assertThat(storyBooksChanged.isEmpty(), is(true));
+        
+        storyBookDao.updateTimeLastUpdate(Arrays.asList(storyBook.getId()), Calendar.getInstance());
+        storyBooksChanged = storyBookDao.readAllChangedSince(timeSince);
+        assertThat(storyBooksChanged.size(), is(1));
+        assertThat(storyBooksChanged.get(0).getId(), is(storyBook.getId()));
+        assertThat(storyBooksChanged.get(0).getTitle(), is("Tiger Tiger"));
+        
+        // Clean up content stored in the database, so that it won't affect the other tests
+        storyBookDao.delete(storyBooksChanged.get(0));
+    }
+}
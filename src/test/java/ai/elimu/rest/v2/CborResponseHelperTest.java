@@ -0,0 +1,42 @@
+package ai.elimu.rest.v2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Function;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class CborResponseHelperTest {
+    
+    @Test
+    public void testWriteDelta() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CborResponseHelper.writeDelta(1L, new ArrayList<>(), Function.identity(), Arrays.asList(2L, 3L), response);
+        assertThat(response.getContentType(), is(MediaType.APPLICATION_CBOR_VALUE));
+        
+        // {_ "timestamp": 1, "items": [_ ], "deletedIds": [_ 2, 3]}
+        assertThat(toHex(response.getContentAsByteArray()), is("bf6974696d657374616d7001656974656d739fff6a64656c65746564496473" + "9f0203ff" + "ff"));
+    }
+    
+    @Test
+    public void testWritePage_lastPage() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CborResponseHelper.writePage(new ArrayList<>(), Function.identity(), null, response);
+        assertThat(response.getContentType(), is(MediaType.APPLICATION_CBOR_VALUE));
+        
+        // {_ "items": [_ ], "nextCursor": null}
+        assertThat(toHex(response.getContentAsByteArray()), is("bf656974656d739fff6a6e657874437572736f72f6ff"));
+    }
+    
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
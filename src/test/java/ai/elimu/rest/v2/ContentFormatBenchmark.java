@@ -0,0 +1,180 @@
+package ai.elimu.rest.v2;
+
+import ai.elimu.model.v2.gson.content.AllophoneGson;
+import ai.elimu.model.v2.gson.content.LetterGson;
+import ai.elimu.model.v2.gson.content.LetterToAllophoneMappingGson;
+import ai.elimu.model.v2.gson.content.WordGson;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the encoding speed of the /rest/v2/content/words response in JSON and in CBOR (see 
+ * {@link CborResponseHelper}), using the Words of the language's PROD words.csv.
+ * <p />
+ * Usage: run {@link #main} from the IDE, after the test classes have been compiled. The response sizes are printed 
+ * before the benchmarks are run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContentFormatBenchmark {
+    
+    @Param({"BEN", "ENG", "HIN", "SWA"})
+    private String languageCode;
+    
+    private List<WordGson> wordGsons;
+    
+    @Setup
+    public void setup() throws IOException {
+        wordGsons = getWordGsons(languageCode);
+    }
+    
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return toJson(wordGsons);
+    }
+    
+    @Benchmark
+    public byte[] writeCbor() throws IOException {
+        return toCbor(wordGsons);
+    }
+    
+    private static byte[] toJson(List<WordGson> wordGsons) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(byteArrayOutputStream, StandardCharsets.UTF_8);
+        JsonResponseHelper.writeJsonArray(wordGsons, Function.identity(), writer);
+        writer.close();
+        return byteArrayOutputStream.toByteArray();
+    }
+    
+    private static byte[] toCbor(List<WordGson> wordGsons) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        CborResponseHelper.writeCborArray(wordGsons, Function.identity(), byteArrayOutputStream);
+        return byteArrayOutputStream.toByteArray();
+    }
+    
+    private static int getGzipLength(byte[] bytes) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return byteArrayOutputStream.size();
+    }
+    
+    /**
+     * Converts the rows of words.csv to the same Gson objects as {@link JpaToGsonConverter#getWordGson}. The CSV file 
+     * only contains the texts of the Letters and Allophones, so they are given IDs here.
+     */
+    private static List<WordGson> getWordGsons(String languageCode) throws IOException {
+        Map<String, LetterGson> letterGsonsByText = new HashMap<>();
+        Map<String, AllophoneGson> allophoneGsonsByValueIpa = new HashMap<>();
+        
+        List<WordGson> wordGsons = new ArrayList<>();
+        String csvFilePath = "db/content_PROD/" + languageCode.toLowerCase() + "/words.csv";
+        try (Reader reader = new InputStreamReader(ContentFormatBenchmark.class.getClassLoader().getResourceAsStream(csvFilePath), StandardCharsets.UTF_8)) {
+            CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader());
+            for (CSVRecord csvRecord : csvParser) {
+                WordGson wordGson = new WordGson();
+                wordGson.setId(Long.valueOf(csvRecord.get("id")));
+                wordGson.setText(csvRecord.get("text"));
+                wordGson.setUsageCount(Integer.valueOf(csvRecord.get("usage_count")));
+                
+                List<LetterToAllophoneMappingGson> letterToAllophoneMappingGsons = new ArrayList<>();
+                JSONArray letterToAllophoneMappingsJsonArray = new JSONArray(csvRecord.get("letter_to_allophone_mappings"));
+                for (int i = 0; i < letterToAllophoneMappingsJsonArray.length(); i++) {
+                    JSONObject letterToAllophoneMappingJsonObject = letterToAllophoneMappingsJsonArray.getJSONObject(i);
+                    LetterToAllophoneMappingGson letterToAllophoneMappingGson = new LetterToAllophoneMappingGson();
+                    letterToAllophoneMappingGson.setId(letterToAllophoneMappingJsonObject.getLong("id"));
+                    letterToAllophoneMappingGson.setUsageCount(letterToAllophoneMappingJsonObject.getInt("usageCount"));
+                    
+                    List<LetterGson> letterGsons = new ArrayList<>();
+                    JSONArray lettersJsonArray = letterToAllophoneMappingJsonObject.getJSONArray("letters");
+                    for (int j = 0; j < lettersJsonArray.length(); j++) {
+                        letterGsons.add(letterGsonsByText.computeIfAbsent(lettersJsonArray.getString(j), text -> {
+                            LetterGson letterGson = new LetterGson();
+                            letterGson.setId(Long.valueOf(letterGsonsByText.size() + 1));
+                            letterGson.setRevisionNumber(1);
+                            letterGson.setUsageCount(0);
+                            letterGson.setText(text);
+                            letterGson.setDiacritic(false);
+                            return letterGson;
+                        }));
+                    }
+                    letterToAllophoneMappingGson.setLetters(letterGsons);
+                    
+                    List<AllophoneGson> allophoneGsons = new ArrayList<>();
+                    JSONArray allophonesJsonArray = letterToAllophoneMappingJsonObject.getJSONArray("allophones");
+                    for (int j = 0; j < allophonesJsonArray.length(); j++) {
+                        allophoneGsons.add(allophoneGsonsByValueIpa.computeIfAbsent(allophonesJsonArray.getString(j), valueIpa -> {
+                            AllophoneGson allophoneGson = new AllophoneGson();
+                            allophoneGson.setId(Long.valueOf(allophoneGsonsByValueIpa.size() + 1));
+                            allophoneGson.setRevisionNumber(1);
+                            allophoneGson.setUsageCount(0);
+                            allophoneGson.setValueIpa(valueIpa);
+                            allophoneGson.setDiacritic(false);
+                            return allophoneGson;
+                        }));
+                    }
+                    letterToAllophoneMappingGson.setAllophones(allophoneGsons);
+                    
+                    letterToAllophoneMappingGsons.add(letterToAllophoneMappingGson);
+                }
+                wordGson.setLetterToAllophoneMappings(letterToAllophoneMappingGsons);
+                
+                wordGsons.add(wordGson);
+            }
+        }
+        return wordGsons;
+    }
+    
+    public static void main(String[] args) throws IOException, RunnerException {
+        for (String languageCode : new String[] {"BEN", "ENG", "HIN", "SWA"}) {
+            List<WordGson> wordGsons = getWordGsons(languageCode);
+            byte[] json = toJson(wordGsons);
+            byte[] cbor = toCbor(wordGsons);
+            System.out.println(languageCode + ": " + wordGsons.size() + " words, "
+                    + "JSON " + json.length + " bytes (" + getGzipLength(json) + " gzipped), "
+                    + "CBOR " + cbor.length + " bytes (" + getGzipLength(cbor) + " gzipped)");
+        }
+        
+        Options options = new OptionsBuilder()
+                .include(ContentFormatBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,182 @@
+package ai.elimu.rest.v2.service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AnalyticsJobServiceTest {
+    
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    private AnalyticsJobService analyticsJobService;
+    
+    private StubLearningEventImportService learningEventImportService;
+    
+    private QueueingTaskExecutor analyticsJobExecutor;
+    
+    @Before
+    public void setUp() {
+        learningEventImportService = new StubLearningEventImportService();
+        analyticsJobExecutor = new QueueingTaskExecutor();
+        analyticsJobExecutor.setMaxPoolSize(4);
+        analyticsJobService = createAnalyticsJobService();
+    }
+    
+    @Test
+    public void testDrainSpool_claimsJobOnce() throws IOException {
+        String jobId = submit("7161a85a0e4751cd", "a1");
+        
+        analyticsJobService.drainSpool();
+        assertThat(analyticsJobService.getJob(jobId).getStatus(), is(AnalyticsJob.Status.PROCESSING));
+        
+        // A job that is still running is neither claimed again, nor requeued
+        analyticsJobService.drainSpool();
+        assertThat(analyticsJobExecutor.tasks.size(), is(1));
+        assertThat(analyticsJobService.getJob(jobId).getStatus(), is(AnalyticsJob.Status.PROCESSING));
+        
+        analyticsJobExecutor.runAll();
+        AnalyticsJob analyticsJob = analyticsJobService.getJob(jobId);
+        assertThat(analyticsJob.getStatus(), is(AnalyticsJob.Status.COMPLETED));
+        assertThat(analyticsJob.getAttemptCount(), is(1));
+        assertThat(analyticsJob.getResult(), containsString("\"storedCount\":1"));
+        assertThat(learningEventImportService.importedCsvContents, is(Arrays.asList("a1")));
+    }
+    
+    @Test
+    public void testDrainSpool_requeuesInterruptedJobAtStartup() throws IOException {
+        String jobId = submit("7161a85a0e4751cd", "a1");
+        analyticsJobService.drainSpool();
+        assertThat(analyticsJobService.getJob(jobId).getStatus(), is(AnalyticsJob.Status.PROCESSING));
+        
+        // Restart, without the job having been run
+        analyticsJobExecutor = new QueueingTaskExecutor();
+        analyticsJobExecutor.setMaxPoolSize(4);
+        analyticsJobService = createAnalyticsJobService();
+        
+        analyticsJobService.drainSpool();
+        assertThat(analyticsJobExecutor.tasks.size(), is(1));
+        analyticsJobExecutor.runAll();
+        assertThat(analyticsJobService.getJob(jobId).getStatus(), is(AnalyticsJob.Status.COMPLETED));
+        assertThat(learningEventImportService.importedCsvContents, is(Arrays.asList("a1")));
+    }
+    
+    @Test
+    public void testDrainSpool_retriesFailedJob() throws IOException {
+        learningEventImportService.failureCount = 1;
+        String jobId = submit("7161a85a0e4751cd", "a1");
+        
+        analyticsJobService.drainSpool();
+        analyticsJobExecutor.runAll();
+        AnalyticsJob analyticsJob = analyticsJobService.getJob(jobId);
+        assertThat(analyticsJob.getStatus(), is(AnalyticsJob.Status.PENDING));
+        assertThat(analyticsJob.getAttemptCount(), is(1));
+        assertThat(analyticsJob.getTimeNextAttempt() > System.currentTimeMillis(), is(true));
+        
+        // Not retried before the time of the next attempt
+        analyticsJobService.drainSpool();
+        assertThat(analyticsJobExecutor.tasks.isEmpty(), is(true));
+        
+        analyticsJob.setTimeNextAttempt(0);
+        analyticsJob.write(new File(new File(analyticsJobService.jobsDir, "pending"), jobId + ".properties"));
+        analyticsJobService.drainSpool();
+        analyticsJobExecutor.runAll();
+        analyticsJob = analyticsJobService.getJob(jobId);
+        assertThat(analyticsJob.getStatus(), is(AnalyticsJob.Status.COMPLETED));
+        assertThat(analyticsJob.getAttemptCount(), is(2));
+    }
+    
+    @Test
+    public void testDrainSpool_processesJobsOfDeviceInOrder() throws IOException, InterruptedException {
+        String jobIdA1 = submit("7161a85a0e4751cd", "a1");
+        Thread.sleep(10);
+        String jobIdA2 = submit("7161a85a0e4751cd", "a2");
+        Thread.sleep(10);
+        String jobIdB1 = submit("e387e38700000001", "b1");
+        
+        // Only the first job of each device
+        analyticsJobService.drainSpool();
+        assertThat(analyticsJobExecutor.tasks.size(), is(2));
+        assertThat(analyticsJobService.getJob(jobIdA2).getStatus(), is(AnalyticsJob.Status.PENDING));
+        analyticsJobExecutor.runAll();
+        assertThat(analyticsJobService.getJob(jobIdA1).getStatus(), is(AnalyticsJob.Status.COMPLETED));
+        assertThat(analyticsJobService.getJob(jobIdB1).getStatus(), is(AnalyticsJob.Status.COMPLETED));
+        
+        analyticsJobService.drainSpool();
+        analyticsJobExecutor.runAll();
+        assertThat(analyticsJobService.getJob(jobIdA2).getStatus(), is(AnalyticsJob.Status.COMPLETED));
+        assertThat(learningEventImportService.importedCsvContents.indexOf("a1") < learningEventImportService.importedCsvContents.indexOf("a2"), is(true));
+    }
+    
+    private AnalyticsJobService createAnalyticsJobService() {
+        AnalyticsJobService analyticsJobService = new AnalyticsJobService();
+        analyticsJobService.jobsDir = new File(temporaryFolder.getRoot(), "jobs");
+        ReflectionTestUtils.setField(analyticsJobService, "learningEventImportService", learningEventImportService);
+        ReflectionTestUtils.setField(analyticsJobService, "analyticsJobExecutor", analyticsJobExecutor);
+        return analyticsJobService;
+    }
+    
+    /**
+     * @param csvContent Identifies the job in {@link StubLearningEventImportService#importedCsvContents}.
+     */
+    private String submit(String androidId, String csvContent) throws IOException {
+        File csvFile = temporaryFolder.newFile(csvContent + ".csv");
+        Files.write(csvFile.toPath(), csvContent.getBytes(StandardCharsets.UTF_8));
+        return analyticsJobService.submit(AnalyticsJobType.WORD_LEARNING_EVENTS, csvFile, androidId);
+    }
+    
+    /**
+     * Holds the submitted tasks until the test runs them, so that the test can inspect jobs while they are running.
+     */
+    private static class QueueingTaskExecutor extends ThreadPoolTaskExecutor {
+        
+        private final List<Runnable> tasks = new ArrayList<>();
+        
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+        
+        private void runAll() {
+            List<Runnable> tasksToRun = new ArrayList<>(tasks);
+            tasks.clear();
+            for (Runnable task : tasksToRun) {
+                task.run();
+            }
+        }
+    }
+    
+    private static class StubLearningEventImportService extends LearningEventImportService {
+        
+        private final List<String> importedCsvContents = new ArrayList<>();
+        
+        /**
+         * The number of imports that fail before the imports start to succeed.
+         */
+        private int failureCount;
+        
+        @Override
+        public LearningEventImportResult importWordLearningEvents(Reader reader) throws IOException {
+            if (failureCount > 0) {
+                failureCount--;
+                throw new IOException("The database is not available");
+            }
+            importedCsvContents.add(new BufferedReader(reader).readLine());
+            return new LearningEventImportResult(1, 0);
+        }
+    }
+}
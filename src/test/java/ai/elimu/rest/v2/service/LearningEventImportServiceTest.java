@@ -0,0 +1,194 @@
+package ai.elimu.rest.v2.service;
+
+import ai.elimu.dao.ApplicationDao;
+import ai.elimu.dao.WordAssessmentEventDao;
+import ai.elimu.dao.WordDao;
+import ai.elimu.model.admin.Application;
+import ai.elimu.model.analytics.WordAssessmentEvent;
+import ai.elimu.model.content.Word;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("file:src/main/webapp/WEB-INF/spring/applicationContext-jpa.xml")
+public class LearningEventImportServiceTest {
+    
+    private static final String HEADER = "id,time,android_id,package_name,word_id,word_text,mastery_score,time_spent_ms\n";
+    
+    private static final long TIME = 1_600_000_000_000L;
+    
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+    
+    @Autowired
+    private ApplicationDao applicationDao;
+    
+    @Autowired
+    private WordAssessmentEventDao wordAssessmentEventDao;
+    
+    @Autowired
+    private WordDao wordDao;
+    
+    private LearningEventImportService learningEventImportService;
+    
+    private Application application;
+    
+    private Word word;
+    
+    @Before
+    public void setUp() {
+        // The service is not part of the JPA context, so its DAOs are autowired here
+        learningEventImportService = beanFactory.createBean(LearningEventImportService.class);
+        
+        application = new Application();
+        application.setPackageName("ai.elimu.vitabu");
+        applicationDao.create(application);
+        
+        word = new Word();
+        wordDao.create(word);
+    }
+    
+    @After
+    public void tearDown() {
+        // Clean up content stored in the database, so that it won't affect the other tests
+        for (WordAssessmentEvent wordAssessmentEvent : wordAssessmentEventDao.readAll()) {
+            wordAssessmentEventDao.delete(wordAssessmentEvent);
+        }
+        wordDao.delete(word);
+        applicationDao.delete(application);
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_duplicateWithinFile() throws IOException {
+        String csv = HEADER +
+                getRow(1, TIME, "ai.elimu.vitabu", word.getId()) +
+                getRow(2, TIME, "ai.elimu.vitabu", word.getId());
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getHttpStatus(), is(HttpStatus.OK));
+        assertThat(learningEventImportResult.getStoredCount(), is(1));
+        assertThat(learningEventImportResult.getDuplicateCount(), is(1));
+        assertThat(wordAssessmentEventDao.readCount(0L), is(1L));
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_eventsWithinSameSecond() throws IOException {
+        String csv = HEADER +
+                getRow(1, TIME + 100, "ai.elimu.vitabu", word.getId()) +
+                getRow(2, TIME + 900, "ai.elimu.vitabu", word.getId());
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getStoredCount(), is(2));
+        assertThat(learningEventImportResult.getDuplicateCount(), is(0));
+        
+        // The stored time keeps its milliseconds, so only the event with the exact same time is a duplicate
+        csv = HEADER +
+                getRow(3, TIME + 100, "ai.elimu.vitabu", word.getId()) +
+                getRow(4, TIME + 500, "ai.elimu.vitabu", word.getId());
+        learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getStoredCount(), is(1));
+        assertThat(learningEventImportResult.getDuplicateCount(), is(1));
+        assertThat(wordAssessmentEventDao.readCount(0L), is(3L));
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_duplicateInLaterChunk() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < LearningEventImportService.CHUNK_SIZE; i++) {
+            csv.append(getRow(i, TIME + (i * 1_000L), "ai.elimu.vitabu", word.getId()));
+        }
+        csv.append(getRow(LearningEventImportService.CHUNK_SIZE, TIME, "ai.elimu.vitabu", word.getId()));
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv.toString()));
+        assertThat(learningEventImportResult.getStoredCount(), is(LearningEventImportService.CHUNK_SIZE));
+        assertThat(learningEventImportResult.getDuplicateCount(), is(1));
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_unknownPackageName() throws IOException {
+        String csv = HEADER +
+                getRow(1, TIME, "ai.elimu.unknown", word.getId());
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getHttpStatus(), is(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(learningEventImportResult.getStoredCount(), is(0));
+        assertThat(wordAssessmentEventDao.readCount(0L), is(0L));
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_unknownWordId() throws IOException {
+        String csv = HEADER +
+                getRow(1, TIME, "ai.elimu.vitabu", word.getId()) +
+                getRow(2, TIME + 1_000, "ai.elimu.vitabu", word.getId() + 1);
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getHttpStatus(), is(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(learningEventImportResult.getStoredCount(), is(0));
+        assertThat(wordAssessmentEventDao.readCount(0L), is(0L));
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_allDuplicates() throws IOException {
+        String csv = HEADER +
+                getRow(1, TIME, "ai.elimu.vitabu", word.getId()) +
+                getRow(2, TIME + 1_000, "ai.elimu.vitabu", word.getId());
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getHttpStatus(), is(HttpStatus.OK));
+        assertThat(learningEventImportResult.getStoredCount(), is(2));
+        
+        // The same file uploaded again
+        learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getHttpStatus(), is(HttpStatus.CONFLICT));
+        assertThat(learningEventImportResult.getStoredCount(), is(0));
+        assertThat(learningEventImportResult.getDuplicateCount(), is(2));
+        assertThat(wordAssessmentEventDao.readCount(0L), is(2L));
+    }
+    
+    @Test
+    public void testImportWordAssessmentEvents_uniqueKeyViolation() throws IOException {
+        String csv = HEADER +
+                getRow(1, TIME, "ai.elimu.vitabu", word.getId()) +
+                getRow(2, TIME + 1_000, "ai.elimu.vitabu", word.getId());
+        learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        
+        // As if the events were stored by a concurrent upload, after their keys were read
+        WordAssessmentEventDao keysNotFoundDao = (WordAssessmentEventDao) Proxy.newProxyInstance(
+                WordAssessmentEventDao.class.getClassLoader(),
+                new Class<?>[] { WordAssessmentEventDao.class },
+                (proxy, method, args) -> {
+                    if ("readAllKeys".equals(method.getName())) {
+                        return new HashSet<String>();
+                    }
+                    try {
+                        return method.invoke(wordAssessmentEventDao, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+        ReflectionTestUtils.setField(learningEventImportService, "wordAssessmentEventDao", keysNotFoundDao);
+        
+        csv = HEADER +
+                getRow(1, TIME, "ai.elimu.vitabu", word.getId()) +
+                getRow(2, TIME + 1_000, "ai.elimu.vitabu", word.getId()) +
+                getRow(3, TIME + 2_000, "ai.elimu.vitabu", word.getId());
+        LearningEventImportResult learningEventImportResult = learningEventImportService.importWordAssessmentEvents(new StringReader(csv));
+        assertThat(learningEventImportResult.getHttpStatus(), is(HttpStatus.OK));
+        assertThat(learningEventImportResult.getStoredCount(), is(1));
+        assertThat(learningEventImportResult.getDuplicateCount(), is(2));
+        assertThat(wordAssessmentEventDao.readCount(0L), is(3L));
+    }
+    
+    private String getRow(int id, long time, String packageName, Long wordId) {
+        return id + "," + time + ",7161a85a0e4751cd," + packageName + "," + wordId + ",word,0.5,1000\n";
+    }
+}
@@ -3,6 +3,7 @@ package ai.elimu.util;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
 
+import java.util.Calendar;
 import org.junit.Test;
 
 public class AnalyticsHelperTest {
@@ -15,4 +16,16 @@ public class AnalyticsHelperTest {
         filename = "7161a85a0e4751cd_word-learning-events_2020-04-23.csv";
         assertThat(AnalyticsHelper.extractAndroidIdFromCsvFilename(filename), is("7161a85a0e4751cd"));
     }
+    
+    @Test
+    public void testGetLearningEventKey() {
+        Calendar time = Calendar.getInstance();
+        time.setTimeInMillis(1588412345678L);
+        assertThat(AnalyticsHelper.getLearningEventKey(time, "745f90e7aae26423", 2L, 36L), is("1588412345678_745f90e7aae26423_2_36"));
+        
+        // Events within the same second are distinct
+        Calendar timeWithoutMillis = Calendar.getInstance();
+        timeWithoutMillis.setTimeInMillis(1588412345000L);
+        assertThat(AnalyticsHelper.getLearningEventKey(timeWithoutMillis, "745f90e7aae26423", 2L, 36L), not(AnalyticsHelper.getLearningEventKey(time, "745f90e7aae26423", 2L, 36L)));
+    }
 }
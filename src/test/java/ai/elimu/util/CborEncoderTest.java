@@ -0,0 +1,121 @@
+package ai.elimu.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * The expected values are from the examples in https://www.rfc-editor.org/rfc/rfc8949#appendix-A
+ */
+public class CborEncoderTest {
+    
+    @Test
+    public void testWrite_integer() throws IOException {
+        assertThat(encode(new JsonPrimitive(0)), is("00"));
+        assertThat(encode(new JsonPrimitive(23)), is("17"));
+        assertThat(encode(new JsonPrimitive(24)), is("1818"));
+        assertThat(encode(new JsonPrimitive(100)), is("1864"));
+        assertThat(encode(new JsonPrimitive(1000)), is("1903e8"));
+        assertThat(encode(new JsonPrimitive(1000000)), is("1a000f4240"));
+        assertThat(encode(new JsonPrimitive(1000000000000L)), is("1b000000e8d4a51000"));
+        assertThat(encode(new JsonPrimitive(-1)), is("20"));
+        assertThat(encode(new JsonPrimitive(-100)), is("3863"));
+        assertThat(encode(new JsonPrimitive(-1000)), is("3903e7"));
+    }
+    
+    @Test
+    public void testWrite_parsedNumber() throws IOException {
+        assertThat(encode(new JsonParser().parse("1000")), is("1903e8"));
+        assertThat(encode(new JsonParser().parse("1.1")), is("fb3ff199999999999a"));
+    }
+    
+    @Test
+    public void testWrite_double() throws IOException {
+        assertThat(encode(new JsonPrimitive(1.1)), is("fb3ff199999999999a"));
+        assertThat(encode(new JsonPrimitive(-4.1)), is("fbc010666666666666"));
+    }
+    
+    @Test
+    public void testWrite_simpleValues() throws IOException {
+        assertThat(encode(new JsonPrimitive(false)), is("f4"));
+        assertThat(encode(new JsonPrimitive(true)), is("f5"));
+        assertThat(encode(JsonNull.INSTANCE), is("f6"));
+    }
+    
+    @Test
+    public void testWrite_textString() throws IOException {
+        assertThat(encode(new JsonPrimitive("")), is("60"));
+        assertThat(encode(new JsonPrimitive("a")), is("6161"));
+        assertThat(encode(new JsonPrimitive("IETF")), is("6449455446"));
+        assertThat(encode(new JsonPrimitive("ü")), is("62c3bc"));
+        assertThat(encode(new JsonPrimitive("水")), is("63e6b0b4"));
+    }
+    
+    @Test
+    public void testWrite_array() throws IOException {
+        JsonArray jsonArray = new JsonArray();
+        assertThat(encode(jsonArray), is("80"));
+        
+        jsonArray.add(1);
+        jsonArray.add(2);
+        jsonArray.add(3);
+        assertThat(encode(jsonArray), is("83010203"));
+    }
+    
+    @Test
+    public void testWrite_map() throws IOException {
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("a", 1);
+        JsonArray jsonArray = new JsonArray();
+        jsonArray.add(2);
+        jsonArray.add(3);
+        jsonObject.add("b", jsonArray);
+        assertThat(encode(jsonObject), is("a26161016162820203"));
+    }
+    
+    @Test
+    public void testWriteStartOfArray() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        CborEncoder cborEncoder = new CborEncoder(byteArrayOutputStream);
+        cborEncoder.writeStartOfArray();
+        cborEncoder.write(new JsonPrimitive(1));
+        cborEncoder.write(new JsonPrimitive(2));
+        cborEncoder.writeEndOfArray();
+        assertThat(toHex(byteArrayOutputStream.toByteArray()), is("9f0102ff"));
+    }
+    
+    @Test
+    public void testWriteStartOfMap() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        CborEncoder cborEncoder = new CborEncoder(byteArrayOutputStream);
+        cborEncoder.writeStartOfMap();
+        cborEncoder.writeKey("Fun");
+        cborEncoder.write(new JsonPrimitive(true));
+        cborEncoder.writeKey("Amt");
+        cborEncoder.write(new JsonPrimitive(-2));
+        cborEncoder.writeEndOfMap();
+        assertThat(toHex(byteArrayOutputStream.toByteArray()), is("bf6346756ef563416d7421ff"));
+    }
+    
+    private static String encode(JsonElement jsonElement) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        new CborEncoder(byteArrayOutputStream).write(jsonElement);
+        return toHex(byteArrayOutputStream.toByteArray());
+    }
+    
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
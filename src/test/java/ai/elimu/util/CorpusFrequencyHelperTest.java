@@ -0,0 +1,28 @@
+package ai.elimu.util;
+
+import ai.elimu.model.enums.Language;
+import java.util.ArrayList;
+import java.util.List;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class CorpusFrequencyHelperTest {
+    
+    @Test
+    public void testGetCorpusFrequency() {
+        List<String> paragraphs = new ArrayList<>();
+        paragraphs.add("\"Mom,\" called Lebo. \"Come and look. These clothes are all too small for me!\"");
+        paragraphs.add("\"Look at my skirt. It's too small,\" said Lebo.");
+        CorpusFrequency corpusFrequency = CorpusFrequencyHelper.getCorpusFrequency(paragraphs, Language.ENG);
+        
+        assertThat(corpusFrequency.getWordFrequencyMap(), is(WordFrequencyHelper.getWordFrequency(paragraphs, Language.ENG)));
+        assertThat(corpusFrequency.getWordFrequencyMap().get("look"), is(2));
+        
+        assertThat(corpusFrequency.getLetterFrequencyMap(), is(LetterFrequencyHelper.getLetterFrequency(paragraphs, Language.ENG)));
+        assertThat(corpusFrequency.getLetterFrequencyMap().get("L"), is(3));
+        
+        assertThat(corpusFrequency.getSyllableFrequencyMap(), is(SyllableFrequencyHelper.getSyllableFrequency(paragraphs, Language.ENG)));
+    }
+}
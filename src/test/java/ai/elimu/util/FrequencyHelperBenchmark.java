@@ -0,0 +1,98 @@
+package ai.elimu.util;
+
+import ai.elimu.model.enums.Language;
+import ai.elimu.model.v2.gson.content.StoryBookChapterGson;
+import ai.elimu.model.v2.gson.content.StoryBookGson;
+import ai.elimu.model.v2.gson.content.StoryBookParagraphGson;
+import ai.elimu.util.csv.CsvContentExtractionHelper;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the separate frequency helpers with {@link CorpusFrequencyHelper} and {@link ParallelFrequencyHelper}, 
+ * using the paragraphs of each language's PROD storybooks.csv.
+ * <p />
+ * Usage: run {@link #main} from the IDE, after the test classes have been compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FrequencyHelperBenchmark {
+    
+    @Param({"BEN", "ENG", "FIL", "HIN", "SWA", "URD", "XHO"})
+    private String languageCode;
+    
+    private Language language;
+    
+    private List<String> paragraphs;
+    
+    @Setup
+    public void setup() throws URISyntaxException {
+        language = Language.valueOf(languageCode);
+        paragraphs = getParagraphs(language);
+    }
+    
+    @Benchmark
+    public void separateHelpers(Blackhole blackhole) {
+        blackhole.consume(WordFrequencyHelper.getWordFrequency(paragraphs, language));
+        blackhole.consume(LetterFrequencyHelper.getLetterFrequency(paragraphs, language));
+        blackhole.consume(SyllableFrequencyHelper.getSyllableFrequency(paragraphs, language));
+    }
+    
+    @Benchmark
+    public CorpusFrequency corpusFrequencyHelper() {
+        return CorpusFrequencyHelper.getCorpusFrequency(paragraphs, language);
+    }
+    
+    @Benchmark
+    public CorpusFrequency parallelFrequencyHelper() {
+        return ParallelFrequencyHelper.getCorpusFrequency(paragraphs, language);
+    }
+    
+    /**
+     * Reads the original text of every paragraph in {@code db/content_PROD/<language>/storybooks.csv}.
+     */
+    static List<String> getParagraphs(Language language) throws URISyntaxException {
+        String csvFilePath = "db/content_PROD/" + language.toString().toLowerCase() + "/storybooks.csv";
+        File csvFile = new File(FrequencyHelperBenchmark.class.getClassLoader().getResource(csvFilePath).toURI());
+        
+        List<String> paragraphs = new ArrayList<>();
+        for (StoryBookGson storyBookGson : CsvContentExtractionHelper.getStoryBooksFromCsvBackup(csvFile)) {
+            for (StoryBookChapterGson storyBookChapterGson : storyBookGson.getStoryBookChapters()) {
+                for (StoryBookParagraphGson storyBookParagraphGson : storyBookChapterGson.getStoryBookParagraphs()) {
+                    paragraphs.add(storyBookParagraphGson.getOriginalText());
+                }
+            }
+        }
+        return paragraphs;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FrequencyHelperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
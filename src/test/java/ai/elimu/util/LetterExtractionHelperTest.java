@@ -1,6 +1,7 @@
 package ai.elimu.util;
 
 import ai.elimu.model.enums.Language;
+import java.util.Arrays;
 import java.util.List;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
@@ -56,4 +57,42 @@ public class LetterExtractionHelperTest {
         assertThat(letters.get(9), is("়"));
         assertThat(letters.get(10), is("ে"));
     }
+    
+    @Test
+    public void testGetLetters_SurrogatePair() {
+        String paragraph = "a😀b";
+        List<String> letters = LetterExtractionHelper.getLetters(paragraph, Language.ENG);
+        assertThat(letters.size(), is(3));
+        assertThat(letters.get(0), is("a"));
+        assertThat(letters.get(1), is("😀"));
+        assertThat(letters.get(2), is("b"));
+    }
+    
+    @Test
+    public void testGetLetterIds() {
+        LetterTable letterTable = new LetterTable(Arrays.asList("a", "b", "l", "o"));
+        int[] letterIds = LetterExtractionHelper.getLetterIds("ball, Bob!", Language.ENG, letterTable);
+        
+        // "B" is not a known Letter, and is added to the table
+        assertThat(letterTable.size(), is(5));
+        assertThat(letterTable.getText(4), is("B"));
+        assertThat(letterIds.length, is(7));
+        assertThat(letterIds[0], is(1));
+        assertThat(letterIds[1], is(0));
+        assertThat(letterIds[2], is(2));
+        assertThat(letterIds[3], is(2));
+        assertThat(letterIds[4], is(4));
+        assertThat(letterIds[5], is(3));
+        assertThat(letterIds[6], is(1));
+    }
+    
+    @Test
+    public void testGetLetterIds_MultipleCodePoints() {
+        // য় = য + ়
+        LetterTable letterTable = new LetterTable(Arrays.asList("য", "য়", "ে"));
+        int[] letterIds = LetterExtractionHelper.getLetterIds("য়ে", Language.BEN, letterTable);
+        assertThat(letterIds.length, is(2));
+        assertThat(letterTable.getText(letterIds[0]), is("য়"));
+        assertThat(letterTable.getText(letterIds[1]), is("ে"));
+    }
 }
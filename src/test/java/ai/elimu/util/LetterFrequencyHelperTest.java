@@ -2,6 +2,7 @@ package ai.elimu.util;
 
 import ai.elimu.model.enums.Language;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import static org.hamcrest.CoreMatchers.*;
@@ -29,4 +30,16 @@ public class LetterFrequencyHelperTest {
         assertThat(letterFrequencyMap.get("L"), is(1));
         assertThat(letterFrequencyMap.get("M"), is(1));
     }
+    
+    @Test
+    public void testGetLetterCounts() {
+        List<String> paragraphs = new ArrayList<>();
+        paragraphs.add("\"Mom,\" called Lebo. \"Come and look.\"");
+        LetterTable letterTable = new LetterTable(Arrays.asList("a", "o", "x"));
+        int[] letterCounts = LetterFrequencyHelper.getLetterCounts(paragraphs, Language.ENG, letterTable);
+        assertThat(letterCounts.length, is(letterTable.size()));
+        assertThat(letterCounts[0], is(2));
+        assertThat(letterCounts[1], is(5));
+        assertThat(letterCounts[2], is(0));
+    }
 }
@@ -0,0 +1,66 @@
+package ai.elimu.util;
+
+import ai.elimu.model.enums.Language;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ParallelFrequencyHelperTest {
+    
+    @Test
+    public void testGetCorpusFrequency() {
+        List<String> paragraphs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            paragraphs.add("\"Mom,\" called Lebo. \"Come and look. These clothes are all too small for me!\"");
+            paragraphs.add("\"Look at my skirt. It's too small,\" said Lebo.");
+        }
+        CorpusFrequency corpusFrequency;
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            corpusFrequency = ParallelFrequencyHelper.getCorpusFrequency(paragraphs, Language.ENG, forkJoinPool);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+        CorpusFrequency corpusFrequencySequential = CorpusFrequencyHelper.getCorpusFrequency(paragraphs, Language.ENG);
+        
+        assertThat(corpusFrequency.getWordFrequencyMap(), is(corpusFrequencySequential.getWordFrequencyMap()));
+        assertThat(corpusFrequency.getWordFrequencyMap().get("look"), is(2000));
+        
+        assertThat(corpusFrequency.getLetterFrequencyMap(), is(corpusFrequencySequential.getLetterFrequencyMap()));
+        assertThat(corpusFrequency.getLetterFrequencyMap().get("L"), is(3000));
+        
+        assertThat(corpusFrequency.getSyllableFrequencyMap(), is(corpusFrequencySequential.getSyllableFrequencyMap()));
+    }
+    
+    @Test
+    public void testGetCorpusFrequency_manyDistinctWords() {
+        List<String> paragraphs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // "a", "b", ..., "z", "ab", "bb", ...
+            StringBuilder word = new StringBuilder();
+            int remainder = i;
+            do {
+                word.append((char) ('a' + (remainder % 26)));
+                remainder /= 26;
+            } while (remainder > 0);
+            paragraphs.add("The " + word + " is big.");
+        }
+        CorpusFrequency corpusFrequency;
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            corpusFrequency = ParallelFrequencyHelper.getCorpusFrequency(paragraphs, Language.ENG, forkJoinPool);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+        CorpusFrequency corpusFrequencySequential = CorpusFrequencyHelper.getCorpusFrequency(paragraphs, Language.ENG);
+        
+        assertThat(corpusFrequency.getWordFrequencyMap(), is(corpusFrequencySequential.getWordFrequencyMap()));
+        assertThat(corpusFrequency.getWordFrequencyMap().get("the"), is(5000));
+        assertThat(corpusFrequency.getLetterFrequencyMap(), is(corpusFrequencySequential.getLetterFrequencyMap()));
+        assertThat(corpusFrequency.getSyllableFrequencyMap(), is(corpusFrequencySequential.getSyllableFrequencyMap()));
+    }
+}
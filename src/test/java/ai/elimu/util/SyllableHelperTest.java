@@ -1,6 +1,10 @@
 package ai.elimu.util;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
 
@@ -80,4 +84,29 @@ public class SyllableHelperTest {
         assertThat(syllables.get(1), is("moth"));
         assertThat(syllables.get(2), is("er"));
     }
+    
+    @Test
+    public void testGetSyllables_concurrently() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String text = (i % 2 == 0) ? "grandmother" : "father";
+            futures.add(executorService.submit(() -> {
+                Word word = new Word();
+                word.setText(text);
+                return SyllableHelper.getSyllables(word, Language.ENG);
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            List<String> syllables = futures.get(i).get();
+            if (i % 2 == 0) {
+                assertThat(syllables.size(), is(3));
+                assertThat(syllables.get(1), is("moth"));
+            } else {
+                assertThat(syllables.size(), is(2));
+                assertThat(syllables.get(1), is("ther"));
+            }
+        }
+        executorService.shutdown();
+    }
 }
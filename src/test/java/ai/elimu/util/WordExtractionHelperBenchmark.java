@@ -0,0 +1,117 @@
+package ai.elimu.util;
+
+import ai.elimu.model.enums.Language;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the single-pass {@link WordExtractionHelper} with the previous split/replace implementation, using the 
+ * paragraphs of each language's PROD storybooks.csv.
+ * <p />
+ * Usage: run {@link #main} from the IDE, after the test classes have been compiled. Add {@code -prof gc} to the 
+ * options to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WordExtractionHelperBenchmark {
+    
+    @Param({"BEN", "ENG", "FIL", "HIN", "SWA", "URD", "XHO"})
+    private String languageCode;
+    
+    private Language language;
+    
+    private List<String> paragraphs;
+    
+    @Setup
+    public void setup() throws URISyntaxException {
+        language = Language.valueOf(languageCode);
+        paragraphs = FrequencyHelperBenchmark.getParagraphs(language);
+    }
+    
+    @Benchmark
+    public void splitAndReplace(Blackhole blackhole) {
+        for (String paragraph : paragraphs) {
+            blackhole.consume(getWordsSplitAndReplace(paragraph, language));
+        }
+    }
+    
+    @Benchmark
+    public void getWords(Blackhole blackhole) {
+        for (String paragraph : paragraphs) {
+            blackhole.consume(WordExtractionHelper.getWords(paragraph, language));
+        }
+    }
+    
+    @Benchmark
+    public void forEachWord(Blackhole blackhole) {
+        for (String paragraph : paragraphs) {
+            WordExtractionHelper.forEachWord(paragraph, language, word -> blackhole.consume(word.length()));
+        }
+    }
+    
+    /**
+     * The implementation of {@link WordExtractionHelper#getWords} before it was changed to a single pass.
+     */
+    private static List<String> getWordsSplitAndReplace(String paragraph, Language language) {
+        List<String> words = new ArrayList<>();
+        
+        paragraph = paragraph.trim();
+        String[] paragraphParts = paragraph.split(" ");
+        for (int i = 0; i < paragraphParts.length; i++) {
+            String paragraphPart = paragraphParts[i];
+            
+            // Remove characters that are not Letters
+            String word = paragraphPart
+                    .replace(",", "")
+                    .replace("\"", "")
+                    .replace("“", "")
+                    .replace("”", "")
+                    .replace(".", "")
+                    .replace("!", "")
+                    .replace("?", "")
+                    .replace(":", "")
+                    .replace("(", "")
+                    .replace(")", "");
+            if ((language == Language.BEN) || (language == Language.HIN)) {
+                word = word
+                        .replace("।", ""); // See https://en.wikipedia.org/wiki/Danda
+            }
+            
+            if (StringUtils.isNotBlank(word)) {
+                words.add(word);
+            }
+        }
+        
+        return words;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WordExtractionHelperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
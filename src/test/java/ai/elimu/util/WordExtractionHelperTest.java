@@ -1,6 +1,7 @@
 package ai.elimu.util;
 
 import ai.elimu.model.enums.Language;
+import java.util.ArrayList;
 import java.util.List;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
@@ -85,4 +86,22 @@ public class WordExtractionHelperTest {
         assertThat(words.get(10), is("Ah"));
         assertThat(words.get(11), is("Football"));
     }
+    
+    @Test
+    public void testGetWordsWhenPunctuationOnly() {
+        String paragraph = " \"Ah!\"  -  ( ... ) “Yes.”\t";
+        List<String> words = WordExtractionHelper.getWords(paragraph, Language.ENG);
+        assertThat(words.size(), is(3));
+        assertThat(words.get(0), is("Ah"));
+        assertThat(words.get(1), is("-"));
+        assertThat(words.get(2), is("Yes"));
+    }
+    
+    @Test
+    public void testForEachWord() {
+        String paragraph = "\"Look at my skirt. It's too small,\" said Lebo.";
+        List<String> words = new ArrayList<>();
+        WordExtractionHelper.forEachWord(paragraph, Language.ENG, word -> words.add(word.toString()));
+        assertThat(words, is(WordExtractionHelper.getWords(paragraph, Language.ENG)));
+    }
 }
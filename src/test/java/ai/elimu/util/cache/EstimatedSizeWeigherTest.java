@@ -0,0 +1,59 @@
+package ai.elimu.util.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import ai.elimu.model.admin.Application;
+import ai.elimu.model.v2.gson.content.WordGson;
+import java.util.Arrays;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class EstimatedSizeWeigherTest {
+    
+    private EstimatedSizeWeigher estimatedSizeWeigher = new EstimatedSizeWeigher();
+    
+    @Test
+    public void testWeigh_String() {
+        assertThat(estimatedSizeWeigher.weigh("key", "abc"), is(6));
+    }
+    
+    @Test
+    public void testWeigh_JSONObject() {
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put("id", 1);
+        
+        // "id" + 1
+        assertThat(estimatedSizeWeigher.weigh("key", jsonObject), is(4 + EstimatedSizeWeigher.SCALAR_WEIGHT));
+    }
+    
+    @Test
+    public void testWeigh_JSONObject_nested() {
+        JSONArray jsonArray = new JSONArray();
+        jsonArray.put("abc");
+        jsonArray.put(true);
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put("a", jsonArray);
+        
+        // "a" + ["abc",true]
+        assertThat(estimatedSizeWeigher.weigh("key", jsonObject), is(2 + 6 + EstimatedSizeWeigher.SCALAR_WEIGHT));
+    }
+    
+    @Test
+    public void testWeigh_Collection() {
+        Application application = new Application();
+        assertThat(estimatedSizeWeigher.weigh("key", Arrays.asList("abc", application)), is(6 + EstimatedSizeWeigher.ENTITY_WEIGHT));
+    }
+    
+    @Test
+    public void testWeigh_Gson() {
+        WordGson wordGson = new WordGson();
+        wordGson.setText("abc");
+        int weight = estimatedSizeWeigher.weigh("key", wordGson);
+        
+        // 7 more chars of JSON
+        wordGson.setText("abcdefghij");
+        assertThat(estimatedSizeWeigher.weigh("key", wordGson), is(weight + 14));
+    }
+}
@@ -0,0 +1,29 @@
+package ai.elimu.util.syllable;
+
+import java.util.Arrays;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class AksaraSyllabifierTest {
+    
+    @Test
+    public void testGetSyllables_Bengali() {
+        Syllabifier syllabifier = new AksaraSyllabifier(0x0980);
+        assertThat(syllabifier.getSyllables("সবচেয়ে"), is(Arrays.asList("স", "ব", "চে", "য়ে")));
+        assertThat(syllabifier.getSyllables("আমি"), is(Arrays.asList("আ", "মি")));
+        
+        // Conjunct: ন + ্ + ধ + ু
+        assertThat(syllabifier.getSyllables("বন্ধু"), is(Arrays.asList("ব", "ন্ধু")));
+    }
+    
+    @Test
+    public void testGetSyllables_Hindi() {
+        Syllabifier syllabifier = new AksaraSyllabifier(0x0900);
+        assertThat(syllabifier.getSyllables("है"), is(Arrays.asList("है")));
+        assertThat(syllabifier.getSyllables("सबसे"), is(Arrays.asList("स", "ब", "से")));
+        assertThat(syllabifier.getSyllables("हिन्दी"), is(Arrays.asList("हि", "न्दी")));
+        assertThat(syllabifier.getSyllables("आँख"), is(Arrays.asList("आँ", "ख")));
+    }
+}
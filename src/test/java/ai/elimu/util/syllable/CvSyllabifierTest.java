@@ -0,0 +1,33 @@
+package ai.elimu.util.syllable;
+
+import java.util.Arrays;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class CvSyllabifierTest {
+    
+    @Test
+    public void testGetSyllables_openSyllables() {
+        Syllabifier syllabifier = new CvSyllabifier(false, true, "ch", "ng'", "ny");
+        assertThat(syllabifier.getSyllables("Chakula"), is(Arrays.asList("cha", "ku", "la")));
+        assertThat(syllabifier.getSyllables("afrika"), is(Arrays.asList("a", "fri", "ka")));
+        assertThat(syllabifier.getSyllables("aina"), is(Arrays.asList("a", "i", "na")));
+        assertThat(syllabifier.getSyllables("ng'ombe"), is(Arrays.asList("ng'o", "mbe")));
+        
+        // Syllabic nasal
+        assertThat(syllabifier.getSyllables("mtoto"), is(Arrays.asList("m", "to", "to")));
+        assertThat(syllabifier.getSyllables("umntu"), is(Arrays.asList("u", "m", "ntu")));
+        assertThat(syllabifier.getSyllables("mbuzi"), is(Arrays.asList("mbu", "zi")));
+    }
+    
+    @Test
+    public void testGetSyllables_closedSyllables() {
+        Syllabifier syllabifier = new CvSyllabifier(true, false, "ng");
+        assertThat(syllabifier.getSyllables("bundok"), is(Arrays.asList("bun", "dok")));
+        assertThat(syllabifier.getSyllables("isda"), is(Arrays.asList("is", "da")));
+        assertThat(syllabifier.getSyllables("aking"), is(Arrays.asList("a", "king")));
+        assertThat(syllabifier.getSyllables("ngayon"), is(Arrays.asList("nga", "yon")));
+    }
+}
@@ -0,0 +1,130 @@
+package ai.elimu.util.syllable;
+
+import ai.elimu.model.enums.Language;
+import ai.elimu.util.SyllableHelper;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the speed and the accuracy of each language's {@link Syllabifier}, using the words of the language's PROD 
+ * words.csv.
+ * <p />
+ * The CSV files do not contain any syllables, so the accuracy is estimated by comparing the number of syllables with 
+ * the number of vowel sounds in the Word's letter-to-allophone mappings. Words without mappings are skipped.
+ * <p />
+ * Usage: run {@link #main} from the IDE, after the test classes have been compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SyllabifierBenchmark {
+    
+    /**
+     * The first character of IPA vowel allophones.
+     */
+    private static final String IPA_VOWELS = "aeiouyæɐɑɒɔəɘɛɜɞɤɨɪɯɵøœɶʉʊʌʏ";
+    
+    @Param({"BEN", "ENG", "FIL", "HIN", "SWA", "XHO"})
+    private String languageCode;
+    
+    private Syllabifier syllabifier;
+    
+    private List<String> wordTexts;
+    
+    @Setup
+    public void setup() throws IOException {
+        Language language = Language.valueOf(languageCode);
+        syllabifier = SyllableHelper.getSyllabifier(language);
+        wordTexts = new ArrayList<>();
+        for (CSVRecord csvRecord : getWordRecords(language)) {
+            wordTexts.add(csvRecord.get("text"));
+        }
+    }
+    
+    @Benchmark
+    public void getSyllables(Blackhole blackhole) {
+        for (String wordText : wordTexts) {
+            blackhole.consume(syllabifier.getSyllables(wordText));
+        }
+    }
+    
+    private static List<CSVRecord> getWordRecords(Language language) throws IOException {
+        String csvFilePath = "db/content_PROD/" + language.toString().toLowerCase() + "/words.csv";
+        try (Reader reader = new InputStreamReader(SyllabifierBenchmark.class.getClassLoader().getResourceAsStream(csvFilePath), StandardCharsets.UTF_8)) {
+            CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader());
+            return csvParser.getRecords();
+        }
+    }
+    
+    /**
+     * @return The number of letter-to-allophone mappings of the Word that represent a vowel sound.
+     */
+    private static int getVowelSoundCount(JSONArray letterToAllophoneMappingsJsonArray) {
+        int vowelSoundCount = 0;
+        for (int i = 0; i < letterToAllophoneMappingsJsonArray.length(); i++) {
+            JSONObject letterToAllophoneMappingJsonObject = letterToAllophoneMappingsJsonArray.getJSONObject(i);
+            JSONArray allophonesJsonArray = letterToAllophoneMappingJsonObject.getJSONArray("allophones");
+            if ((allophonesJsonArray.length() > 0) && (IPA_VOWELS.indexOf(allophonesJsonArray.getString(0).charAt(0)) != -1)) {
+                vowelSoundCount++;
+            }
+        }
+        return vowelSoundCount;
+    }
+    
+    private static void printAccuracy(Language language) throws IOException {
+        Syllabifier syllabifier = SyllableHelper.getSyllabifier(language);
+        int wordCount = 0;
+        int correctCount = 0;
+        for (CSVRecord csvRecord : getWordRecords(language)) {
+            JSONArray letterToAllophoneMappingsJsonArray = new JSONArray(csvRecord.get("letter_to_allophone_mappings"));
+            if (letterToAllophoneMappingsJsonArray.length() == 0) {
+                continue;
+            }
+            wordCount++;
+            if (syllabifier.getSyllables(csvRecord.get("text")).size() == getVowelSoundCount(letterToAllophoneMappingsJsonArray)) {
+                correctCount++;
+            }
+        }
+        System.out.println(language + ": " + correctCount + "/" + wordCount + " words with the expected number of syllables");
+    }
+    
+    public static void main(String[] args) throws IOException, RunnerException {
+        for (String languageCode : new String[] {"BEN", "ENG", "FIL", "HIN", "SWA", "XHO"}) {
+            printAccuracy(Language.valueOf(languageCode));
+        }
+        
+        Options options = new OptionsBuilder()
+                .include(SyllabifierBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}